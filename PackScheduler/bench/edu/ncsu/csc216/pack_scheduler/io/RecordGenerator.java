@@ -0,0 +1,263 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
+
+/**
+ * Writes a synthetic term of course, student, and faculty records in the same formats as the
+ *     files in test-files, for profiling the loaders, directories, and enrollment at the size
+ *     of a real term. The same seed always writes the same records.
+ *
+ * Every course name passes CourseNameValidator, and no two sections of a course, or of one
+ *     instructor, meet at the same time. Each section's instructor is a faculty member in the
+ *     faculty records with room for it in their maxCourses, so every assignment succeeds when the
+ *     faculty are loaded before the courses. Every user's password is PASSWORD, stored hashed.
+ *
+ * Run with the directory to write to, then optionally the number of students, the number of
+ *     sections, and the seed. These default to 100000 students, 20000 sections, and seed 216.
+ *
+ * @author David Mond
+ */
+public class RecordGenerator {
+
+	/** Password of every generated user */
+	public static final String PASSWORD = "pw";
+	/** Name of the course records file written by writeTerm() */
+	public static final String COURSE_FILE = "course_records.txt";
+	/** Name of the student records file written by writeTerm() */
+	public static final String STUDENT_FILE = "student_records.txt";
+	/** Name of the faculty records file written by writeTerm() */
+	public static final String FACULTY_FILE = "faculty_records.txt";
+
+	/** Default number of students */
+	private static final int DEFAULT_STUDENTS = 100000;
+	/** Default number of sections */
+	private static final int DEFAULT_SECTIONS = 20000;
+	/** Default seed */
+	private static final long DEFAULT_SEED = 216;
+
+	/** Course prefixes, of two to four letters so names are at least five characters */
+	private static final String[] PREFIXES = {"CSC", "MA", "PY", "CH", "ST", "HI", "ENG", "BIO", "ECE", "MAE",
+			"ISE", "BME", "CE", "NE", "PSY", "SOC", "ECON", "COM", "MUS", "ART", "FLS", "FLF", "PHI", "REL",
+			"ANT", "GEO", "MEA", "TE", "BUS", "ACC"};
+	/** Number of course numbers per prefix, from 100 to 899 */
+	private static final int COURSE_NUMBERS = 800;
+	/** Course title subjects */
+	private static final String[] SUBJECTS = {"Programming", "Calculus", "Physics", "Chemistry", "Statistics",
+			"History", "Writing", "Biology", "Circuits", "Mechanics", "Design", "Systems", "Analysis", "Theory",
+			"Methods", "Ethics", "Economics", "Music", "Art", "Language"};
+	/** Course title levels */
+	private static final String[] LEVELS = {"Introduction to", "Topics in", "Applied", "Advanced", "Foundations of"};
+	/** Meeting days of timed sections */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "MTWH"};
+	/**
+	 * Start times of the meeting slots, none of which overlap another, so sections in different
+	 *     slots never conflict whatever their days
+	 */
+	private static final int[] SLOT_STARTS = {800, 910, 1020, 1130, 1240, 1350, 1500, 1610, 1720, 1830};
+	/** End times of the meeting slots */
+	private static final int[] SLOT_ENDS = {850, 1000, 1110, 1220, 1330, 1440, 1550, 1700, 1810, 1920};
+	/** One in this many sections is arranged, with no meeting times */
+	private static final int ARRANGED_EVERY = 25;
+	/** Most sections a course has */
+	private static final int MAX_SECTIONS = 6;
+	/** First names */
+	private static final String[] FIRST_NAMES = {"Ada", "Ben", "Cara", "Dev", "Elena", "Femi", "Grace", "Hiro",
+			"Isla", "Jamal", "Kira", "Liam", "Maya", "Nia", "Omar", "Priya", "Quinn", "Rosa", "Sam", "Tariq",
+			"Uma", "Vik", "Wen", "Xavi", "Yara", "Zane"};
+	/** Last names */
+	private static final String[] LAST_NAMES = {"Adams", "Brown", "Chen", "Diaz", "Evans", "Fischer", "Garcia",
+			"Huang", "Ibrahim", "Johnson", "Kim", "Lopez", "Martin", "Nguyen", "Okafor", "Patel", "Quist",
+			"Rivera", "Smith", "Taylor", "Usman", "Vargas", "Williams", "Xu", "Young", "Zhang"};
+
+	/** Source of the random choices, from the seed */
+	private final Random random;
+	/** Hash of PASSWORD, as it is stored in records */
+	private final String hashedPassword;
+
+	/**
+	 * Constructs a generator that makes its choices from the given seed.
+	 * @param seed the seed
+	 */
+	public RecordGenerator(long seed) {
+		random = new Random(seed);
+		hashedPassword = PasswordHasher.hash(PASSWORD);
+	}
+
+	/**
+	 * Writes a term of records.
+	 * @param args the directory to write to, and optionally the number of students, the number of
+	 *     sections, and the seed
+	 * @throws IOException if the records cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.out.println("Usage: RecordGenerator directory [students] [sections] [seed]");
+			return;
+		}
+		int students = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_STUDENTS;
+		int sections = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SECTIONS;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+		File directory = new File(args[0]);
+		int faculty = new RecordGenerator(seed).writeTerm(directory, students, sections);
+		System.out.printf("Wrote %d sections, %d students, and %d faculty to %s%n", sections, students, faculty,
+				directory.getPath());
+	}
+
+	/**
+	 * Writes COURSE_FILE, STUDENT_FILE, and FACULTY_FILE to the given directory, with as many
+	 *     faculty as are needed to teach every section.
+	 * @param directory the directory to write to, which is created if needed
+	 * @param students number of students
+	 * @param sections number of sections
+	 * @return the number of faculty written
+	 * @throws IOException if the records cannot be written
+	 */
+	public int writeTerm(File directory, int students, int sections) throws IOException {
+		directory.mkdirs();
+		int faculty = writeFacultyAndCourses(new File(directory, FACULTY_FILE), new File(directory, COURSE_FILE),
+				sections);
+		writeStudents(new File(directory, STUDENT_FILE), students);
+		return faculty;
+	}
+
+	/**
+	 * Writes the given number of students.
+	 * @param file the file to write to
+	 * @param students number of students
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeStudents(File file, int students) throws IOException {
+		PrintWriter out = open(file);
+		for (int i = 0; i < students; i++) {
+			String first = pick(FIRST_NAMES);
+			String last = pick(LAST_NAMES);
+			String id = userId("s", first, last, i);
+			int maxCredits = 3 + random.nextInt(16);
+			out.println(first + "," + last + "," + id + "," + id + "@ncsu.edu," + hashedPassword + "," + maxCredits);
+		}
+		close(out, file);
+	}
+
+	/**
+	 * Writes the given number of sections, and the faculty who teach them. Each faculty member is
+	 *     given consecutive sections up to their maxCourses. Consecutive sections are in different
+	 *     meeting slots, so no instructor's sections conflict.
+	 * @param facultyFile the file to write the faculty to
+	 * @param courseFile the file to write the sections to
+	 * @param sections number of sections
+	 * @return the number of faculty written
+	 * @throws IOException if a file cannot be written
+	 */
+	public int writeFacultyAndCourses(File facultyFile, File courseFile, int sections) throws IOException {
+		PrintWriter faculty = open(facultyFile);
+		PrintWriter courses = open(courseFile);
+		int facultyCount = 0;
+		String instructor = null;
+		int instructorRoom = 0;
+		int course = 0;
+		int section = 0;
+		int sectionsOfCourse = 1 + random.nextInt(MAX_SECTIONS);
+		String name = courseName(course);
+		String title = pick(LEVELS) + " " + pick(SUBJECTS);
+		int credits = 1 + random.nextInt(4);
+		for (int i = 0; i < sections; i++) {
+			if (section == sectionsOfCourse) {
+				course++;
+				section = 0;
+				sectionsOfCourse = 1 + random.nextInt(MAX_SECTIONS);
+				name = courseName(course);
+				title = pick(LEVELS) + " " + pick(SUBJECTS);
+				credits = 1 + random.nextInt(4);
+			}
+			if (instructorRoom == 0) {
+				String first = pick(FIRST_NAMES);
+				String last = pick(LAST_NAMES);
+				instructor = userId("f", first, last, facultyCount++);
+				instructorRoom = 1 + random.nextInt(3);
+				faculty.println(first + "," + last + "," + instructor + "," + instructor + "@ncsu.edu," + hashedPassword
+						+ "," + instructorRoom);
+			}
+			instructorRoom--;
+			section++;
+			int cap = 10 + 5 * random.nextInt(49);
+			String record = name + "," + title + "," + String.format("%03d", section) + "," + credits + ","
+					+ instructor + "," + cap + ",";
+			if (i % ARRANGED_EVERY == ARRANGED_EVERY - 1) {
+				courses.println(record + "A");
+			} else {
+				int slot = i % SLOT_STARTS.length;
+				courses.println(record + pick(DAYS) + "," + String.format("%04d", SLOT_STARTS[slot]) + ","
+						+ String.format("%04d", SLOT_ENDS[slot]));
+			}
+		}
+		close(faculty, facultyFile);
+		close(courses, courseFile);
+		return facultyCount;
+	}
+
+	/**
+	 * Returns the name of the given course, such as "CSC216". Prefixes are used in turn, and once
+	 *     every number of every prefix is used, a one letter suffix is added.
+	 * @param course the number of the course
+	 * @return the course name
+	 */
+	private static String courseName(int course) {
+		String prefix = PREFIXES[course % PREFIXES.length];
+		int number = 100 + (course / PREFIXES.length) % COURSE_NUMBERS;
+		int round = course / (PREFIXES.length * COURSE_NUMBERS);
+		String suffix = round == 0 ? "" : String.valueOf((char) ('A' + (round - 1) % 26));
+		return prefix + number + suffix;
+	}
+
+	/**
+	 * Returns a unique user id, such as "sasmith12", from a prefix, the user's name, and their number.
+	 * @param kind "s" for students, "f" for faculty, so their ids never clash
+	 * @param first the user's first name
+	 * @param last the user's last name
+	 * @param number the user's number
+	 * @return the id
+	 */
+	private static String userId(String kind, String first, String last, int number) {
+		return kind + Character.toLowerCase(first.charAt(0)) + last.toLowerCase() + number;
+	}
+
+	/**
+	 * Returns a random element of the given array.
+	 * @param choices the array
+	 * @return one of its elements
+	 */
+	private String pick(String[] choices) {
+		return choices[random.nextInt(choices.length)];
+	}
+
+	/**
+	 * Opens a buffered writer to the given file.
+	 * @param file the file
+	 * @return the writer
+	 * @throws IOException if the file cannot be opened
+	 */
+	private static PrintWriter open(File file) throws IOException {
+		return new PrintWriter(new BufferedWriter(new FileWriter(file, StandardCharsets.UTF_8), 1 << 16));
+	}
+
+	/**
+	 * Closes the given writer, checking that everything was written.
+	 * @param out the writer
+	 * @param file the file being written
+	 * @throws IOException if the file could not be written
+	 */
+	private static void close(PrintWriter out, File file) throws IOException {
+		out.close();
+		if (out.checkError()) {
+			throw new IOException("Unable to write " + file.getPath());
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Times CourseRecordIO, StudentRecordIO, and FacultyRecordIO loading files of increasing size, so
+ *     it can be seen whether the load time grows linearly with the number of records. Every file has
+ *     one duplicate of each tenth record at the end, so the duplicate check is exercised as well.
+ *     Run from the PackScheduler directory, since loading courses uses registrar.properties.
+ *     The sizes to run can be given as arguments, and default to 1000, 10000, and 100000.
+ *
+ * @author David Mond
+ */
+public class RecordLoadBenchmark {
+
+	/** Default numbers of records to load */
+	private static final int[] DEFAULT_SIZES = {1000, 10000, 100000};
+	/** Number of times each load is repeated before it is timed */
+	private static final int WARMUP_RUNS = 2;
+	/** Number of timed loads, of which the fastest is reported */
+	private static final int TIMED_RUNS = 3;
+	/** Number of distinct course numbers per prefix */
+	private static final int COURSE_NUMBERS = 900;
+
+	/**
+	 * Runs the benchmark.
+	 * @param args the numbers of records to load
+	 * @throws IOException if the record files cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		int[] sizes = DEFAULT_SIZES;
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		System.out.printf("%-10s %10s %12s %14s%n", "records", "file", "millis", "micros/record");
+		for (int size : sizes) {
+			File courses = writeCourses(size);
+			File students = writeStudents(size);
+			File faculty = writeFaculty(size);
+			report("course", size, time(() -> CourseRecordIO.readCourseRecords(courses.getPath())));
+			report("student", size, time(() -> StudentRecordIO.readStudentRecords(students.getPath())));
+			report("faculty", size, time(() -> FacultyRecordIO.readFacultyRecords(faculty.getPath())));
+			courses.delete();
+			students.delete();
+			faculty.delete();
+		}
+	}
+
+	/**
+	 * Prints one line of results.
+	 * @param file the kind of file that was loaded
+	 * @param size the number of records in the file
+	 * @param nanos the time taken to load the file
+	 */
+	private static void report(String file, int size, long nanos) {
+		System.out.printf("%-10d %10s %12.1f %14.3f%n", size, file, nanos / 1e6, nanos / 1e3 / size);
+	}
+
+	/**
+	 * Returns the fastest time to run the given load after warming it up.
+	 * @param load the load to time
+	 * @return the fastest time in nanoseconds
+	 * @throws FileNotFoundException if the file to load cannot be found
+	 */
+	private static long time(Load load) throws FileNotFoundException {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			load.run();
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < TIMED_RUNS; i++) {
+			long start = System.nanoTime();
+			load.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	/**
+	 * Writes a course record file with the given number of distinct courses.
+	 * @param size number of distinct courses
+	 * @return the file written
+	 * @throws IOException if the file cannot be written
+	 */
+	private static File writeCourses(int size) throws IOException {
+		File file = File.createTempFile("courses", ".txt");
+		PrintStream out = new PrintStream(file);
+		for (int i = 0; i < size + size / 10; i++) {
+			int n = i % size;
+			out.println(courseName(n) + ",Benchmark Course,001,3,none,100,MW,0910,1025");
+		}
+		out.close();
+		return file;
+	}
+
+	/**
+	 * Writes a student record file with the given number of distinct students.
+	 * @param size number of distinct students
+	 * @return the file written
+	 * @throws IOException if the file cannot be written
+	 */
+	private static File writeStudents(int size) throws IOException {
+		File file = File.createTempFile("students", ".txt");
+		PrintStream out = new PrintStream(file);
+		for (int i = 0; i < size + size / 10; i++) {
+			int n = i % size;
+			out.println("First" + n + ",Last" + n + ",s" + n + ",s" + n + "@ncsu.edu,pw,15");
+		}
+		out.close();
+		return file;
+	}
+
+	/**
+	 * Writes a faculty record file with the given number of distinct faculty.
+	 * @param size number of distinct faculty
+	 * @return the file written
+	 * @throws IOException if the file cannot be written
+	 */
+	private static File writeFaculty(int size) throws IOException {
+		File file = File.createTempFile("faculty", ".txt");
+		PrintStream out = new PrintStream(file);
+		for (int i = 0; i < size + size / 10; i++) {
+			int n = i % size;
+			out.println("First" + n + ",Last" + n + ",f" + n + ",f" + n + "@ncsu.edu,pw,2");
+		}
+		out.close();
+		return file;
+	}
+
+	/**
+	 * Returns a valid, distinct course name for the given number, such as "AB123".
+	 * @param n the number of the course
+	 * @return the course name
+	 */
+	private static String courseName(int n) {
+		StringBuilder prefix = new StringBuilder();
+		int letters = n / COURSE_NUMBERS;
+		do {
+			prefix.append((char) ('A' + letters % 26));
+			letters /= 26;
+		} while (letters > 0);
+		return prefix.toString() + (100 + n % COURSE_NUMBERS);
+	}
+
+	/**
+	 * A file load to time.
+	 */
+	private interface Load {
+		/**
+		 * Loads the file.
+		 * @throws FileNotFoundException if the file cannot be found
+		 */
+		void run() throws FileNotFoundException;
+	}
+}
@@ -0,0 +1,435 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.io.RecordGenerator;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Simulates registration opening, with many students using the RegistrationManager at once
+ *     and most of them going after the same few sections. Each simulated student logs in with a
+ *     Session, then browses the catalog, enrolls, and drops, following a workload mix, and logs
+ *     out. Full sections put them on the waitlist. At the end, the throughput and the 50th,
+ *     99th, and 99.9th percentile latency of each operation are reported, and every roll and
+ *     waitlist is checked against the students' schedules.
+ *
+ * The simulated students are many more than the worker threads. Each student is a small state
+ *     machine that runs one operation on a worker and then goes to the back of the queue, so a
+ *     pool of a few dozen threads interleaves tens of thousands of students.
+ *
+ * Run from the PackScheduler directory, since the RegistrationManager uses registrar.properties.
+ *     Settings are given as key=value arguments, and default to:
+ *     clients=10000 threads=64 sections=2000 ops=20 hot=5 hotShare=0.6 browse=20 enroll=50 drop=30 seed=216
+ *
+ * @author Warren Long
+ */
+public class RegistrationRushSimulator {
+
+	/** Names of the operations, in the order they are reported */
+	private static final String[] OPERATIONS = {"login", "browse", "enroll", "drop", "logout"};
+	/** Index of logging in */
+	private static final int LOGIN = 0;
+	/** Index of browsing the catalog */
+	private static final int BROWSE = 1;
+	/** Index of enrolling */
+	private static final int ENROLL = 2;
+	/** Index of dropping */
+	private static final int DROP = 3;
+	/** Index of logging out */
+	private static final int LOGOUT = 4;
+
+	/** Number of simulated students */
+	private int clients = 10000;
+	/** Number of worker threads */
+	private int threads = 64;
+	/** Number of sections in the catalog */
+	private int sections = 2000;
+	/** Number of operations each student runs between logging in and out */
+	private int ops = 20;
+	/** Number of hot sections */
+	private int hot = 5;
+	/** Share of enrollments that go after a hot section */
+	private double hotShare = 0.6;
+	/** Weight of browsing in the workload mix */
+	private int browse = 20;
+	/** Weight of enrolling in the workload mix */
+	private int enroll = 50;
+	/** Weight of dropping in the workload mix */
+	private int drop = 30;
+	/** Seed of the generated records and the students' choices */
+	private long seed = 216;
+
+	/** The RegistrationManager under load */
+	private RegistrationManager manager;
+	/** Every course in the catalog */
+	private Course[] courses;
+	/** Ids of every student */
+	private String[] studentIds;
+	/** Latencies of each worker thread, by operation */
+	private final List<Latencies> allLatencies = new ArrayList<Latencies>();
+	/** Latencies of the current worker thread */
+	private final ThreadLocal<Latencies> latencies = ThreadLocal.withInitial(this::newLatencies);
+	/** Number of students stopped by an exception */
+	private final AtomicInteger crashed = new AtomicInteger();
+
+	/**
+	 * Runs the simulation.
+	 * @param args settings as key=value
+	 * @throws IOException if the records cannot be generated
+	 * @throws InterruptedException if interrupted while the students run
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		RegistrationRushSimulator simulator = new RegistrationRushSimulator();
+		for (String arg : args) {
+			simulator.set(arg);
+		}
+		simulator.load();
+		simulator.run();
+	}
+
+	/**
+	 * Sets one setting from a key=value argument.
+	 * @param arg the argument
+	 * @throws IllegalArgumentException if the key is unknown or the value is not a number
+	 */
+	private void set(String arg) {
+		int equals = arg.indexOf('=');
+		if (equals == -1) {
+			throw new IllegalArgumentException("Expected key=value: " + arg);
+		}
+		String key = arg.substring(0, equals);
+		String value = arg.substring(equals + 1);
+		switch (key) {
+		case "clients": clients = Integer.parseInt(value); break;
+		case "threads": threads = Integer.parseInt(value); break;
+		case "sections": sections = Integer.parseInt(value); break;
+		case "ops": ops = Integer.parseInt(value); break;
+		case "hot": hot = Integer.parseInt(value); break;
+		case "hotShare": hotShare = Double.parseDouble(value); break;
+		case "browse": browse = Integer.parseInt(value); break;
+		case "enroll": enroll = Integer.parseInt(value); break;
+		case "drop": drop = Integer.parseInt(value); break;
+		case "seed": seed = Long.parseLong(value); break;
+		default: throw new IllegalArgumentException("Unknown setting: " + key);
+		}
+	}
+
+	/**
+	 * Generates a term with a student for every client and loads it into the RegistrationManager.
+	 * @throws IOException if the records cannot be generated
+	 */
+	private void load() throws IOException {
+		File directory = File.createTempFile("rush", "");
+		directory.delete();
+		new RecordGenerator(seed).writeTerm(directory, clients, sections);
+
+		long start = System.nanoTime();
+		manager = RegistrationManager.getInstance();
+		manager.logout();
+		manager.clearData();
+		manager.getFacultyDirectory().loadFacultyFromFile(new File(directory, RecordGenerator.FACULTY_FILE).getPath());
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile(new File(directory, RecordGenerator.COURSE_FILE).getPath());
+		manager.getStudentDirectory().loadStudentsFromFile(new File(directory, RecordGenerator.STUDENT_FILE).getPath());
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+
+		String[][] catalogRows = catalog.getCourseCatalog();
+		courses = new Course[catalogRows.length];
+		for (int i = 0; i < catalogRows.length; i++) {
+			courses[i] = catalog.getCourseFromCatalog(catalogRows[i][0], catalogRows[i][1]);
+		}
+		String[][] studentRows = manager.getStudentDirectory().getStudentDirectory();
+		studentIds = new String[studentRows.length];
+		for (int i = 0; i < studentRows.length; i++) {
+			studentIds[i] = studentRows[i][2];
+		}
+		System.out.printf("Loaded %d sections and %d students in %.0f ms%n", courses.length, studentIds.length,
+				(System.nanoTime() - start) / 1e6);
+	}
+
+	/**
+	 * Runs every simulated student to completion on the worker threads, then reports.
+	 * @throws InterruptedException if interrupted while the students run
+	 */
+	private void run() throws InterruptedException {
+		ExecutorService workers = Executors.newFixedThreadPool(threads);
+		CountDownLatch finished = new CountDownLatch(studentIds.length);
+		Random seeds = new Random(seed);
+		long start = System.nanoTime();
+		for (String id : studentIds) {
+			workers.execute(new Client(id, seeds.nextLong(), workers, finished));
+		}
+		finished.await();
+		long elapsed = System.nanoTime() - start;
+		workers.shutdown();
+		workers.awaitTermination(1, TimeUnit.MINUTES);
+		report(elapsed);
+		checkConsistency();
+	}
+
+	/**
+	 * Prints the count, throughput, and latency percentiles of each operation.
+	 * @param elapsed time the students took to finish, in nanoseconds
+	 */
+	private void report(long elapsed) {
+		double seconds = elapsed / 1e9;
+		System.out.printf("%d clients on %d threads finished in %.2f s%n", studentIds.length, threads, seconds);
+		if (crashed.get() > 0) {
+			System.out.printf("%d clients stopped by an exception%n", crashed.get());
+		}
+		System.out.printf("%-8s %10s %10s %10s %10s %10s %10s%n", "op", "count", "succeeded", "ops/s", "p50 us",
+				"p99 us", "p999 us");
+		for (int op = 0; op < OPERATIONS.length; op++) {
+			int count = 0;
+			int succeeded = 0;
+			for (Latencies l : allLatencies) {
+				count += l.count[op];
+				succeeded += l.succeeded[op];
+			}
+			long[] all = new long[count];
+			int next = 0;
+			for (Latencies l : allLatencies) {
+				System.arraycopy(l.nanos[op], 0, all, next, l.count[op]);
+				next += l.count[op];
+			}
+			Arrays.sort(all);
+			System.out.printf("%-8s %10d %10d %10.0f %10.1f %10.1f %10.1f%n", OPERATIONS[op], count, succeeded,
+					count / seconds, percentile(all, 0.5), percentile(all, 0.99), percentile(all, 0.999));
+		}
+	}
+
+	/**
+	 * Returns the given percentile of the sorted latencies, in microseconds.
+	 * @param sorted the latencies in nanoseconds, sorted
+	 * @param fraction the percentile as a fraction
+	 * @return the latency at the percentile, or 0 if there are none
+	 */
+	private static double percentile(long[] sorted, double fraction) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(fraction * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1e3;
+	}
+
+	/**
+	 * Checks that every roll is within its capacity, no one waits while seats are open, and the
+	 *     number enrolled and waiting in each course matches the students with it on their schedule.
+	 */
+	private void checkConsistency() {
+		HashMap<String, Integer> scheduled = new HashMap<String, Integer>();
+		for (String id : studentIds) {
+			Student s = manager.getStudentDirectory().getStudentById(id);
+			for (String[] row : s.getSchedule().getScheduledCourses()) {
+				scheduled.merge(row[0] + "," + row[1], 1, Integer::sum);
+			}
+		}
+		int problems = 0;
+		int full = 0;
+		int waiting = 0;
+		for (Course c : courses) {
+			CourseRoll roll = c.getCourseRoll();
+			int open = roll.getOpenSeats();
+			int onWaitlist = roll.getNumberOnWaitlist();
+			int inRoll = roll.getEnrollmentCap() - open;
+			int onSchedules = scheduled.getOrDefault(c.getName() + "," + c.getSection(), 0);
+			if (open < 0 || onWaitlist < 0 || onWaitlist > 10 || (onWaitlist > 0 && open > 0)
+					|| inRoll + onWaitlist != onSchedules) {
+				problems++;
+				System.out.printf("Inconsistent %s-%s: %d enrolled, %d waiting, %d open, %d on schedules%n",
+						c.getName(), c.getSection(), inRoll, onWaitlist, open, onSchedules);
+			}
+			if (open == 0) {
+				full++;
+			}
+			waiting += onWaitlist;
+		}
+		System.out.printf("%d sections full, %d students waitlisted, %d inconsistent sections%n", full, waiting,
+				problems);
+	}
+
+	/**
+	 * Creates and registers the latencies of a new worker thread.
+	 * @return the new latencies
+	 */
+	private Latencies newLatencies() {
+		Latencies l = new Latencies();
+		synchronized (allLatencies) {
+			allLatencies.add(l);
+		}
+		return l;
+	}
+
+	/**
+	 * One simulated student, who runs one operation each time they are run and then requeues
+	 *     themselves until they have logged out.
+	 */
+	private class Client implements Runnable {
+
+		/** The student's id */
+		private final String id;
+		/** The student's choices */
+		private final Random random;
+		/** The workers the student is queued on */
+		private final ExecutorService workers;
+		/** Counted down when the student logs out */
+		private final CountDownLatch finished;
+		/** Courses the student has enrolled in or is waiting for */
+		private final List<Course> enrolled = new ArrayList<Course>();
+		/** The student's session, once logged in */
+		private Session session;
+		/** Number of operations run since logging in */
+		private int done;
+
+		/**
+		 * Constructs a simulated student.
+		 * @param id the student's id
+		 * @param seed the seed of the student's choices
+		 * @param workers the workers to queue on
+		 * @param finished counted down when the student logs out
+		 */
+		Client(String id, long seed, ExecutorService workers, CountDownLatch finished) {
+			this.id = id;
+			this.random = new Random(seed);
+			this.workers = workers;
+			this.finished = finished;
+		}
+
+		/**
+		 * Runs the student's next operation, then requeues them if they are not done. A student
+		 *     who cannot log in, or whose operation throws, is logged out and counted as finished,
+		 *     so the run always ends.
+		 */
+		@Override
+		public void run() {
+			boolean more = false;
+			try {
+				more = step(latencies.get());
+				if (more) {
+					workers.execute(this);
+				}
+			} catch (RuntimeException e) {
+				more = false;
+				if (crashed.getAndIncrement() == 0) {
+					e.printStackTrace();
+				}
+			} finally {
+				if (!more) {
+					logOut();
+					finished.countDown();
+				}
+			}
+		}
+
+		/**
+		 * Runs the student's next operation and records its latency.
+		 * @param l the latencies of this thread
+		 * @return true if the student has more operations to run
+		 */
+		private boolean step(Latencies l) {
+			long start = System.nanoTime();
+			if (session == null) {
+				session = manager.openSession(id, RecordGenerator.PASSWORD);
+				l.record(LOGIN, System.nanoTime() - start, session != null);
+				return session != null;
+			}
+			if (done == ops) {
+				manager.closeSession(session);
+				session = null;
+				l.record(LOGOUT, System.nanoTime() - start, true);
+				return false;
+			}
+			done++;
+			int choice = random.nextInt(browse + enroll + drop);
+			if (choice < browse) {
+				String[][] rows = manager.getCourseCatalog().getCourseCatalog();
+				l.record(BROWSE, System.nanoTime() - start, rows.length > 0);
+			} else if (choice < browse + enroll) {
+				Course c = pickCourse();
+				boolean added = manager.enrollStudentInCourse(session, c);
+				l.record(ENROLL, System.nanoTime() - start, added);
+				if (added) {
+					enrolled.add(c);
+				}
+			} else if (!enrolled.isEmpty()) {
+				// A student with nothing to drop skips the drop, so it does not skew its latencies
+				Course c = enrolled.remove(random.nextInt(enrolled.size()));
+				start = System.nanoTime();
+				boolean dropped = manager.dropStudentFromCourse(session, c);
+				l.record(DROP, System.nanoTime() - start, dropped);
+			}
+			return true;
+		}
+
+		/**
+		 * Closes the student's session, if it is still open.
+		 */
+		private void logOut() {
+			if (session != null) {
+				try {
+					manager.closeSession(session);
+				} catch (RuntimeException e) {
+					// The session is already closed
+				}
+				session = null;
+			}
+		}
+
+		/**
+		 * Returns a course to enroll in, a hot section with hotShare chance.
+		 * @return the course
+		 */
+		private Course pickCourse() {
+			if (random.nextDouble() < hotShare) {
+				return courses[random.nextInt(Math.min(hot, courses.length))];
+			}
+			return courses[random.nextInt(courses.length)];
+		}
+	}
+
+	/**
+	 * The latencies recorded by one worker thread, by operation.
+	 */
+	private class Latencies {
+
+		/** Latencies in nanoseconds, by operation */
+		private final long[][] nanos = new long[OPERATIONS.length][1024];
+		/** Number of latencies recorded, by operation */
+		private final int[] count = new int[OPERATIONS.length];
+		/** Number of operations that succeeded, by operation */
+		private final int[] succeeded = new int[OPERATIONS.length];
+
+		/**
+		 * Records one operation.
+		 * @param op the operation
+		 * @param latency how long it took, in nanoseconds
+		 * @param success whether it succeeded
+		 */
+		void record(int op, long latency, boolean success) {
+			if (count[op] == nanos[op].length) {
+				nanos[op] = Arrays.copyOf(nanos[op], count[op] * 2);
+			}
+			nanos[op][count[op]++] = latency;
+			if (success) {
+				succeeded[op]++;
+			}
+		}
+	}
+}
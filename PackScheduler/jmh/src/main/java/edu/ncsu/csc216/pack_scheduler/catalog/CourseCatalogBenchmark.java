@@ -0,0 +1,119 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+
+/**
+ * JMH benchmarks of CourseCatalog.getCourseCatalog(), the call behind every refresh of a catalog
+ *     table, and of the meeting time queries, over catalogs of different sizes. Run with -prof gc
+ *     to see the allocation per refresh.
+ *
+ * @author David Mond
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseCatalogBenchmark {
+
+	/** Number of sections in the catalog */
+	@Param({"100", "1000", "20000"})
+	public int sectionCount;
+
+	/** The catalog */
+	private CourseCatalog catalog;
+	/** A course that a student enrolls in and drops */
+	private Course course;
+	/** The student who enrolls in and drops the course */
+	private Student student;
+	/** A schedule of two courses from the catalog */
+	private Schedule schedule;
+
+	/**
+	 * Builds the catalog.
+	 */
+	@Setup
+	public void buildCatalog() {
+		catalog = new CourseCatalog();
+		for (int i = 0; i < sectionCount; i++) {
+			int start = 800 + (i % 10) * 100;
+			catalog.addCourseToCatalog("CSC" + (100 + i / 100), "Benchmark Course", String.format("%03d", i % 100), 3,
+					"none", 100, "MW", start, start + 50);
+		}
+		course = catalog.getCourseFromCatalog("CSC100", "000");
+		student = new Student("Bench", "Mark", "bmark", "bmark@ncsu.edu", "pw");
+		schedule = new Schedule();
+		schedule.addCourseToSchedule(course);
+		schedule.addCourseToSchedule(catalog.getCourseFromCatalog("CSC100", "003"));
+		catalog.getCourseCatalog();
+		catalog.getCoursesFitting(schedule);
+	}
+
+	/**
+	 * Refreshes a catalog with no changes.
+	 * @return the catalog's rows
+	 */
+	@Benchmark
+	public String[][] refreshUnchanged() {
+		return catalog.getCourseCatalog();
+	}
+
+	/**
+	 * Refreshes the catalog after one course's open seats change.
+	 * @return the catalog's rows
+	 */
+	@Benchmark
+	public String[][] refreshAfterEnroll() {
+		if (course.getCourseRoll().getOpenSeats() == 100) {
+			course.getCourseRoll().enroll(student);
+		} else {
+			course.getCourseRoll().drop(student);
+		}
+		catalog.courseUpdated(course);
+		return catalog.getCourseCatalog();
+	}
+
+	/**
+	 * Finds the courses meeting in one hour of the afternoon.
+	 * @return the courses
+	 */
+	@Benchmark
+	public Course[] coursesMeetingIn() {
+		return catalog.getCoursesMeetingIn("MW", 1400, 1459);
+	}
+
+	/**
+	 * Finds the courses that fit a schedule of two courses.
+	 * @return the courses
+	 */
+	@Benchmark
+	public Course[] coursesFitting() {
+		return catalog.getCoursesFitting(schedule);
+	}
+
+	/**
+	 * Finds the courses that can be added to a schedule of two courses.
+	 * @return the courses
+	 */
+	@Benchmark
+	public Course[] coursesAddable() {
+		return catalog.getCoursesAddable(schedule, 18);
+	}
+}
@@ -0,0 +1,95 @@
+package edu.ncsu.csc216.pack_scheduler.course;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of Activity.checkConflict(), checking one Course against every Course in a
+ *     list of different sizes, the way a Schedule does when a Course is added.
+ *
+ * @author David Mond
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivityBenchmark {
+
+	/** Meeting days the courses are spread over */
+	private static final String[] DAYS = {"MW", "TH", "F", "MWF", "A"};
+
+	/** Number of courses checked against */
+	@Param({"8", "64", "1024"})
+	public int courseCount;
+
+	/** The courses checked against */
+	private Course[] courses;
+	/** A course that conflicts with none of the courses */
+	private Course free;
+	/** A course that conflicts with some of the courses */
+	private Course busy;
+
+	/**
+	 * Builds the courses.
+	 */
+	@Setup
+	public void buildCourses() {
+		courses = new Course[courseCount];
+		for (int i = 0; i < courseCount; i++) {
+			String days = DAYS[i % DAYS.length];
+			int start = "A".equals(days) ? 0 : 800 + (i % 8) * 100;
+			int end = "A".equals(days) ? 0 : start + 50;
+			courses[i] = new Course("CSC216", "Benchmark Course", "001", 3, "none", 100, days, start, end);
+		}
+		free = new Course("CSC226", "Benchmark Course", "001", 3, "none", 100, "MTWHF", 1700, 1800);
+		busy = new Course("CSC226", "Benchmark Course", "001", 3, "none", 100, "MW", 1000, 1050);
+	}
+
+	/**
+	 * Checks a course with no conflicts against every course.
+	 * @return the number of conflicts, which is 0
+	 */
+	@Benchmark
+	public int checkNoConflicts() {
+		return countConflicts(free);
+	}
+
+	/**
+	 * Checks a course that conflicts with some courses against every course.
+	 * @return the number of conflicts
+	 */
+	@Benchmark
+	public int checkSomeConflicts() {
+		return countConflicts(busy);
+	}
+
+	/**
+	 * Returns the number of courses the given course conflicts with.
+	 * @param course the course to check
+	 * @return the number of conflicts
+	 */
+	private int countConflicts(Course course) {
+		int conflicts = 0;
+		for (Course other : courses) {
+			try {
+				course.checkConflict(other);
+			} catch (ConflictException e) {
+				conflicts++;
+			}
+		}
+		return conflicts;
+	}
+}
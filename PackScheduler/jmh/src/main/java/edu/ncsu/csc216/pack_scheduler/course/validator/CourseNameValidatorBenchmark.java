@@ -0,0 +1,150 @@
+package edu.ncsu.csc216.pack_scheduler.course.validator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the course name validators over batches of course names of different
+ *     sizes, as when a catalog is loaded. One in four names is invalid. Compares
+ *     CourseNameValidator, CourseNameValidatorFSM, and the table driven CourseNameValidatorTable
+ *     they delegate to, one name at a time and with validateAll(). Before they delegated,
+ *     CourseNameValidator walked state objects and CourseNameValidatorFSM a switch, and the
+ *     same benchmarks compared the three walkers.
+ *
+ * @author David Mond
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseNameValidatorBenchmark {
+
+	/** Course names, valid and invalid, the batch is made from */
+	private static final String[] NAMES = {"CSC216", "E115", "HESF101", "MA141L", "CSC21A", "CSC216", "PY205",
+			"CSCE2160", "ST370", "CH101", "1CSC", "E102", "FLS110", "HI233", "CSC2160", "MAE206"};
+
+	/** Number of names validated per batch */
+	@Param({"1000", "10000", "100000"})
+	public int catalogSize;
+
+	/** The names validated */
+	private String[] names;
+	/** The names validated, as a list for validateAll() */
+	private List<String> nameList;
+
+	/**
+	 * Builds the batch of names.
+	 */
+	@Setup
+	public void buildNames() {
+		names = new String[catalogSize];
+		for (int i = 0; i < catalogSize; i++) {
+			names[i] = NAMES[i % NAMES.length];
+		}
+		nameList = Arrays.asList(names);
+	}
+
+	/**
+	 * Validates every name in the batch with one CourseNameValidator.
+	 * @return the number of valid names
+	 */
+	@Benchmark
+	public int isValid() {
+		CourseNameValidator validator = new CourseNameValidator();
+		int valid = 0;
+		for (String name : names) {
+			try {
+				if (validator.isValid(name)) {
+					valid++;
+				}
+			} catch (InvalidTransitionException e) {
+				// Invalid names are counted as not valid
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Validates every name in the batch with a new CourseNameValidator for each, as Course did
+	 *     before it shared the table validator.
+	 * @return the number of valid names
+	 */
+	@Benchmark
+	public int isValidNewValidatorEach() {
+		int valid = 0;
+		for (String name : names) {
+			try {
+				if (new CourseNameValidator().isValid(name)) {
+					valid++;
+				}
+			} catch (InvalidTransitionException e) {
+				// Invalid names are counted as not valid
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Validates every name in the batch with one CourseNameValidatorFSM.
+	 * @return the number of valid names
+	 */
+	@Benchmark
+	public int isValidFSM() {
+		CourseNameValidatorFSM validator = new CourseNameValidatorFSM();
+		int valid = 0;
+		for (String name : names) {
+			try {
+				if (validator.isValid(name)) {
+					valid++;
+				}
+			} catch (InvalidTransitionException e) {
+				// Invalid names are counted as not valid
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Validates every name in the batch with the shared CourseNameValidatorTable.
+	 * @return the number of valid names
+	 */
+	@Benchmark
+	public int isValidTable() {
+		CourseNameValidatorTable validator = CourseNameValidatorTable.getInstance();
+		int valid = 0;
+		for (String name : names) {
+			try {
+				if (validator.isValid(name)) {
+					valid++;
+				}
+			} catch (InvalidTransitionException e) {
+				// Invalid names are counted as not valid
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Validates the whole batch with CourseNameValidatorTable.validateAll().
+	 * @return the number of valid names
+	 */
+	@Benchmark
+	public int validateAll() {
+		return CourseNameValidatorTable.getInstance().validateAll(nameList).cardinality();
+	}
+}
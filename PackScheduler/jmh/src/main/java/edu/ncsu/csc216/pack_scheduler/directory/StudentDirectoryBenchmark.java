@@ -0,0 +1,73 @@
+package edu.ncsu.csc216.pack_scheduler.directory;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * JMH benchmark of StudentDirectory.getStudentById() over directories of different sizes.
+ *
+ * @author David Mond
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentDirectoryBenchmark {
+
+	/** Number of ids looked up, cycled through by the benchmark */
+	private static final int LOOKUPS = 1024;
+
+	/** Number of students in the directory */
+	@Param({"1000", "10000", "100000"})
+	public int directorySize;
+
+	/** The directory searched */
+	private StudentDirectory directory;
+	/** Ids to look up, most of them in the directory */
+	private String[] ids;
+	/** Index of the next id to look up */
+	private int next;
+
+	/**
+	 * Fills the directory with directorySize students and picks the ids to look up.
+	 */
+	@Setup
+	public void fillDirectory() {
+		directory = new StudentDirectory();
+		for (int i = 0; i < directorySize; i++) {
+			directory.addStudent("First", "Last", "s" + i, "s" + i + "@ncsu.edu", "pw", "pw", 15);
+		}
+		Random random = new Random(216);
+		ids = new String[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			// One in eight lookups misses
+			ids[i] = (i % 8 == 0 ? "missing" : "s") + random.nextInt(directorySize);
+		}
+	}
+
+	/**
+	 * Looks up the next id.
+	 * @return the student found, or null
+	 */
+	@Benchmark
+	public Student getStudentById() {
+		next = (next + 1) & (LOOKUPS - 1);
+		return directory.getStudentById(ids[next]);
+	}
+}
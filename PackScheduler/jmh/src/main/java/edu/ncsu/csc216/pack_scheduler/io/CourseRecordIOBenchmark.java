@@ -0,0 +1,114 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc217.collections.list.SortedList;
+
+/**
+ * JMH benchmark of CourseRecordIO.readCourseRecords() and writeCourseRecords() over catalogs of
+ *     different sizes.
+ *     Run from the PackScheduler directory, since loading courses uses registrar.properties.
+ *
+ * @author David Mond
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseRecordIOBenchmark {
+
+	/** Number of distinct course numbers per prefix */
+	private static final int COURSE_NUMBERS = 900;
+
+	/** Number of courses in the catalog file */
+	@Param({"1000", "10000", "100000"})
+	public int catalogSize;
+
+	/** The catalog file read by the benchmark */
+	private File file;
+
+	/** The courses of the catalog file, written by the benchmark */
+	private SortedList<Course> courses;
+
+	/** The file the courses are written to */
+	private File output;
+
+	/**
+	 * Writes a catalog file of catalogSize courses, and reads its courses to be written.
+	 * @throws IOException if the file cannot be written
+	 */
+	@Setup
+	public void writeFile() throws IOException {
+		file = File.createTempFile("courses", ".txt");
+		PrintStream out = new PrintStream(file);
+		for (int i = 0; i < catalogSize; i++) {
+			out.println(courseName(i) + ",Benchmark Course,001,3,none,100,MW,0910,1025");
+		}
+		out.close();
+		courses = CourseRecordIO.readCourseRecords(file.getPath());
+		output = File.createTempFile("courses", ".txt");
+	}
+
+	/**
+	 * Deletes the catalog and output files.
+	 */
+	@TearDown
+	public void deleteFile() {
+		file.delete();
+		output.delete();
+	}
+
+	/**
+	 * Reads the catalog file.
+	 * @return the courses read
+	 * @throws FileNotFoundException if the file cannot be found
+	 */
+	@Benchmark
+	public SortedList<Course> readCourseRecords() throws FileNotFoundException {
+		return CourseRecordIO.readCourseRecords(file.getPath());
+	}
+
+	/**
+	 * Writes the courses, forcing them to the disk and renaming them over the output file.
+	 * @throws IOException if the file cannot be written
+	 */
+	@Benchmark
+	public void writeCourseRecords() throws IOException {
+		CourseRecordIO.writeCourseRecords(output.getPath(), courses);
+	}
+
+	/**
+	 * Returns a valid, distinct course name for the given number, such as "AB123".
+	 * @param n the number of the course
+	 * @return the course name
+	 */
+	private static String courseName(int n) {
+		StringBuilder prefix = new StringBuilder();
+		int letters = n / COURSE_NUMBERS;
+		do {
+			prefix.append((char) ('A' + letters % 26));
+			letters /= 26;
+		} while (letters > 0);
+		return prefix.toString() + (100 + n % COURSE_NUMBERS);
+	}
+}
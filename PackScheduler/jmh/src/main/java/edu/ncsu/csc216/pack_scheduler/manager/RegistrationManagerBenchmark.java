@@ -0,0 +1,114 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+
+/**
+ * JMH benchmarks of logging in to the RegistrationManager, and of enrolling a student in a
+ *     course and dropping them from it, over directories and catalogs of different sizes.
+ *     Run from the PackScheduler directory, since the RegistrationManager uses registrar.properties.
+ *
+ * @author David Mond
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationManagerBenchmark {
+
+	/** Number of students in the directory */
+	@Param({"1000", "10000"})
+	public int directorySize;
+
+	/** Number of courses in the catalog */
+	@Param({"100", "1000"})
+	public int catalogSize;
+
+	/** The RegistrationManager */
+	private RegistrationManager manager;
+	/** Sessions of the students, one per student */
+	private Session[] sessions;
+	/** The courses in the catalog */
+	private Course[] courses;
+	/** Number of the next student to log in or enroll */
+	private int nextStudent;
+	/** Number of the next course to enroll in */
+	private int nextCourse;
+
+	/**
+	 * Fills the RegistrationManager's directory and catalog and opens a session for each student.
+	 */
+	@Setup
+	public void fill() {
+		manager = RegistrationManager.getInstance();
+		manager.logout();
+		manager.clearData();
+		StudentDirectory directory = manager.getStudentDirectory();
+		sessions = new Session[directorySize];
+		for (int i = 0; i < directorySize; i++) {
+			directory.addStudent("First", "Last", "s" + i, "s" + i + "@ncsu.edu", "pw", "pw", 18);
+			sessions[i] = manager.openSession("s" + i, "pw");
+		}
+		CourseCatalog catalog = manager.getCourseCatalog();
+		courses = new Course[catalogSize];
+		for (int i = 0; i < catalogSize; i++) {
+			String name = "CSC" + (100 + i % 900);
+			String section = String.format("%03d", 1 + i / 900);
+			catalog.addCourseToCatalog(name, "Benchmark Course", section, 3, "none", 100, "MW", 910, 1025);
+			courses[i] = catalog.getCourseFromCatalog(name, section);
+		}
+	}
+
+	/**
+	 * Clears the RegistrationManager.
+	 */
+	@TearDown
+	public void clear() {
+		manager.logout();
+		manager.clearData();
+	}
+
+	/**
+	 * Logs the next student in and back out.
+	 * @return true if the student logged in
+	 */
+	@Benchmark
+	public boolean loginAndLogout() {
+		nextStudent = (nextStudent + 1) % directorySize;
+		boolean loggedIn = manager.login("s" + nextStudent, "pw");
+		manager.logout();
+		return loggedIn;
+	}
+
+	/**
+	 * Enrolls the next student in the next course through their session, then drops them,
+	 *     leaving the course as it was.
+	 * @return true if the student was enrolled and dropped
+	 */
+	@Benchmark
+	public boolean enrollAndDrop() {
+		nextStudent = (nextStudent + 1) % directorySize;
+		nextCourse = (nextCourse + 1) % catalogSize;
+		Session session = sessions[nextStudent];
+		Course course = courses[nextCourse];
+		return manager.enrollStudentInCourse(session, course) && manager.dropStudentFromCourse(session, course);
+	}
+}
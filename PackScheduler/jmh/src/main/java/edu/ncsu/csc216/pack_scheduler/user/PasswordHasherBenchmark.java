@@ -0,0 +1,68 @@
+package edu.ncsu.csc216.pack_scheduler.user;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of PasswordHasher, against looking up a new MessageDigest for every hash the
+ *     way the directories used to. Run with several threads, as logins arrive at once.
+ *
+ * @author David Mond
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PasswordHasherBenchmark {
+
+	/** Password hashed and checked */
+	private static final String PASSWORD = "pw";
+	/** Stored hash of PASSWORD */
+	private static final String HASHED = PasswordHasher.hash(PASSWORD);
+
+	/**
+	 * Hashes a password with PasswordHasher.
+	 * @return the hash
+	 */
+	@Benchmark
+	public String hash() {
+		return PasswordHasher.hash(PASSWORD);
+	}
+
+	/**
+	 * Checks a password against its stored hash, as logging in does.
+	 * @return true if the password matches
+	 */
+	@Benchmark
+	public boolean matches() {
+		return PasswordHasher.matches(PASSWORD, HASHED);
+	}
+
+	/**
+	 * Hashes a password with a new MessageDigest, encoding it through a String.
+	 * @return the hash
+	 * @throws NoSuchAlgorithmException if SHA-256 is not available
+	 */
+	@Benchmark
+	public String hashWithNewDigest() throws NoSuchAlgorithmException {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		digest.update(PASSWORD.getBytes());
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+}
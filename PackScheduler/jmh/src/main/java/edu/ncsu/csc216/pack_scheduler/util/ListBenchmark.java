@@ -0,0 +1,166 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the custom lists: filling each list, getting elements by index, and
+ *     looking elements up, over lists of different sizes.
+ *
+ * @author David Mond
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+
+	/** Number of elements in each list */
+	@Param({"100", "1000", "10000"})
+	public int listSize;
+
+	/** The elements, in shuffled order */
+	private Integer[] elements;
+	/** A filled ArrayList */
+	private ArrayList<Integer> arrayList;
+	/** A filled LinkedList */
+	private LinkedList<Integer> linkedList;
+	/** A filled LinkedAbstractList */
+	private LinkedAbstractList<Integer> linkedAbstractList;
+	/** A filled SortedArrayList */
+	private SortedArrayList<Integer> sortedArrayList;
+
+	/**
+	 * Shuffles the elements and fills each list with them.
+	 */
+	@Setup
+	public void fillLists() {
+		elements = new Integer[listSize];
+		for (int i = 0; i < listSize; i++) {
+			elements[i] = i;
+		}
+		Collections.shuffle(Arrays.asList(elements), new Random(216));
+		arrayList = fillArrayList();
+		linkedList = fillLinkedList();
+		linkedAbstractList = fillLinkedAbstractList();
+		sortedArrayList = fillSortedArrayList();
+	}
+
+	/**
+	 * Fills an ArrayList, which checks each element for duplicates.
+	 * @return the list
+	 */
+	@Benchmark
+	public ArrayList<Integer> fillArrayList() {
+		ArrayList<Integer> list = new ArrayList<Integer>();
+		for (Integer element : elements) {
+			list.add(list.size(), element);
+		}
+		return list;
+	}
+
+	/**
+	 * Fills a LinkedList, which checks each element for duplicates.
+	 * @return the list
+	 */
+	@Benchmark
+	public LinkedList<Integer> fillLinkedList() {
+		LinkedList<Integer> list = new LinkedList<Integer>();
+		for (Integer element : elements) {
+			list.add(list.size(), element);
+		}
+		return list;
+	}
+
+	/**
+	 * Fills a LinkedAbstractList.
+	 * @return the list
+	 */
+	@Benchmark
+	public LinkedAbstractList<Integer> fillLinkedAbstractList() {
+		LinkedAbstractList<Integer> list = new LinkedAbstractList<Integer>(listSize);
+		for (Integer element : elements) {
+			list.add(list.size(), element);
+		}
+		return list;
+	}
+
+	/**
+	 * Fills a SortedArrayList one element at a time.
+	 * @return the list
+	 */
+	@Benchmark
+	public SortedArrayList<Integer> fillSortedArrayList() {
+		SortedArrayList<Integer> list = new SortedArrayList<Integer>();
+		for (Integer element : elements) {
+			list.add(element);
+		}
+		return list;
+	}
+
+	/**
+	 * Gets every element of the ArrayList by index.
+	 * @return the sum of the elements
+	 */
+	@Benchmark
+	public long getArrayList() {
+		long sum = 0;
+		for (int i = 0; i < listSize; i++) {
+			sum += arrayList.get(i);
+		}
+		return sum;
+	}
+
+	/**
+	 * Gets every element of the LinkedList by index.
+	 * @return the sum of the elements
+	 */
+	@Benchmark
+	public long getLinkedList() {
+		long sum = 0;
+		for (int i = 0; i < listSize; i++) {
+			sum += linkedList.get(i);
+		}
+		return sum;
+	}
+
+	/**
+	 * Gets every element of the LinkedAbstractList by index.
+	 * @return the sum of the elements
+	 */
+	@Benchmark
+	public long getLinkedAbstractList() {
+		long sum = 0;
+		for (int i = 0; i < listSize; i++) {
+			sum += linkedAbstractList.get(i);
+		}
+		return sum;
+	}
+
+	/**
+	 * Looks up one element in each of the lists.
+	 * @return the total of the indexes found
+	 */
+	@Benchmark
+	public int indexOf() {
+		Integer element = elements[listSize / 2];
+		return arrayList.indexOf(element) + linkedList.indexOf(element) + linkedAbstractList.indexOf(element)
+				+ sortedArrayList.indexOf(element);
+	}
+}
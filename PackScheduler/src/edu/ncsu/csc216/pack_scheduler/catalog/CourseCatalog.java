@@ -5,9 +5,19 @@ package edu.ncsu.csc216.pack_scheduler.catalog;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.LoadProgress;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+import edu.ncsu.csc216.pack_scheduler.util.RowListenerList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -16,10 +26,20 @@ import edu.ncsu.csc217.collections.list.SortedList;
  * @author Winston, Sean, David
  */
 public class CourseCatalog {
+	/** The array getCourseCatalog() returns for every empty catalog */
+	private static final String[][] EMPTY_CATALOG = new String[0][0];
 	/** A sorted list of courses that make up catalog */
 	private SortedList<Course> catalog;
-	/** Number of Columns for the array generated by getCourseCatalogue	*/
-	private static final int COURSE_CATALOG_COLUMNS = 4;
+	/** Index of the courses in the catalog, keyed by name and section, for constant time lookups */
+	private HashMap<String, Course> courseIndex;
+	/** Listeners told about each row of getCourseCatalog() that changes */
+	private final RowListenerList listeners = new RowListenerList();
+	/** Version of the catalog, counted up each time a course is added, removed, or updated */
+	private final AtomicLong version = new AtomicLong();
+	/** The array last returned by getCourseCatalog() with its version, or null if there is none */
+	private volatile CatalogSnapshot snapshot;
+	/** Index of the courses' meeting times, or null until a query needs it after a change */
+	private volatile MeetingTimeIndex meetingIndex;
 
 	/** 
 	 * Constructs an empty catalog
@@ -31,7 +51,11 @@ public class CourseCatalog {
 	 * Constructs an empty catalog
 	 */
 	public void newCourseCatalog() {
-		catalog = new SortedList<Course>();
+		catalog = new SortedArrayList<Course>();
+		courseIndex = new HashMap<String, Course>();
+		meetingIndex = null;
+		version.incrementAndGet();
+		listeners.fireRowsReplaced();
 	}
 	
 	/** 
@@ -52,13 +76,48 @@ public class CourseCatalog {
 	 * @throws IllegalArgumentException if the file cannot be found or read from.
 	 */
 	public void loadCoursesFromFile(String fileName) {
+		loadCoursesFromFile(fileName, null);
+	}
+	
+	/**
+	 * Loads the courses from the given file as loadCoursesFromFile(String) does, reporting to the given
+	 * progress as the file is read. The catalog is only replaced once the whole file is read, so a
+	 * cancelled load leaves it as it was. Can be called off the Swing event thread.
+	 * @param fileName file to read courses from
+	 * @param progress progress to report to, or null
+	 * @throws IllegalArgumentException if the file cannot be found or read from
+	 * @throws CancellationException if the progress is cancelled
+	 */
+	public void loadCoursesFromFile(String fileName, LoadProgress progress) {
 		try {
-			catalog = CourseRecordIO.readCourseRecords(fileName);
+			catalog = CourseRecordIO.readCourseRecords(fileName, progress);
+			rebuildIndex();
+			meetingIndex = null;
+			version.incrementAndGet();
+			listeners.fireRowsReplaced();
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
 	}
 	
+	/**
+	 * Loads the courses from a snapshot written by saveCourseSnapshot(), which is much faster than
+	 * loading the text records. The catalog is only replaced if the whole snapshot is valid.
+	 * @param fileName snapshot file to read courses from
+	 * @throws IllegalArgumentException if the file cannot be found or read, or is not a course snapshot
+	 */
+	public void loadCoursesFromSnapshot(String fileName) {
+		try {
+			catalog = SnapshotIO.readCourseSnapshot(fileName);
+			rebuildIndex();
+			meetingIndex = null;
+			version.incrementAndGet();
+			listeners.fireRowsReplaced();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+	
 	/**
 	 * Adds a course to the Catalog given the components of a Course
 	 * @param name The name of the course to be added
@@ -75,12 +134,17 @@ public class CourseCatalog {
 	public boolean addCourseToCatalog(String name, String title, String section, int credits, String instructorId, int enrollmentCap, String meetingDays,
 			int startTime, int endTime) {
 		Course courseToBeAdded = new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays, startTime, endTime);
-		for(int i = 0; i < catalog.size(); i++) {
-			if (this.catalog.get(i).isDuplicate(courseToBeAdded)) {
-				return false;
-			}
+		String key = indexKey(courseToBeAdded.getName(), courseToBeAdded.getSection());
+		if (courseIndex.containsKey(key)) {
+			return false;
 		}
 		catalog.add(courseToBeAdded);
+		courseIndex.put(key, courseToBeAdded);
+		meetingIndex = null;
+		version.incrementAndGet();
+		if (!listeners.isEmpty()) {
+			listeners.fireRowInserted(catalog.indexOf(courseToBeAdded), courseToBeAdded.getShortDisplayArray());
+		}
 		return true;
 	}
 	
@@ -92,56 +156,251 @@ public class CourseCatalog {
 	 * or false if the course is not in the catalog.
 	 */
 	public boolean removeCourseFromCatalog(String name, String section) {
-		if (catalog.size() == 0){
+		Course course = courseIndex.remove(indexKey(name, section));
+		if (course == null) {
 			return false;
 		}
-		for(int i = 0; i < catalog.size(); i++) {
-			String tempName = this.catalog.get(i).getName();
-			String tempSection = this.catalog.get(i).getSection();
-			if(name.equals(tempName) && section.equals(tempSection)) {
-				catalog.remove(i);
-				return true;
-			}
-		}
-		return false;
+		int index = catalog.indexOf(course);
+		catalog.remove(index);
+		meetingIndex = null;
+		version.incrementAndGet();
+		listeners.fireRowRemoved(index);
+		return true;
 	}
 	
 	/**
-	 * This method iterates through the catalog array list searching for a course
-	 * that matches the given course name and section.
+	 * This method looks up the course that matches the given course name and section
+	 * in the catalog's index.
 	 * @param name courseName
 	 * @param section courseSection
 	 * @return a course from ArrayListcatalog with given name and section,
 	 * or null if no matching course is found
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for(int i = 0; i < catalog.size(); i++) {
-			String tempName = this.catalog.get(i).getName();
-			String tempSection = this.catalog.get(i).getSection();
-			if(name.equals(tempName) && section.equals(tempSection)) {
-				return this.catalog.get(i);
+		return courseIndex.get(indexKey(name, section));
+	}
+	
+	/**
+	 * Returns the courses that meet on any of the given days at some time from the start time to
+	 * the end time, in catalog order. As in Activity.checkConflict(), a course that only touches the
+	 * window at an end meets in it, and arranged courses never do. The courses are found in
+	 * O(log n + k) time for k courses from an index of the meeting times, which is built on the
+	 * first query after the catalog changes.
+	 * @param days the days, each one of "MTWHF"
+	 * @param startTime start of the window, in military time
+	 * @param endTime end of the window, in military time
+	 * @return the courses meeting in the window
+	 * @throws IllegalArgumentException if a day is not one of "MTWHF", or the window ends before it starts
+	 */
+	public Course[] getCoursesMeetingIn(String days, int startTime, int endTime) {
+		return getCoursesMeetingIn(days, startTime, endTime, null);
+	}
+	
+	/**
+	 * Returns the courses that meet in the window as getCoursesMeetingIn(String, int, int) does,
+	 * leaving out those that conflict with a course in the given schedule, in catalog order.
+	 * @param days the days, each one of "MTWHF"
+	 * @param startTime start of the window, in military time
+	 * @param endTime end of the window, in military time
+	 * @param schedule the schedule the courses must not conflict with, or null for none
+	 * @return the courses meeting in the window that fit the schedule
+	 * @throws IllegalArgumentException if a day is not one of "MTWHF", or the window ends before it starts
+	 */
+	public Course[] getCoursesMeetingIn(String days, int startTime, int endTime, Schedule schedule) {
+		MeetingTimeIndex index = meetingIndex();
+		int[] ids = index.meetingIn(days, startTime, endTime);
+		Course[] scheduled = schedule == null ? new Course[0] : schedule.getCourses();
+		Course[] courses = new Course[ids.length];
+		int count = 0;
+		for (int id : ids) {
+			boolean fits = true;
+			for (int i = 0; i < scheduled.length && fits; i++) {
+				fits = !index.conflicts(id, scheduled[i]);
+			}
+			if (fits) {
+				courses[count++] = index.get(id);
+			}
+		}
+		return count == courses.length ? courses : Arrays.copyOf(courses, count);
+	}
+	
+	/**
+	 * Returns the courses that do not conflict with any course in the given schedule, as
+	 * Activity.checkConflict() would find, in catalog order. A course in the schedule conflicts with
+	 * itself unless it is arranged. Only the conflicting courses are looked up, in the index of
+	 * meeting times, so the cost beyond listing the result is O(log n + c) for each scheduled course
+	 * with c conflicts.
+	 * @param schedule the schedule the courses must not conflict with
+	 * @return the courses that fit the schedule
+	 * @throws IllegalArgumentException if the schedule is null
+	 */
+	public Course[] getCoursesFitting(Schedule schedule) {
+		if (schedule == null) {
+			throw new IllegalArgumentException("Invalid schedule.");
+		}
+		MeetingTimeIndex index = meetingIndex();
+		boolean[] conflicting = new boolean[index.size()];
+		int conflicts = 0;
+		for (Course c : schedule.getCourses()) {
+			if (!"A".equals(c.getMeetingDays())) {
+				for (int id : index.meetingIn(c.getMeetingDays(), c.getStartTime(), c.getEndTime())) {
+					if (!conflicting[id]) {
+						conflicting[id] = true;
+						conflicts++;
+					}
+				}
 			}
 		}
-		return null;
+		Course[] courses = new Course[index.size() - conflicts];
+		int count = 0;
+		for (int id = 0; id < conflicting.length; id++) {
+			if (!conflicting[id]) {
+				courses[count++] = index.get(id);
+			}
+		}
+		return courses;
+	}
+	
+	/**
+	 * Returns the courses that could be added to the given schedule without going over the given
+	 * credits, in catalog order. As Student.canAdd() and CourseRoll.hasRoom() would find, a course
+	 * can be added if its credits fit, no course in the schedule has its name or conflicts with it,
+	 * and it has an open seat or room on its waitlist. The schedule is laid out once as a mask of the
+	 * times it takes, so each course is checked in a few array reads. The schedule must not change
+	 * during the call.
+	 * @param schedule the schedule to add courses to
+	 * @param maxCredits the most credits the schedule can have
+	 * @return the courses that could be added
+	 * @throws IllegalArgumentException if the schedule is null
+	 */
+	public Course[] getCoursesAddable(Schedule schedule, int maxCredits) {
+		if (schedule == null) {
+			throw new IllegalArgumentException("Invalid schedule.");
+		}
+		MeetingTimeIndex index = meetingIndex();
+		int[] ids = index.addable(schedule.getCourses(), maxCredits - schedule.getScheduleCredits());
+		Course[] courses = new Course[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			courses[i] = index.get(ids[i]);
+		}
+		return courses;
+	}
+	
+	/**
+	 * Returns the index of the courses' meeting times, building it if the catalog changed since it
+	 * was last built.
+	 * @return the index of the meeting times
+	 */
+	private MeetingTimeIndex meetingIndex() {
+		MeetingTimeIndex index = meetingIndex;
+		if (index == null) {
+			Course[] courses = new Course[catalog.size()];
+			for (int i = 0; i < catalog.size(); i++) {
+				courses[i] = catalog.get(i);
+			}
+			index = new MeetingTimeIndex(courses);
+			meetingIndex = index;
+		}
+		return index;
+	}
+	
+	/**
+	 * Tells the listeners that the given course's row of getCourseCatalog() may have changed,
+	 * such as after a student enrolls in it or drops it.
+	 * @param course the course that changed
+	 */
+	public void courseUpdated(Course course) {
+		version.incrementAndGet();
+		if (listeners.isEmpty()) {
+			return;
+		}
+		int index = catalog.indexOf(course);
+		if (index >= 0) {
+			listeners.fireRowUpdated(index, course.getShortDisplayArray());
+		}
+	}
+	
+	/**
+	 * Returns the catalog's version, which is counted up each time a course is added or removed,
+	 * the catalog is replaced, or courseUpdated() is called. If the version has not changed, neither
+	 * have the rows of getCourseCatalog(), unless a course was changed without courseUpdated().
+	 * @return the catalog's version
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+	
+	/**
+	 * Adds a listener to be told about each row of getCourseCatalog() that is inserted,
+	 * removed, or updated.
+	 * @param listener the listener to add
+	 */
+	public void addRowListener(RowListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Removes a listener added with addRowListener().
+	 * @param listener the listener to remove
+	 */
+	public void removeRowListener(RowListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Rebuilds the name and section index from the courses currently in the catalog. The
+	 * new index replaces the old one only once it is complete.
+	 */
+	private void rebuildIndex() {
+		HashMap<String, Course> index = new HashMap<String, Course>();
+		for(int i = 0; i < catalog.size(); i++) {
+			Course c = catalog.get(i);
+			index.put(indexKey(c.getName(), c.getSection()), c);
+		}
+		courseIndex = index;
+	}
+	
+	/**
+	 * Returns the key used to index a course by its name and section. A comma cannot
+	 * appear in a valid name or section, so it keeps the two parts apart.
+	 * @param name name of the course
+	 * @param section section of the course
+	 * @return the index key for the name and section
+	 */
+	private static String indexKey(String name, String section) {
+		return name + "," + section;
 	}
 	/** 
 	 * This method returns a 2D String array with a row for each course,
-	 * and a column for name, section, and title, meeting information. This is used for the GUI
-	 * to create a table of catalog information. If catalog is empty, an empty string 
-	 * array is returned instead.
+	 * and a column for name, section, and title, meeting information, and open seats. This is used for the GUI
+	 * to create a table of catalog information. If catalog is empty, a shared empty string 
+	 * array is returned instead. The rows are each course's short display array. If the catalog's
+	 * version and every row are the same as the last call, the same array is returned again, so
+	 * refreshing an unchanged table allocates nothing. The array must not be modified.
 	 * @return a 2D string array with course names, titles, and sections, meeting information
 	 */
 	public String[][] getCourseCatalog() {
 		if (catalog.size() == 0) {
-			return new String[0][0];
-		} else {
-			String[][] courseCatalog = new String[catalog.size()][COURSE_CATALOG_COLUMNS];
-			for(int i = 0; i < catalog.size(); i++) {
-				Course c = catalog.get(i);
-				courseCatalog[i] = c.getShortDisplayArray();
+			return EMPTY_CATALOG;
+		}
+		// Read the version before the rows, so a change made while they are read is rebuilt next time
+		long current = version.get();
+		CatalogSnapshot last = snapshot;
+		if (last != null && last.version == current && last.rows.length == catalog.size()) {
+			boolean unchanged = true;
+			for(int i = 0; i < catalog.size() && unchanged; i++) {
+				unchanged = last.rows[i] == catalog.get(i).getShortDisplayArray();
+			}
+			if (unchanged) {
+				return last.rows;
 			}
-			return courseCatalog;
 		}
+		String[][] courseCatalog = new String[catalog.size()][];
+		for(int i = 0; i < catalog.size(); i++) {
+			courseCatalog[i] = catalog.get(i).getShortDisplayArray();
+		}
+		snapshot = new CatalogSnapshot(courseCatalog, current);
+		return courseCatalog;
 	}
 	/** 
 	 * This method receives a filename as a string, and calls CourseRecordIO
@@ -156,4 +415,39 @@ public class CourseCatalog {
 			throw new IllegalArgumentException("The file cannot be saved.");
 		}
 	}
+	
+	/**
+	 * Saves the catalog to a snapshot file, which loadCoursesFromSnapshot() can load much faster
+	 * than the text records written by saveCourseCatalog().
+	 * @param fileName where the snapshot will be saved
+	 * @throws IllegalArgumentException if the file cannot be saved to.
+	 */
+	public void saveCourseSnapshot(String fileName) {
+		try {
+			SnapshotIO.writeCourseSnapshot(fileName, catalog);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The file cannot be saved.");
+		}
+	}
+
+	/**
+	 * The array returned by getCourseCatalog() with the catalog version it was built from, kept
+	 *     together so a thread never sees one without the other.
+	 */
+	private static final class CatalogSnapshot {
+		/** The rows of the catalog */
+		private final String[][] rows;
+		/** The catalog version the rows were built from */
+		private final long version;
+
+		/**
+		 * Constructs a CatalogSnapshot.
+		 * @param rows the rows of the catalog
+		 * @param version the catalog version the rows were built from
+		 */
+		private CatalogSnapshot(String[][] rows, long version) {
+			this.rows = rows;
+			this.version = version;
+		}
+	}
 }
@@ -0,0 +1,386 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * An index of the meeting times of a fixed set of courses, with a centered interval tree for
+ *     each weekday. Each node of a tree holds the courses meeting at its center time, sorted once
+ *     by start time and once by end time, with the courses ending before the center to its left
+ *     and those starting after it to its right. The center is the start time of the node's median
+ *     course, so every node holds at least one course and a tree is O(log n) deep.
+ *
+ * A query for the courses meeting on some days during a window walks each day's tree once. A
+ *     node outside the window reports only its courses that reach into the window, read off the
+ *     front of one of its sorted arrays, and a node inside the window reports all of its courses,
+ *     so a query takes O(log n + k) for k courses found. As in Activity.checkConflict(), times
+ *     that only touch at an end overlap, and arranged courses meet at no time.
+ *
+ * The index is built from the courses as they are, so it must be rebuilt once a course is added,
+ *     removed, or given new meeting days or times.
+ *
+ * @author David Mond
+ */
+final class MeetingTimeIndex {
+
+	/** The days a course can meet on, one tree each */
+	private static final String DAYS = "MTWHF";
+	/** Number of military times in a day, from 0000 to 2359, counting the invalid ones between hours */
+	private static final int TIMES = 2400;
+
+	/** The courses, in the order given, which ids index into */
+	private final Course[] courses;
+	/** Days each course meets on, as bits of DAYS */
+	private final int[] dayBits;
+	/** Start time of each course */
+	private final int[] startTimes;
+	/** End time of each course */
+	private final int[] endTimes;
+	/** Root of each day's tree, or null if no course meets that day */
+	private final Node[] roots;
+
+	/**
+	 * A node of a day's tree, holding the courses that meet at its center time.
+	 */
+	private static final class Node {
+		/** The time every course in the node meets at */
+		private final int center;
+		/** Ids of the node's courses, by start time */
+		private final int[] byStart;
+		/** Ids of the node's courses, by end time, latest first */
+		private final int[] byEnd;
+		/** Courses ending before the center */
+		private Node left;
+		/** Courses starting after the center */
+		private Node right;
+
+		/**
+		 * Constructs a node with the given courses.
+		 * @param center the time every course meets at
+		 * @param byStart ids of the courses, by start time
+		 * @param byEnd ids of the courses, by end time, latest first
+		 */
+		private Node(int center, int[] byStart, int[] byEnd) {
+			this.center = center;
+			this.byStart = byStart;
+			this.byEnd = byEnd;
+		}
+	}
+
+	/**
+	 * Builds the index over the given courses.
+	 * @param courses the courses, in the order queries return them
+	 */
+	MeetingTimeIndex(Course[] courses) {
+		this.courses = courses;
+		dayBits = new int[courses.length];
+		startTimes = new int[courses.length];
+		endTimes = new int[courses.length];
+		int[] dayCounts = new int[DAYS.length()];
+		for (int i = 0; i < courses.length; i++) {
+			dayBits[i] = dayBits(courses[i].getMeetingDays());
+			startTimes[i] = courses[i].getStartTime();
+			endTimes[i] = courses[i].getEndTime();
+			for (int d = 0; d < DAYS.length(); d++) {
+				if ((dayBits[i] & 1 << d) != 0) {
+					dayCounts[d]++;
+				}
+			}
+		}
+
+		// Sort the ids by start time once, so each node can split them in order
+		Integer[] order = new Integer[courses.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(startTimes[a], startTimes[b]));
+
+		roots = new Node[DAYS.length()];
+		for (int d = 0; d < DAYS.length(); d++) {
+			int[] ids = new int[dayCounts[d]];
+			int count = 0;
+			for (Integer id : order) {
+				if ((dayBits[id] & 1 << d) != 0) {
+					ids[count++] = id;
+				}
+			}
+			roots[d] = build(ids);
+		}
+	}
+
+	/**
+	 * Returns the number of courses in the index.
+	 * @return the number of courses
+	 */
+	int size() {
+		return courses.length;
+	}
+
+	/**
+	 * Returns the course with the given id.
+	 * @param id the id, which is its position in the courses the index was built from
+	 * @return the course
+	 */
+	Course get(int id) {
+		return courses[id];
+	}
+
+	/**
+	 * Returns the ids of the courses that meet on any of the given days at some time from the
+	 *     start time to the end time, in the order the courses were given.
+	 * @param days the days, each one of "MTWHF"
+	 * @param startTime start of the window
+	 * @param endTime end of the window
+	 * @return the ids of the courses meeting in the window
+	 * @throws IllegalArgumentException if a day is not one of "MTWHF", or the window ends before it starts
+	 */
+	int[] meetingIn(String days, int startTime, int endTime) {
+		if (days == null || startTime > endTime) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+		int queryDays = 0;
+		for (int i = 0; i < days.length(); i++) {
+			int d = DAYS.indexOf(days.charAt(i));
+			if (d == -1) {
+				throw new IllegalArgumentException("Invalid meeting days and times.");
+			}
+			queryDays |= 1 << d;
+		}
+		IdList found = new IdList();
+		for (int d = 0; d < DAYS.length(); d++) {
+			if ((queryDays & 1 << d) != 0) {
+				search(roots[d], startTime, endTime, queryDays, 1 << d, found);
+			}
+		}
+		int[] ids = found.toArray();
+		Arrays.sort(ids);
+		return ids;
+	}
+
+	/**
+	 * Returns true if the course with the given id meets at the same time on the same day as the
+	 *     given course at least once, as Activity.checkConflict() would find.
+	 * @param id the id of the course
+	 * @param course the other course
+	 * @return true if the two courses conflict
+	 */
+	boolean conflicts(int id, Course course) {
+		return (dayBits[id] & dayBits(course.getMeetingDays())) != 0
+				&& startTimes[id] <= course.getEndTime() && endTimes[id] >= course.getStartTime();
+	}
+
+	/**
+	 * Returns the ids of the courses that could be added to a schedule of the given courses, in
+	 *     the order the courses were given. A course can be added if it has no more credits than
+	 *     are left, has a different name from every scheduled course, does not conflict with any
+	 *     of them, and has an open seat or room on its waitlist, as Student.canAdd() and
+	 *     CourseRoll.hasRoom() would find.
+	 *
+	 * The scheduled courses are first laid out as a mask of the days they meet on and, for each
+	 *     day, a running count of the times they meet at. A course that shares a day with the
+	 *     schedule then conflicts with it if the count changes across its times on a shared day,
+	 *     so every course is checked with a few array reads and no ConflictException.
+	 * @param scheduled the scheduled courses
+	 * @param creditsLeft the credits that can still be added to the schedule
+	 * @return the ids of the courses that could be added
+	 */
+	int[] addable(Course[] scheduled, int creditsLeft) {
+		// busy[d * (TIMES + 1) + t] counts the times before t that a scheduled course meets at on day d
+		int[] busy = new int[DAYS.length() * (TIMES + 1)];
+		int[] marks = new int[DAYS.length() * (TIMES + 1)];
+		int busyDays = 0;
+		HashSet<String> names = new HashSet<String>();
+		for (Course c : scheduled) {
+			names.add(c.getName());
+			int days = dayBits(c.getMeetingDays());
+			busyDays |= days;
+			for (int d = 0; d < DAYS.length(); d++) {
+				if ((days & 1 << d) != 0) {
+					// A course meets from its start time through its end time
+					marks[d * (TIMES + 1) + c.getStartTime()]++;
+					marks[d * (TIMES + 1) + c.getEndTime() + 1]--;
+				}
+			}
+		}
+		for (int d = 0; d < DAYS.length(); d++) {
+			int base = d * (TIMES + 1);
+			int meeting = 0;
+			int taken = 0;
+			for (int t = 0; t < TIMES; t++) {
+				busy[base + t] = taken;
+				meeting += marks[base + t];
+				if (meeting > 0) {
+					taken++;
+				}
+			}
+			busy[base + TIMES] = taken;
+		}
+
+		IdList found = new IdList();
+		for (int id = 0; id < courses.length; id++) {
+			Course c = courses[id];
+			if (c.getCredits() > creditsLeft) {
+				continue;
+			}
+			int shared = dayBits[id] & busyDays;
+			boolean conflict = false;
+			while (shared != 0 && !conflict) {
+				int base = Integer.numberOfTrailingZeros(shared) * (TIMES + 1);
+				conflict = busy[base + endTimes[id] + 1] != busy[base + startTimes[id]];
+				shared &= shared - 1;
+			}
+			if (!conflict && !names.contains(c.getName()) && c.getCourseRoll().hasRoom()) {
+				found.add(id);
+			}
+		}
+		return found.toArray();
+	}
+
+	/**
+	 * Adds the ids of the courses in the tree that meet during the window. A course meeting on
+	 *     several of the query's days is added only from the first of them, so it is found once.
+	 * @param node root of the tree
+	 * @param startTime start of the window
+	 * @param endTime end of the window
+	 * @param queryDays the query's days, as bits of DAYS
+	 * @param day the tree's day, as a bit of DAYS
+	 * @param found the ids found so far
+	 */
+	private void search(Node node, int startTime, int endTime, int queryDays, int day, IdList found) {
+		while (node != null) {
+			if (endTime < node.center) {
+				// Each course here ends at or after the center, so it overlaps if it starts in time
+				for (int i = 0; i < node.byStart.length && startTimes[node.byStart[i]] <= endTime; i++) {
+					report(node.byStart[i], queryDays, day, found);
+				}
+				node = node.left;
+			} else if (startTime > node.center) {
+				// Each course here starts at or before the center, so it overlaps if it ends in time
+				for (int i = 0; i < node.byEnd.length && endTimes[node.byEnd[i]] >= startTime; i++) {
+					report(node.byEnd[i], queryDays, day, found);
+				}
+				node = node.right;
+			} else {
+				// The window holds the center, so every course here overlaps it
+				for (int id : node.byStart) {
+					report(id, queryDays, day, found);
+				}
+				search(node.left, startTime, endTime, queryDays, day, found);
+				node = node.right;
+			}
+		}
+	}
+
+	/**
+	 * Adds the id of a course found in the given day's tree, unless it will also be found in the
+	 *     tree of an earlier day of the query.
+	 * @param id the id of the course
+	 * @param queryDays the query's days, as bits of DAYS
+	 * @param day the tree's day, as a bit of DAYS
+	 * @param found the ids found so far
+	 */
+	private void report(int id, int queryDays, int day, IdList found) {
+		if (Integer.lowestOneBit(dayBits[id] & queryDays) == day) {
+			found.add(id);
+		}
+	}
+
+	/**
+	 * Builds a tree of the courses with the given ids.
+	 * @param ids ids of the courses, by start time
+	 * @return the root of the tree, or null if there are no ids
+	 */
+	private Node build(int[] ids) {
+		if (ids.length == 0) {
+			return null;
+		}
+		int center = startTimes[ids[ids.length / 2]];
+		int leftCount = 0;
+		int rightCount = 0;
+		for (int id : ids) {
+			if (endTimes[id] < center) {
+				leftCount++;
+			} else if (startTimes[id] > center) {
+				rightCount++;
+			}
+		}
+		int[] left = new int[leftCount];
+		int[] right = new int[rightCount];
+		int[] byStart = new int[ids.length - leftCount - rightCount];
+		leftCount = 0;
+		rightCount = 0;
+		int middleCount = 0;
+		for (int id : ids) {
+			if (endTimes[id] < center) {
+				left[leftCount++] = id;
+			} else if (startTimes[id] > center) {
+				right[rightCount++] = id;
+			} else {
+				byStart[middleCount++] = id;
+			}
+		}
+
+		Integer[] order = new Integer[byStart.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = byStart[i];
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(endTimes[b], endTimes[a]));
+		int[] byEnd = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			byEnd[i] = order[i];
+		}
+
+		Node node = new Node(center, byStart, byEnd);
+		node.left = build(left);
+		node.right = build(right);
+		return node;
+	}
+
+	/**
+	 * Returns the bits of DAYS for the days in the given meeting days. Other days, such as the
+	 *     "A" of an arranged course, have no bit.
+	 * @param meetingDays the meeting days
+	 * @return the days, as bits of DAYS
+	 */
+	private static int dayBits(String meetingDays) {
+		int bits = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int d = DAYS.indexOf(meetingDays.charAt(i));
+			if (d != -1) {
+				bits |= 1 << d;
+			}
+		}
+		return bits;
+	}
+
+	/**
+	 * A growable array of ids.
+	 */
+	private static final class IdList {
+		/** The ids */
+		private int[] ids = new int[16];
+		/** Number of ids */
+		private int size;
+
+		/**
+		 * Adds an id.
+		 * @param id the id
+		 */
+		private void add(int id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+
+		/**
+		 * Returns the ids added.
+		 * @return the ids
+		 */
+		private int[] toArray() {
+			return Arrays.copyOf(ids, size);
+		}
+	}
+}
@@ -17,6 +17,8 @@ public abstract class Activity implements Conflict {
 	private static final int UPPER_HOUR = 24;
 	/** The maximum minute */
 	private static final int UPPER_MINUTE = 60;
+	/** Bit in a day mask set for any meeting day that isn't a letter or digit */
+	private static final long OTHER_DAY = 1L << 62;
 	/** Activity's title. */
 	private String title;
 	/** Activity's meeting days */
@@ -25,6 +27,11 @@ public abstract class Activity implements Conflict {
 	private int startTime;
 	/** Activity's ending time */
 	private int endTime;
+	/**
+	 * Activity's meeting days as a bit mask, with a bit for each letter or digit it meets on,
+	 *     and none if it is arranged. Lets checkConflict() compare days with a single AND.
+	 */
+	private long dayMask;
 
 	/**
 	 * Constructs an Activity with the given parameters.
@@ -142,6 +149,41 @@ public abstract class Activity implements Conflict {
 		this.meetingDays = meetingDays;
 		this.startTime = startTime;
 		this.endTime = endTime;
+		this.dayMask = dayMask(meetingDays);
+	}
+	
+	/**
+	 * Returns the bit mask of the given meeting days, with bits 0-25 for 'A'-'Z', 26-51 for
+	 *     'a'-'z', 52-61 for '0'-'9', and OTHER_DAY for any other character. Arranged
+	 *     meeting days have no bits set.
+	 * @param meetingDays the meeting days
+	 * @return the meeting days' bit mask
+	 */
+	private static long dayMask(String meetingDays) {
+		if ("A".equals(meetingDays)) {
+			return 0;
+		}
+		long mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			mask |= dayBit(meetingDays.charAt(i));
+		}
+		return mask;
+	}
+	
+	/**
+	 * Returns the bit for the given meeting day in a day mask.
+	 * @param day the meeting day
+	 * @return the day's bit
+	 */
+	private static long dayBit(char day) {
+		if (day >= 'A' && day <= 'Z') {
+			return 1L << (day - 'A');
+		} else if (day >= 'a' && day <= 'z') {
+			return 1L << (day - 'a' + 26);
+		} else if (day >= '0' && day <= '9') {
+			return 1L << (day - '0' + 52);
+		}
+		return OTHER_DAY;
 	}
 
 	/**
@@ -195,31 +237,38 @@ public abstract class Activity implements Conflict {
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
 		
-		// If either of them are arranged, there can't be a conflict, just return.
-		if("A".equals(meetingDays) || "A".equals(possibleConflictingActivity.meetingDays)) return;
-		
 		// If they never share a day, then they are never going to overlap, return.
-		boolean dayOverlap = false;
-		for(int i = 0; i < meetingDays.length(); i++) {
-			char day = meetingDays.charAt(i);
-			if(possibleConflictingActivity.meetingDays.contains("" + day)) {
-				dayOverlap = true;
-				break;
-			}
-		}
-		if(!dayOverlap) return;
+		// Arranged activities have no days, so they never share one.
+		long sharedDays = dayMask & possibleConflictingActivity.dayMask;
+		if(sharedDays == 0) return;
+		if(sharedDays == OTHER_DAY && !shareOtherDay(possibleConflictingActivity)) return;
 		
-		// If both the start and end time for this Activity are less than the start time for the other, then it's not overlapping, just return.
-		if(startTime < possibleConflictingActivity.startTime && endTime < possibleConflictingActivity.startTime) return;
-		
-		// If both the start and end time for this Activity are greater than the end time for the other, then it's not overlapping, just return.
-		if(startTime > possibleConflictingActivity.endTime && endTime > possibleConflictingActivity.endTime) return;
+		// If this Activity ends before the other starts, or starts after the other ends, it's not overlapping, just return.
+		// Times that only touch at an end are overlapping.
+		if(endTime < possibleConflictingActivity.startTime) return;
+		if(startTime > possibleConflictingActivity.endTime) return;
 		
 		// Otherwise, it is overlapping somewhere, throw the exception.
 		throw new ConflictException();
 		
 	}
 
+	/**
+	 * Returns true if this Activity and the other share a meeting day that isn't a letter or digit,
+	 *     which the day masks can't tell apart.
+	 * @param other the other Activity
+	 * @return true if they share such a day
+	 */
+	private boolean shareOtherDay(Activity other) {
+		for(int i = 0; i < meetingDays.length(); i++) {
+			char day = meetingDays.charAt(i);
+			if(dayBit(day) == OTHER_DAY && other.meetingDays.indexOf(day) != -1) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Generates a hash code for the Activity.
 	 * @return The hash code for the Activity.
@@ -3,7 +3,7 @@ package edu.ncsu.csc216.pack_scheduler.course;
 import java.util.Objects;
 
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
-import edu.ncsu.csc216.pack_scheduler.course.validator.CourseNameValidator;
+import edu.ncsu.csc216.pack_scheduler.course.validator.CourseNameValidatorTable;
 import edu.ncsu.csc216.pack_scheduler.course.validator.InvalidTransitionException;
 
 /**
@@ -37,11 +37,15 @@ public class Course extends Activity implements Comparable<Course> {
 	final static int MIN_CREDITS = 1;
 	/** Maximum amount of credits a course can be*/
 	final static int MAX_CREDITS = 5;
-	/** Object to validate course names */
-	private CourseNameValidator validator;
-	
 	/** Object that stores the course roll **/
 	private CourseRoll roll;
+	/**
+	 * The short display array with the open seats it was built for, or null until it is next
+	 *     built. Cleared by the setters, and rebuilt when the roll's open seats change.
+	 */
+	private volatile ShortDisplay shortDisplay;
+	/** The long display array, or null until it is next built. Cleared by the setters. */
+	private volatile String[] longDisplay;
 	
 	/**
 	 * Constructs a Course object with all fields
@@ -100,14 +104,12 @@ public class Course extends Activity implements Comparable<Course> {
 	 */
 	private void setName(String name) throws IllegalArgumentException{
 		
-		validator = new CourseNameValidator();
-		
 		if(name == null || "".equals(name)) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 		
 		try {
-			if(validator.isValid(name)) {
+			if(CourseNameValidatorTable.getInstance().isValid(name)) {
 				this.name = name;
 			}
 			else {
@@ -153,6 +155,7 @@ public class Course extends Activity implements Comparable<Course> {
 		}
 		// Assume that section is valid, accept the section 
 		this.section = section;
+		clearDisplayArrays();
 	}
 
 	/**
@@ -176,6 +179,7 @@ public class Course extends Activity implements Comparable<Course> {
 		}
 		//Assume credits is valid, accept it
 		this.credits = credits;
+		clearDisplayArrays();
 	}
 
 	/**
@@ -197,6 +201,18 @@ public class Course extends Activity implements Comparable<Course> {
 			throw new IllegalArgumentException("Invalid instructor id.");
 		}
 		this.instructorId = instructorId;
+		clearDisplayArrays();
+	}
+	
+	/**
+	 * Sets the Course's title.
+	 * @param title The title to set.
+	 * @throws IllegalArgumentException if the parameter is invalid.
+	 */
+	@Override
+	public void setTitle(String title) {
+		super.setTitle(title);
+		clearDisplayArrays();
 	}
 	
 	/**
@@ -222,6 +238,7 @@ public class Course extends Activity implements Comparable<Course> {
 			// meetingDays is correct, and startTime and endTime should be set as 0
 			// The method should end after this
 			super.setMeetingDaysAndTime(meetingDays, startTime, endTime);
+			clearDisplayArrays();
 		}
 		else {
 			//weekCounter counts the number times each day is referenced. 
@@ -268,6 +285,7 @@ public class Course extends Activity implements Comparable<Course> {
 			}
 			//Everything should be valid, accept the inputs
 			super.setMeetingDaysAndTime(meetingDays, startTime, endTime);
+			clearDisplayArrays();
 		}
 	}
 
@@ -334,30 +352,51 @@ public class Course extends Activity implements Comparable<Course> {
 	}
 
 	/**
-	 * Returns this Course's name, section, title, and meeting times in a String array to be used in the UI.
-	 * @return An array of this Course's name, section, title, and meeting string.
+	 * Returns this Course's name, section, title, meeting times, and open seats in a String array to be used in the UI.
+	 *     The array is built once and returned again until a setter is called or the open seats change, so it
+	 *     must not be modified.
+	 * @return An array of this Course's name, section, title, meeting string, and open seats.
 	 */
 	@Override
 	public String[] getShortDisplayArray() {
-		String[] shortArray = new String[5];
-		shortArray[0] = name;
-		shortArray[1] = section;
-		shortArray[2] = getTitle();
-		shortArray[3] = getMeetingString();
-		shortArray[4] = String.valueOf(roll.getOpenSeats());
-		return shortArray;
+		int openSeats = roll.getOpenSeats();
+		ShortDisplay display = shortDisplay;
+		if (display == null || display.openSeats != openSeats) {
+			String[] shortArray = new String[5];
+			shortArray[0] = name;
+			shortArray[1] = section;
+			shortArray[2] = getTitle();
+			shortArray[3] = getMeetingString();
+			shortArray[4] = String.valueOf(openSeats);
+			display = new ShortDisplay(shortArray, openSeats);
+			shortDisplay = display;
+		}
+		return display.array;
 	}
 
 	/**
 	 * Returns this Course's name, section, title, credits, instructor, and meeting times in a String array to be used in the UI.
+	 *     The array is built once and returned again until a setter is called, so it must not be modified.
 	 * @return This Course's name, section, title, credits, instructor, and meeting string.
 	 */
 	@Override
 	public String[] getLongDisplayArray() {
-		String[] longArray = {getName(), getSection(), getTitle(), String.valueOf(getCredits()), getInstructorId(), getMeetingString(), ""};
+		String[] longArray = longDisplay;
+		if (longArray == null) {
+			longArray = new String[] {getName(), getSection(), getTitle(), String.valueOf(getCredits()), getInstructorId(), getMeetingString(), ""};
+			longDisplay = longArray;
+		}
 		return longArray;
 	}
 	
+	/**
+	 * Clears the display arrays, so they are built again with the Course's new fields.
+	 */
+	private void clearDisplayArrays() {
+		shortDisplay = null;
+		longDisplay = null;
+	}
+	
 	/**
 	 * Returns the course roll.
 	 * @return The course roll
@@ -381,5 +420,25 @@ public class Course extends Activity implements Comparable<Course> {
 		return 0;
 	}
 
-}
+	/**
+	 * A short display array with the number of open seats it shows, kept together so a thread
+	 *     never sees one without the other.
+	 */
+	private static final class ShortDisplay {
+		/** The short display array */
+		private final String[] array;
+		/** The open seats the array shows */
+		private final int openSeats;
 
+		/**
+		 * Constructs a ShortDisplay.
+		 * @param array the short display array
+		 * @param openSeats the open seats the array shows
+		 */
+		private ShortDisplay(String[] array, int openSeats) {
+			this.array = array;
+			this.openSeats = openSeats;
+		}
+	}
+
+}
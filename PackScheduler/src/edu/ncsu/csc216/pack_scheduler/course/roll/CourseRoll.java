@@ -1,15 +1,29 @@
 package edu.ncsu.csc216.pack_scheduler.course.roll;
 
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedAbstractList;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedQueue;
 
 /**
  * Represents the roll of students in a Course. Has a minimum and maximum Course size,
  *     a list of Student objects, and a capacity of students for this specific Course.
  *     Students can be enrolled or dropped, and the number of open seats can be accessed.
  * 
+ * A CourseRoll is not thread-safe by itself. Code that changes a roll from more than one
+ *     thread must hold the roll's lock while doing so. The number of open seats and the number
+ *     on the waitlist are kept in a single atomic counter, so they can be read from any thread
+ *     without the lock, and a seat or waitlist spot is reserved with a compare-and-set.
+ * 
+ * The roll and waitlist are hash sets that keep the order Students were added in, so checking
+ *     whether a Student is enrolled or waiting, and dropping them, take constant time, while the
+ *     waitlist is still promoted first come, first served. The sets hash each Student by their
+ *     id, which never changes, and match them with equals() when looked up, so a Student whose
+ *     name, email, password, or max credits change while they are in a roll is still found.
+ * 
  * @author Joey Hughes, Sam McDonald, Winston Cheaz, Warren Long
  */
 public class CourseRoll {
@@ -20,18 +34,33 @@ public class CourseRoll {
 	/** The largest class size for a Course */
 	private static final int MAX_ENROLLMENT = 250;
 	
-	/** The Linked List of Students in the Course */
-	private LinkedAbstractList<Student> roll;
+	/** The number of Students that fit on the waitlist */
+	private static final int WAITLIST_SIZE = 10;
+	
+	/** One Student in the roll, in the occupancy counter */
+	private static final long ONE_ENROLLED = 1L << 32;
+	
+	/** One Student on the waitlist, in the occupancy counter */
+	private static final long ONE_WAITING = 1L;
+	
+	/** The Students in the Course, in the order they were enrolled */
+	private LinkedHashSet<Entry> roll;
 	
 	/** The enrollment capacity of the Course */
-	private int enrollmentCap;
+	private volatile int enrollmentCap;
+	
+	/** The number of Students in the roll in the high 32 bits, and on the waitlist in the low 32 bits */
+	private final AtomicLong occupancy = new AtomicLong();
 	
-	/** The waitlist LinkedQueue of Students. If a student tries to enroll into a full roll, they are placed in the waitlist queue. */
-	private LinkedQueue<Student> waitlist;
+	/** The waitlist of Students, in the order they joined it. If a student tries to enroll into a full roll, they are placed at the back of the waitlist. */
+	private LinkedHashSet<Entry> waitlist;
 	
 	/** The course that this is a roll for. */
 	private Course course;
 	
+	/** The lock held while enrolling in or dropping from this roll. */
+	private final ReentrantLock lock = new ReentrantLock();
+	
 	/**
 	 * Constructs a CourseRoll with the given enrollment capacity
 	 * @param enrollmentCap The enrollment capacity to assign this roll.
@@ -42,17 +71,56 @@ public class CourseRoll {
 		if (c == null) {
 			throw new IllegalArgumentException("Invalid course");
 		}
-		this.waitlist = new LinkedQueue<Student>(10);
+		this.waitlist = new LinkedHashSet<Entry>();
 		this.course = c;
 		setEnrollmentCap(enrollmentCap);
-		roll = new LinkedAbstractList<Student>(this.enrollmentCap);
+		roll = new LinkedHashSet<Entry>();
+	}
+	/**
+	 * Returns the lock that must be held while changing this roll, and the Schedules of the
+	 *     Students being enrolled, dropped, or moved off the waitlist, from more than one thread.
+	 * @return the roll's lock
+	 */
+	public ReentrantLock getLock() {
+		return lock;
+	}
+	
+	/**
+	 * Returns the Student at the front of the waitlist, who will be moved into the roll
+	 *     when a Student in the roll drops, without removing them from the waitlist.
+	 * @return the first Student on the waitlist, or null if the waitlist is empty
+	 */
+	public Student getNextOnWaitlist() {
+		if (waitlist.isEmpty()) {
+			return null;
+		}
+		return waitlist.iterator().next().student;
+	}
+	
+	/**
+	 * Returns the Students in the roll, in the order they were enrolled. The roll's lock must
+	 *     be held if it may be changed by another thread.
+	 * @return a copy of the roll
+	 */
+	public Student[] getEnrolledStudents() {
+		return students(roll);
 	}
+	
+	/**
+	 * Returns the Students on the waitlist, in the order they joined it. The roll's lock must
+	 *     be held if it may be changed by another thread.
+	 * @return a copy of the waitlist
+	 */
+	public Student[] getWaitlistedStudents() {
+		return students(waitlist);
+	}
+	
 	/**
 	 * gets the number of students on the waitlist
 	 * @return the number of students on the waitlist
 	 */
 	public int getNumberOnWaitlist() {
-		return waitlist.size();
+		return waiting(occupancy.get());
 	}
 	/**
 	 * Returns the enrollment capacity of this CourseRoll.
@@ -74,11 +142,10 @@ public class CourseRoll {
 			throw new IllegalArgumentException("Invalid enrollment capacity.");
 		}
 		if(roll != null) {
-			if(newEnrollmentCap < roll.size()) {
+			if(newEnrollmentCap < enrolled(occupancy.get())) {
 				throw new IllegalArgumentException("Enrollment capacity cannot be less than roll size.");
 			}
 			this.enrollmentCap = newEnrollmentCap;
-			roll.setCapacity(enrollmentCap);
 		} else {
 			this.enrollmentCap = newEnrollmentCap;
 		}
@@ -87,11 +154,8 @@ public class CourseRoll {
 	/**
 	 * Enrolls the given Student into the CourseRoll and adds them to the list.
 	 * 
-	 * If the CourseRoll has reached capacity, the Student should be added to the
-	 * waitlist. That is one reason why roll.add(s) (which is really a call to
-	 * LinkedAbstractList.add()) might throw an IllegalArgumentException. If the
-	 * size of the roll is the same as enrollmentCap attempt to add the student to
-	 * waitlist.
+	 * If the CourseRoll has reached capacity, the Student is added to the back of
+	 * the waitlist instead.
 	 * 
 	 * If the waitlist is full, then the Student cannot enroll and an
 	 * IllegalArgumentException is thrown.
@@ -104,11 +168,39 @@ public class CourseRoll {
 		if(newStudent == null || !canEnroll(newStudent)) {
 			throw new IllegalArgumentException("Student cannot be enrolled.");
 		}
-		// this might not work
+		long reserved = reserve();
 		try {
-			roll.add(newStudent);
-		} catch (Exception e) {
-			waitlist.enqueue(newStudent);
+			if (reserved == ONE_ENROLLED) {
+				roll.add(new Entry(newStudent));
+			} else {
+				waitlist.add(new Entry(newStudent));
+			}
+		} catch (RuntimeException e) {
+			occupancy.addAndGet(-reserved);
+			throw new IllegalArgumentException("Student cannot be enrolled.");
+		}
+	}
+	
+	/**
+	 * Reserves a seat in the roll if one is open, or else a spot on the waitlist, by
+	 *     updating the occupancy counter with a compare-and-set.
+	 * @return ONE_ENROLLED if a seat was reserved, or ONE_WAITING if a waitlist spot was
+	 * @throws IllegalArgumentException if the roll and waitlist are both full
+	 */
+	private long reserve() {
+		while (true) {
+			long current = occupancy.get();
+			long reserved;
+			if (enrolled(current) < enrollmentCap) {
+				reserved = ONE_ENROLLED;
+			} else if (waiting(current) < WAITLIST_SIZE) {
+				reserved = ONE_WAITING;
+			} else {
+				throw new IllegalArgumentException("Student cannot be enrolled.");
+			}
+			if (occupancy.compareAndSet(current, current + reserved)) {
+				return reserved;
+			}
 		}
 	}
 	
@@ -119,8 +211,7 @@ public class CourseRoll {
 	 * eligible Student in the waitlist to the main roll.
 	 * 
 	 * If the Student is in the waitlist, remove the Student from the waitlist while
-	 * maintaining the order of the waitlist and working with the specialized data
-	 * structure methods.
+	 * maintaining the order of the waitlist.
 	 * 
 	 * @param newStudent The student to remove from the roll.
 	 * @throws IllegalArgumentException if the student is null or cannot be removed.
@@ -130,52 +221,49 @@ public class CourseRoll {
 			throw new IllegalArgumentException("Student is null");
 		}
 		
-		boolean inWaitlist = false;
-		for (int i = 0; i < waitlist.size(); i++) {
-			// need replace element that was removed
-			Student replace = waitlist.dequeue();
-			waitlist.enqueue(replace);
-			if (newStudent.equals(replace)) {
-				inWaitlist = true;
-			}
-		}
-		// if not in waitlist or roll, it does not drop
-		if (roll.indexOf(newStudent) == -1 && !inWaitlist) {
-			return;
-		}
-		if (roll.indexOf(newStudent) != -1) {
-			roll.remove(roll.indexOf(newStudent));
+		// The counter is changed once, after the sets, so it never shows a seat open mid-drop
+		long change = 0;
+		Entry entry = new Entry(newStudent);
+		if (roll.remove(entry)) {
+			change -= ONE_ENROLLED;
 			// adds first student in waitlist 
-			Student wait = null;
-			if (waitlist.size() > 0) {
-				wait = waitlist.dequeue();
+			if (!waitlist.isEmpty()) {
+				Iterator<Entry> next = waitlist.iterator();
+				Entry waiting = next.next();
+				next.remove();
+				roll.add(waiting);
+				Student wait = waiting.student;
+				change += ONE_ENROLLED - ONE_WAITING;
 				try {
-					roll.add(wait);
 					wait.getSchedule().addCourseToSchedule(course);
 				} catch (Exception e) {
 					// do nothing;
 				}
 			}
+		} else if (waitlist.remove(entry)) {
+			change -= ONE_WAITING;
 		}
-		if (inWaitlist) {
-			// remove from the waitlist 
-			for (int i = 0; i < waitlist.size(); i++) {
-				// need replace element that was removed
-				// unless it is element we want removed
-				Student replace = waitlist.dequeue();
-				if (!newStudent.equals(replace)) {
-					waitlist.enqueue(replace);
-				}
-			}
-		}
+		occupancy.addAndGet(change);
 	}
 	
 	/**
-	 * Returns the number of open seats in the class.
+	 * Returns the number of open seats in the class. Can be called from any thread without
+	 *     holding the roll's lock.
 	 * @return The number of open seats in the class.
 	 */
 	public int getOpenSeats() {
-		return enrollmentCap - roll.size();
+		return enrollmentCap - enrolled(occupancy.get());
+	}
+	
+	/**
+	 * Returns true if there is an open seat in the class or an open spot on its waitlist. Can be
+	 *     called from any thread without holding the roll's lock, to quickly turn away Students
+	 *     from a class that is full.
+	 * @return true if another Student could be enrolled or waitlisted.
+	 */
+	public boolean hasRoom() {
+		long current = occupancy.get();
+		return enrolled(current) < enrollmentCap || waiting(current) < WAITLIST_SIZE;
 	}
 	
 	/**
@@ -187,15 +275,74 @@ public class CourseRoll {
 		if (newStudent == null) {
 			return false;
 		}
-		for (int i = 0; i < waitlist.size(); i++) {
-			// need replace element that was removed
-			Student replace = waitlist.dequeue();
-			waitlist.enqueue(replace);
-			if (newStudent.equals(replace)) {
-				return false;
-			}
+		Entry entry = new Entry(newStudent);
+		return hasRoom() && !waitlist.contains(entry) && !roll.contains(entry);
+	}
+	
+	/**
+	 * Returns the number of Students in the roll from an occupancy counter value.
+	 * @param occupancy the counter value
+	 * @return the number enrolled
+	 */
+	private static int enrolled(long occupancy) {
+		return (int) (occupancy >>> 32);
+	}
+	
+	/**
+	 * Returns the number of Students on the waitlist from an occupancy counter value.
+	 * @param occupancy the counter value
+	 * @return the number waiting
+	 */
+	private static int waiting(long occupancy) {
+		return (int) occupancy;
+	}
+
+	/**
+	 * Returns the Students in the given set, in order.
+	 * @param entries the set
+	 * @return the Students
+	 */
+	private static Student[] students(LinkedHashSet<Entry> entries) {
+		Student[] students = new Student[entries.size()];
+		int i = 0;
+		for (Entry entry : entries) {
+			students[i++] = entry.student;
+		}
+		return students;
+	}
+	
+	/**
+	 * A Student in a roll or waitlist, hashed by their id and matched by Student.equals().
+	 */
+	private static final class Entry {
+		/** The Student */
+		private final Student student;
+		
+		/**
+		 * Constructs an entry for the given Student.
+		 * @param student the Student
+		 */
+		private Entry(Student student) {
+			this.student = student;
+		}
+		
+		/**
+		 * Hashes the Student's id, which does not change while they are in a roll.
+		 * @return the hash code
+		 */
+		@Override
+		public int hashCode() {
+			return student.getId() == null ? 0 : student.getId().hashCode();
+		}
+		
+		/**
+		 * Returns true if the other entry holds an equal Student.
+		 * @param obj the other entry
+		 * @return true if the Students are equal
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Entry && student.equals(((Entry) obj).student);
 		}
-		return !(roll.size() + waitlist.size() >= enrollmentCap + 10) && !roll.contains(newStudent);
 	}
 }
-
@@ -0,0 +1,201 @@
+package edu.ncsu.csc216.pack_scheduler.course.validator;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Table driven implementation of the course name FSM, which CourseNameValidator and
+ *     CourseNameValidatorFSM delegate to. The course name must match the following format:
+ *     (1-4 letters)(3 digits)(optionally, a 1 letter suffix)
+ *
+ * Each character is sorted into a letter, digit, or other class, and the next state is looked
+ *     up in a table indexed by the current state and that class. Entries below zero are the
+ *     invalid transitions, and index the message they throw. The tables are built once and never changed, and isValid() keeps its
+ *     state in local variables, so the one shared instance can be used by any number of threads.
+ *
+ * @author David Mond
+ */
+public final class CourseNameValidatorTable {
+
+	/** Class of a letter */
+	private static final int LETTER = 0;
+	/** Class of a digit */
+	private static final int DIGIT = 1;
+	/** Class of any other character */
+	private static final int OTHER = 2;
+	/** Number of character classes */
+	private static final int CLASSES = 3;
+
+	/** Initial state before input is examined */
+	private static final int STATE_INITIAL = 0;
+	/** State at which four letters have been identified */
+	private static final int STATE_LLLL = 4;
+	/** State at which one digit has been identified */
+	private static final int STATE_D = 5;
+	/** State at which three digits have been identified */
+	private static final int STATE_DDD = 7;
+	/** State at which a suffix letter has been identified */
+	private static final int STATE_SUFFIX = 8;
+	/** Number of states */
+	private static final int STATES = 9;
+
+	/** Messages of the invalid transitions, where transition -1 - i throws message i */
+	private static final String[] MESSAGES = {
+		"Course name can only contain letters and digits.",
+		"Course name must start with a letter.",
+		"Course name cannot start with more than 4 letters.",
+		"Course name must have 3 digits.",
+		"Course name can only have 3 digits.",
+		"Course name can only have a 1 letter suffix.",
+		"Course name cannot contain digits after the suffix."
+	};
+	/** Transition on a character that is not a letter or digit */
+	private static final byte NOT_ALPHANUMERIC = -1;
+	/** Transition on a digit before any letter */
+	private static final byte NO_LETTER = -2;
+	/** Transition on a fifth letter */
+	private static final byte TOO_MANY_LETTERS = -3;
+	/** Transition on a letter after one or two digits */
+	private static final byte TOO_FEW_DIGITS = -4;
+	/** Transition on a fourth digit */
+	private static final byte TOO_MANY_DIGITS = -5;
+	/** Transition on a second suffix letter */
+	private static final byte LONG_SUFFIX = -6;
+	/** Transition on a digit after the suffix */
+	private static final byte DIGIT_AFTER_SUFFIX = -7;
+
+	/** Next state, or invalid transition, at index state * CLASSES + class */
+	private static final byte[] TRANSITIONS = buildTransitions();
+	/** Class of each ASCII character. Other characters are classed by Character.isLetter() and isDigit(). */
+	private static final byte[] ASCII_CLASSES = buildAsciiClasses();
+
+	/** The one instance */
+	private static final CourseNameValidatorTable INSTANCE = new CourseNameValidatorTable();
+
+	/**
+	 * The validator has no state of its own, so the one instance is shared.
+	 */
+	private CourseNameValidatorTable() {
+	}
+
+	/**
+	 * Returns the shared validator.
+	 * @return the validator
+	 */
+	public static CourseNameValidatorTable getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns true if the course name is valid.
+	 * @param courseName the name of the course
+	 * @return true if the course name is valid, or false if it ends before its third digit
+	 * @throws InvalidTransitionException when the FSM attempts an invalid transition
+	 */
+	public boolean isValid(String courseName) throws InvalidTransitionException {
+		int state = run(courseName);
+		if (state < 0) {
+			throw new InvalidTransitionException(MESSAGES[-1 - state]);
+		}
+		return state == STATE_DDD || state == STATE_SUFFIX;
+	}
+
+	/**
+	 * Validates every name of a bulk import at once, without an exception for each invalid name.
+	 * @param courseNames the names to check
+	 * @return the indexes of the valid names. Null and invalid names are not set.
+	 */
+	public BitSet validateAll(List<String> courseNames) {
+		BitSet valid = new BitSet(courseNames.size());
+		int i = 0;
+		for (String courseName : courseNames) {
+			if (courseName != null) {
+				int state = run(courseName);
+				if (state == STATE_DDD || state == STATE_SUFFIX) {
+					valid.set(i);
+				}
+			}
+			i++;
+		}
+		return valid;
+	}
+
+	/**
+	 * Runs the FSM over the course name.
+	 * @param courseName the name of the course
+	 * @return the final state, or the invalid transition if one was attempted
+	 */
+	private static int run(String courseName) {
+		int state = STATE_INITIAL;
+		for (int i = 0; i < courseName.length(); i++) {
+			state = TRANSITIONS[state * CLASSES + charClass(courseName.charAt(i))];
+			if (state < 0) {
+				return state;
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Returns the class of the given character, a letter or digit as Character.isLetter() and
+	 *     isDigit() find.
+	 * @param c the character
+	 * @return LETTER, DIGIT, or OTHER
+	 */
+	private static int charClass(char c) {
+		if (c < ASCII_CLASSES.length) {
+			return ASCII_CLASSES[c];
+		}
+		if (Character.isLetter(c)) {
+			return LETTER;
+		}
+		return Character.isDigit(c) ? DIGIT : OTHER;
+	}
+
+	/**
+	 * Builds the transition table.
+	 * @return the transitions, indexed by state * CLASSES + class
+	 */
+	private static byte[] buildTransitions() {
+		byte[] transitions = new byte[STATES * CLASSES];
+		for (int state = 0; state < STATES; state++) {
+			transitions[state * CLASSES + OTHER] = NOT_ALPHANUMERIC;
+		}
+		// States 0-4 count the letters of the prefix
+		for (int state = STATE_INITIAL; state < STATE_LLLL; state++) {
+			transitions[state * CLASSES + LETTER] = (byte) (state + 1);
+			transitions[state * CLASSES + DIGIT] = (byte) STATE_D;
+		}
+		transitions[STATE_INITIAL * CLASSES + DIGIT] = NO_LETTER;
+		transitions[STATE_LLLL * CLASSES + LETTER] = TOO_MANY_LETTERS;
+		transitions[STATE_LLLL * CLASSES + DIGIT] = (byte) STATE_D;
+		// States 5-7 count the digits
+		for (int state = STATE_D; state < STATE_DDD; state++) {
+			transitions[state * CLASSES + LETTER] = TOO_FEW_DIGITS;
+			transitions[state * CLASSES + DIGIT] = (byte) (state + 1);
+		}
+		transitions[STATE_DDD * CLASSES + LETTER] = (byte) STATE_SUFFIX;
+		transitions[STATE_DDD * CLASSES + DIGIT] = TOO_MANY_DIGITS;
+		transitions[STATE_SUFFIX * CLASSES + LETTER] = LONG_SUFFIX;
+		transitions[STATE_SUFFIX * CLASSES + DIGIT] = DIGIT_AFTER_SUFFIX;
+		return transitions;
+	}
+
+	/**
+	 * Builds the class of each ASCII character.
+	 * @return the classes, indexed by character
+	 */
+	private static byte[] buildAsciiClasses() {
+		byte[] classes = new byte[128];
+		for (char c = 0; c < classes.length; c++) {
+			if (Character.isLetter(c)) {
+				classes[c] = LETTER;
+			} else if (Character.isDigit(c)) {
+				classes[c] = DIGIT;
+			} else {
+				classes[c] = OTHER;
+			}
+		}
+		return classes;
+	}
+}
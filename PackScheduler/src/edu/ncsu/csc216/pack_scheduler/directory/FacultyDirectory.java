@@ -2,14 +2,18 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.HashMap;
+import java.util.concurrent.CancellationException;
 
 import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.LoadProgress;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
 import edu.ncsu.csc216.pack_scheduler.user.User;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+import edu.ncsu.csc216.pack_scheduler.util.RowListenerList;
 
 /**
  * Maintains a directory of all faculty at NC State.
@@ -21,8 +25,11 @@ public class FacultyDirectory {
 	/** List of facultys in the directory */
 	private LinkedList<Faculty> facultyDirectory;
 	
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	/** Index of the faculty in the directory by id, for constant time lookups */
+	private HashMap<String, Faculty> facultyIndex;
+	
+	/** Listeners told about each row of getFacultyDirectory() that changes */
+	private final RowListenerList listeners = new RowListenerList();
 	
 	/**
 	 * Creates an empty faculty directory.
@@ -37,6 +44,8 @@ public class FacultyDirectory {
 	 */
 	public void newFacultyDirectory() {
 		this.facultyDirectory = new LinkedList<Faculty>();
+		this.facultyIndex = new HashMap<String, Faculty>();
+		listeners.fireRowsReplaced();
 	}
 	
 	/**
@@ -46,13 +55,44 @@ public class FacultyDirectory {
 	 * @param fileName file containing list of facultys
 	 */
 	public void loadFacultyFromFile(String fileName) {
+		loadFacultyFromFile(fileName, null);
+	}
+	
+	/**
+	 * Loads the faculty from the given file as loadFacultyFromFile(String) does, reporting to the given
+	 * progress as the file is read. The directory is only replaced once the whole file is read, so a
+	 * cancelled load leaves it as it was. Can be called off the Swing event thread.
+	 * @param fileName file to read faculty from
+	 * @param progress progress to report to, or null
+	 * @throws IllegalArgumentException if the file cannot be found or read from
+	 * @throws CancellationException if the progress is cancelled
+	 */
+	public void loadFacultyFromFile(String fileName, LoadProgress progress) {
 		try {
-			facultyDirectory = FacultyRecordIO.readFacultyRecords(fileName);
+			facultyDirectory = FacultyRecordIO.readFacultyRecords(fileName, progress);
+			rebuildIndex();
+			listeners.fireRowsReplaced();
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
 	}
 	
+	/**
+	 * Loads the faculty from a snapshot written by saveFacultySnapshot(), which is much faster than
+	 * loading the text records. The directory is only replaced if the whole snapshot is valid.
+	 * @param fileName snapshot file to read faculty from
+	 * @throws IllegalArgumentException if the file cannot be found or read, or is not a faculty snapshot
+	 */
+	public void loadFacultyFromSnapshot(String fileName) {
+		try {
+			facultyDirectory = SnapshotIO.readFacultySnapshot(fileName);
+			rebuildIndex();
+			listeners.fireRowsReplaced();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+	
 	/**
 	 * Adds a Faculty to the directory.  Returns true if the faculty is added and false if
 	 * the faculty is unable to be added because their id matches another faculty's id.
@@ -70,16 +110,11 @@ public class FacultyDirectory {
 	 * @throws IllegalArgumentException if any of the parameters are invalid, or there already is a faculty with the given ID.
 	 */
 	public boolean addFaculty(String firstName, String lastName, String id, String email, String password, String repeatPassword, int maxCredits) {
-		String hashPW = "";
-		String repeatHashPW = "";
 		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
 			throw new IllegalArgumentException("Invalid password");
 		}
 		
-		hashPW = hashString(password);
-		repeatHashPW = hashString(repeatPassword);
-		
-		if (!hashPW.equals(repeatHashPW)) {
+		if (!password.equals(repeatPassword)) {
 			throw new IllegalArgumentException("Passwords do not match");
 		}
 		
@@ -87,35 +122,20 @@ public class FacultyDirectory {
 		//to the GUI
 		Faculty faculty = null;
 
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			User s = facultyDirectory.get(i);
-			if (s.getId().equals(id)) {
-				//Has to throw an exception
-				throw new IllegalArgumentException("Invalid id");
-			}
+		if (facultyIndex.containsKey(id)) {
+			//Has to throw an exception
+			throw new IllegalArgumentException("Invalid id");
 		}
 		
+		String hashPW = PasswordHasher.hash(password);
 		// this might be wrong
 		faculty = new Faculty(firstName, lastName, id, email, hashPW, maxCredits);
 
-		return facultyDirectory.add(faculty);
-	}
-	
-	/**
-	 * Hashes a String according to the SHA-256 algorithm, and outputs the digest in base64 encoding.
-	 * This allows the encoded digest to be safely copied, as it only uses [a-zA-Z0-9+/=].
-	 * 
-	 * @param toHash the String to hash 
-	 * @return the encoded digest of the hash algorithm in base64
-	 */
-	private static String hashString(String toHash) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(toHash.getBytes());
-			return Base64.getEncoder().encodeToString(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
-		}
+		facultyDirectory.add(faculty);
+		facultyIndex.put(faculty.getId(), faculty);
+		// New faculty go at the end of the directory
+		listeners.fireRowInserted(facultyDirectory.size() - 1, directoryRow(faculty));
+		return true;
 	}
 	
 	/**
@@ -125,14 +145,43 @@ public class FacultyDirectory {
 	 * @return true if removed, false otherwise.
 	 */
 	public boolean removeFaculty(String facultyId) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			User s = facultyDirectory.get(i);
-			if (s.getId().equals(facultyId)) {
-				facultyDirectory.remove(i);
-				return true;
-			}
+		Faculty f = facultyIndex.remove(facultyId);
+		if (f == null) {
+			return false;
+		}
+		int index = facultyDirectory.indexOf(f);
+		facultyDirectory.remove(index);
+		listeners.fireRowRemoved(index);
+		return true;
+	}
+	
+	/**
+	 * Adds a listener to be told about each row of getFacultyDirectory() that is inserted
+	 * or removed.
+	 * @param listener the listener to add
+	 */
+	public void addRowListener(RowListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Removes a listener added with addRowListener().
+	 * @param listener the listener to remove
+	 */
+	public void removeRowListener(RowListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Rebuilds the id index from the faculty currently in the directory. The
+	 * new index replaces the old one only once it is complete.
+	 */
+	private void rebuildIndex() {
+		HashMap<String, Faculty> index = new HashMap<String, Faculty>();
+		for (Faculty f : facultyDirectory) {
+			index.put(f.getId(), f);
 		}
-		return false;
+		facultyIndex = index;
 	}
 	
 	/**
@@ -140,16 +189,24 @@ public class FacultyDirectory {
 	 * @return String array containing facultys first name, last name, and id.
 	 */
 	public String[][] getFacultyDirectory() {
-		String [][] directory = new String[facultyDirectory.size()][3];
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			User s = facultyDirectory.get(i);
-			directory[i][0] = s.getFirstName();
-			directory[i][1] = s.getLastName();
-			directory[i][2] = s.getId();
+		String [][] directory = new String[facultyDirectory.size()][];
+		int i = 0;
+		for (User s : facultyDirectory) {
+			directory[i] = directoryRow(s);
+			i++;
 		}
 		return directory;
 	}
 	
+	/**
+	 * Returns the given user's row of getFacultyDirectory().
+	 * @param s the user
+	 * @return the user's first name, last name, and id
+	 */
+	private static String[] directoryRow(User s) {
+		return new String[] {s.getFirstName(), s.getLastName(), s.getId()};
+	}
+	
 	/**
 	 * Saves all facultys in the directory to a file.
 	 * @param fileName name of file to save facultys to.
@@ -163,17 +220,26 @@ public class FacultyDirectory {
 		}
 	}
 
+	/**
+	 * Saves all faculty in the directory to a snapshot file, which loadFacultyFromSnapshot() can load
+	 * much faster than the text records written by saveFacultyDirectory().
+	 * @param fileName name of file to save faculty to.
+	 * @throws IllegalArgumentException if the given file name cannot be written to.
+	 */
+	public void saveFacultySnapshot(String fileName) {
+		try {
+			SnapshotIO.writeFacultySnapshot(fileName, facultyDirectory);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		}
+	}
+
 	/**
 	 * Returns a Faculty given an id
 	 * @param id id of the Faculty to be found
 	 * @return A faculty if found, null if it can't find one
 	 */
 	public Faculty getFacultyById(String id) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			if (facultyDirectory.get(i).getId().equals(id)) {
-				return facultyDirectory.get(i);
-			}
-		}
-		return null;
+		return facultyIndex.get(id);
 	}
 }
@@ -2,13 +2,18 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.HashMap;
+import java.util.concurrent.CancellationException;
 
+import edu.ncsu.csc216.pack_scheduler.io.LoadProgress;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
 import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+import edu.ncsu.csc216.pack_scheduler.util.RowListenerList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -21,8 +26,10 @@ public class StudentDirectory {
 	
 	/** List of students in the directory */
 	private SortedList<Student> studentDirectory;
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	/** Index of the students in the directory by id, for constant time lookups */
+	private HashMap<String, Student> studentIndex;
+	/** Listeners told about each row of getStudentDirectory() that changes */
+	private final RowListenerList listeners = new RowListenerList();
 	
 	/**
 	 * Creates an empty student directory.
@@ -36,7 +43,9 @@ public class StudentDirectory {
 	 * list are list unless saved by the user.
 	 */
 	public void newStudentDirectory() {
-		this.studentDirectory = new SortedList<Student>();
+		this.studentDirectory = new SortedArrayList<Student>();
+		this.studentIndex = new HashMap<String, Student>();
+		listeners.fireRowsReplaced();
 	}
 	
 	/**
@@ -47,13 +56,44 @@ public class StudentDirectory {
 	 * @throws IllegalArgumentException if it is unable to read the file
 	 */
 	public void loadStudentsFromFile(String fileName) {
+		loadStudentsFromFile(fileName, null);
+	}
+	
+	/**
+	 * Loads the students from the given file as loadStudentsFromFile(String) does, reporting to the given
+	 * progress as the file is read. The directory is only replaced once the whole file is read, so a
+	 * cancelled load leaves it as it was. Can be called off the Swing event thread.
+	 * @param fileName file to read students from
+	 * @param progress progress to report to, or null
+	 * @throws IllegalArgumentException if the file cannot be found or read from
+	 * @throws CancellationException if the progress is cancelled
+	 */
+	public void loadStudentsFromFile(String fileName, LoadProgress progress) {
 		try {
-			studentDirectory = StudentRecordIO.readStudentRecords(fileName);
+			studentDirectory = StudentRecordIO.readStudentRecords(fileName, progress);
+			rebuildIndex();
+			listeners.fireRowsReplaced();
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
 	}
 	
+	/**
+	 * Loads the students from a snapshot written by saveStudentSnapshot(), which is much faster than
+	 * loading the text records. The directory is only replaced if the whole snapshot is valid.
+	 * @param fileName snapshot file to read students from
+	 * @throws IllegalArgumentException if the file cannot be found or read, or is not a student snapshot
+	 */
+	public void loadStudentsFromSnapshot(String fileName) {
+		try {
+			studentDirectory = SnapshotIO.readStudentSnapshot(fileName);
+			rebuildIndex();
+			listeners.fireRowsReplaced();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+	
 	/**
 	 * Adds a Student to the directory.  Returns true if the student is added and false if
 	 * the student is unable to be added because their id matches another student's id.
@@ -71,16 +111,11 @@ public class StudentDirectory {
 	 * @throws IllegalArgumentException if any of the parameters are invalid, or there already is a student with the given ID.
 	 */
 	public boolean addStudent(String firstName, String lastName, String id, String email, String password, String repeatPassword, int maxCredits) {
-		String hashPW = "";
-		String repeatHashPW = "";
 		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
 			throw new IllegalArgumentException("Invalid password");
 		}
 		
-		hashPW = hashString(password);
-		repeatHashPW = hashString(repeatPassword);
-		
-		if (!hashPW.equals(repeatHashPW)) {
+		if (!password.equals(repeatPassword)) {
 			throw new IllegalArgumentException("Passwords do not match");
 		}
 		
@@ -88,38 +123,23 @@ public class StudentDirectory {
 		//to the GUI
 		Student student = null;
 
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			User s = studentDirectory.get(i);
-			if (s.getId().equals(id)) {
-				//Has to throw an exception
-				throw new IllegalArgumentException("Invalid id");
-			}
+		if (studentIndex.containsKey(id)) {
+			//Has to throw an exception
+			throw new IllegalArgumentException("Invalid id");
 		}
 		
+		String hashPW = PasswordHasher.hash(password);
 		if (maxCredits < 3 || maxCredits > Student.MAX_CREDITS) {
 			student = new Student(firstName, lastName, id, email, hashPW);
 		} else {
 			student = new Student(firstName, lastName, id, email, hashPW, maxCredits);
 		}
-		return studentDirectory.add(student);
-	}
-	
-	/**
-	 * Hashes a String according to the SHA-256 algorithm, and outputs the digest in base64 encoding.
-	 * This allows the encoded digest to be safely copied, as it only uses [a-zA-Z0-9+/=].
-	 * 
-	 * @param toHash the String to hash 
-	 * @return the encoded digest of the hash algorithm in base64
-	 * @throws IllegalArgumentException if it cannot hash the password
-	 */
-	private static String hashString(String toHash) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(toHash.getBytes());
-			return Base64.getEncoder().encodeToString(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
+		studentDirectory.add(student);
+		studentIndex.put(student.getId(), student);
+		if (!listeners.isEmpty()) {
+			listeners.fireRowInserted(studentDirectory.indexOf(student), directoryRow(student));
 		}
+		return true;
 	}
 	
 	/**
@@ -129,14 +149,44 @@ public class StudentDirectory {
 	 * @return true if removed, false otherwise.
 	 */
 	public boolean removeStudent(String studentId) {
+		Student s = studentIndex.remove(studentId);
+		if (s == null) {
+			return false;
+		}
+		int index = studentDirectory.indexOf(s);
+		studentDirectory.remove(index);
+		listeners.fireRowRemoved(index);
+		return true;
+	}
+	
+	/**
+	 * Adds a listener to be told about each row of getStudentDirectory() that is inserted
+	 * or removed.
+	 * @param listener the listener to add
+	 */
+	public void addRowListener(RowListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Removes a listener added with addRowListener().
+	 * @param listener the listener to remove
+	 */
+	public void removeRowListener(RowListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Rebuilds the id index from the students currently in the directory. The
+	 * new index replaces the old one only once it is complete.
+	 */
+	private void rebuildIndex() {
+		HashMap<String, Student> index = new HashMap<String, Student>();
 		for (int i = 0; i < studentDirectory.size(); i++) {
-			User s = studentDirectory.get(i);
-			if (s.getId().equals(studentId)) {
-				studentDirectory.remove(i);
-				return true;
-			}
+			Student s = studentDirectory.get(i);
+			index.put(s.getId(), s);
 		}
-		return false;
+		studentIndex = index;
 	}
 	
 	/**
@@ -144,16 +194,22 @@ public class StudentDirectory {
 	 * @return String array containing students first name, last name, and id.
 	 */
 	public String[][] getStudentDirectory() {
-		String [][] directory = new String[studentDirectory.size()][3];
+		String [][] directory = new String[studentDirectory.size()][];
 		for (int i = 0; i < studentDirectory.size(); i++) {
-			User s = studentDirectory.get(i);
-			directory[i][0] = s.getFirstName();
-			directory[i][1] = s.getLastName();
-			directory[i][2] = s.getId();
+			directory[i] = directoryRow(studentDirectory.get(i));
 		}
 		return directory;
 	}
 	
+	/**
+	 * Returns the given user's row of getStudentDirectory().
+	 * @param s the user
+	 * @return the user's first name, last name, and id
+	 */
+	private static String[] directoryRow(User s) {
+		return new String[] {s.getFirstName(), s.getLastName(), s.getId()};
+	}
+	
 	/**
 	 * Saves all students in the directory to a file.
 	 * @param fileName name of file to save students to.
@@ -167,17 +223,26 @@ public class StudentDirectory {
 		}
 	}
 
+	/**
+	 * Saves all students in the directory to a snapshot file, which loadStudentsFromSnapshot() can load
+	 * much faster than the text records written by saveStudentDirectory().
+	 * @param fileName name of file to save students to.
+	 * @throws IllegalArgumentException if the given file name cannot be written to.
+	 */
+	public void saveStudentSnapshot(String fileName) {
+		try {
+			SnapshotIO.writeStudentSnapshot(fileName, studentDirectory);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		}
+	}
+
 	/**
 	 * Returns a Student given an id
 	 * @param id id of the Student to be found
 	 * @return A student if found, null if it can't find one
 	 */
 	public Student getStudentById(String id) {
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			if (studentDirectory.get(i).getId().equals(id)) {
-				return studentDirectory.get(i);
-			}
-		}
-		return null;
+		return studentIndex.get(id);
 	}
 }
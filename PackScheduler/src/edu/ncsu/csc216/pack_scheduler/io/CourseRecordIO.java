@@ -1,16 +1,19 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.concurrent.CancellationException;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -35,56 +38,86 @@ public class CourseRecordIO {
      * @throws FileNotFoundException if the file cannot be found or read
      */
 	public static SortedList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-	    Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
-	    SortedList<Course> courses = new SortedList<Course>(); //Create an empty array of Course objects
-	    while (fileReader.hasNextLine()) { //While we have more lines in the file
-	        try { //Attempt to do the following
-	            //Read the line, process it in readCourse, and get the object
-	            //If trying to construct a Course in readCourse() results in an exception, flow of control will transfer to the catch block, below
-	            Course course = readCourse(fileReader.nextLine()); 
-
-	            //Create a flag to see if the newly created Course is a duplicate of something already in the list  
-	            boolean duplicate = false;
-	            //Look at all the courses in our list
-	            for (int i = 0; i < courses.size(); i++) {
-	                //Get the course at index i
-	                Course current = courses.get(i);
-	                //Check if the name and section are the same
-	                if (course.getName().equals(current.getName()) &&
-	                        course.getSection().equals(current.getSection())) {
-	                    //It's a duplicate!
-	                    duplicate = true;
-	                    break; //We can break out of the loop, no need to continue searching
-	                }
+	    return readCourseRecords(fileName, null);
+	}
+	
+	/**
+	 * Reads course records from a file as readCourseRecords(String) does, reporting to the given
+	 * progress as it reads. Instructors are the faculty of the RegistrationManager.
+	 * @param fileName file to read Course records from
+	 * @param progress progress to report to, or null
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws CancellationException if the progress is cancelled
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, LoadProgress progress) throws FileNotFoundException {
+	    return readCourseRecords(fileName, progress, RegistrationManager.getInstance().getFacultyDirectory());
+	}
+	
+	/**
+	 * Reads course records from a file in two phases, giving the courses instructors from the given
+	 * faculty directory. First every line is parsed into a Course with no instructor, in parallel for
+	 * a large file, without touching any faculty. Then, in file order, the first course with each name
+	 * and section is given to the faculty with its instructor ID, looked up by id in the directory's
+	 * index, and kept if their FacultySchedule takes it. A later course with the same name and section
+	 * is ignored without being given to its instructor. A cancelled load stops in the first phase, so
+	 * it leaves the faculty as they were.
+	 * @param fileName file to read Course records from
+	 * @param progress progress to report to, or null
+	 * @param faculty directory of the instructors, or null to give no course an instructor
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws CancellationException if the progress is cancelled
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, LoadProgress progress, FacultyDirectory faculty)
+	        throws FileNotFoundException {
+	    //Phase one: parse every valid line with readCourse, in parallel for a large file, getting the courses back in file order
+	    List<ParsedCourse> staged = ParallelRecordReader.readRecords(fileName, progress, CourseRecordIO::readCourse);
+	    //Phase two: give the courses to their instructors, and sort them
+	    return SortedArrayList.fromUnsorted(assignInstructors(staged, faculty));
+	}
+	
+	/**
+	 * Gives each parsed course, in file order, to the faculty with its instructor ID, skipping any
+	 * course whose name and section were already kept, or that conflicts with its instructor's schedule.
+	 * @param staged the parsed courses, in file order
+	 * @param faculty directory of the instructors, or null to give no course an instructor
+	 * @return the courses kept, in file order
+	 */
+	private static ArrayList<Course> assignInstructors(List<ParsedCourse> staged, FacultyDirectory faculty) {
+	    ArrayList<Course> courses = new ArrayList<Course>(staged.size()); //Create an empty array of Course objects, sorted once they are all read
+	    HashSet<String> kept = new HashSet<String>(); //The name and section of every course kept so far
+	    for (ParsedCourse line : staged) {
+	        Course course = line.course;
+	        String key = course.getName() + "," + course.getSection();
+	        //Only the first course with a name and section is kept, so a later one is ignored
+	        if (kept.contains(key)) {
+	            continue;
+	        }
+	        Faculty instructor = faculty == null ? null : faculty.getFacultyById(line.instructorId);
+	        try {
+	            //Adding the course to their schedule updates the Course's instructor ID
+	            if (instructor != null) {
+	                instructor.getSchedule().addCourseToSchedule(course);
 	            }
-	            //If the course is NOT a duplicate
-	            if (!duplicate) {
-	                courses.add(course); //Add to the ArrayList!
-	            } //Otherwise ignore
+	            kept.add(key);
+	            courses.add(course); //Add to the ArrayList!
 	        } catch (IllegalArgumentException e) {
-	            //The line is invalid b/c we couldn't create a course, skip it!
+	            //The course can't be given to its instructor, skip it!
 	        }
 	    }
-	    //Close the Scanner b/c we're responsible with our file handles
-	    fileReader.close();
-	    //Return the ArrayList with all the courses we read!
 	    return courses;
 	}
 	
 	/**
-	 * Reads course string and returns a course object that defines the courses characteristics.
-	 *     The Course will have the given instructorID only if it is the ID of a faculty in the
-	 *     RegistrationManager. In that case, it will also be added to that Faculty's schedule.
-	 * @param nextLine nextLine input for the scanner to read the course string.
-	 * @return Course returns a course object for the inputed course string.
+	 * Reads course string and returns a course object that defines the courses characteristics,
+	 *     with no instructor yet, along with the instructor ID of the string. Changes nothing else,
+	 *     so many lines can be read at once.
+	 * @param courseReader reader positioned at the course string to read.
+	 * @return the Course for the inputed course string, and its instructor ID.
 	 * @throws IllegalArgumentException if the line cannot be read in as a Course.
 	 */
-    private static Course readCourse(String nextLine) {
-    	//create scanner
-		Scanner courseReader = new Scanner(nextLine);
-		//set , as delimiter
-		courseReader.useDelimiter(",");
-		
+    private static ParsedCourse readCourse(RecordReader courseReader) {
 		try {
 			// store each token in a local variable
 			String courseName = courseReader.next();
@@ -102,11 +135,9 @@ public class CourseRecordIO {
 			if("A".equals(courseMeetingDays)) {
 				//if there is a time listed, throw exception
 				if(courseReader.hasNext()) {
-					courseReader.close();
 					throw new IllegalArgumentException("Too many tokens.");
 				}
 				else {
-					courseReader.close();
 					//course constructor without times
 					newCourse = new Course(courseName, courseTitle, courseSection, courseCredits, null, courseEnrollmentCap, courseMeetingDays);
 				}
@@ -118,44 +149,76 @@ public class CourseRecordIO {
 				
 				//if too many tokens, throw exception
 				if(courseReader.hasNext()) {
-					courseReader.close();
 					throw new IllegalArgumentException("Too many tokens.");
 				}
-				courseReader.close();
 				//course constructor with times
 				newCourse = new Course(courseName, courseTitle, courseSection, courseCredits, null, courseEnrollmentCap, courseMeetingDays, courseStartTime, courseEndTime);
 			}
 			
-			// Check if there is a faculty with the given ID, if there is, add the course to their schedule
-			//     The adding of the course to their schedule will update the Course's instructor ID
-			Faculty givenFaculty = RegistrationManager.getInstance().getFacultyDirectory().getFacultyById(courseInstructorId);
-			if(givenFaculty != null) {
-				givenFaculty.getSchedule().addCourseToSchedule(newCourse);
-			}
-			
-			return newCourse;
+			return new ParsedCourse(newCourse, courseInstructorId);
 		}
 		//throw IAE if NoSuchElementException
 		catch(NoSuchElementException e) {
-			courseReader.close();
 			throw new IllegalArgumentException("IllegalArgumentException.");
 		}
     }
 
 	/**
-     * Writes the given list of Courses to 
+     * Writes the given list of Courses to the given file, one Course's toString() per line. The
+     *     file is only replaced once every Course is written, so a failed save leaves the old file.
      * @param fileName file to write schedule of Courses to
      * @param courses list of Courses to write
      * @throws IOException if cannot write to file
      */
     public static void writeCourseRecords(String fileName, SortedList<Course> courses) throws IOException {
-    	PrintStream fileWriter = new PrintStream(new File(fileName));
-
-    	for (int i = 0; i < courses.size(); i++) {
-    	    fileWriter.println(courses.get(i).toString());
+    	try (RecordWriter fileWriter = new RecordWriter(fileName)) {
+    	    for (int i = 0; i < courses.size(); i++) {
+    	        writeCourse(fileWriter, courses.get(i));
+    	    }
+    	    fileWriter.commit();
     	}
+    }
 
-    	fileWriter.close();
+    /**
+     * Writes a Course as a record, with the same fields as its toString().
+     * @param fileWriter writer of the records
+     * @param course the Course to write
+     * @throws IOException if cannot write to file
+     */
+    private static void writeCourse(RecordWriter fileWriter, Course course) throws IOException {
+    	fileWriter.field(course.getName());
+    	fileWriter.field(course.getTitle());
+    	fileWriter.field(course.getSection());
+    	fileWriter.field(course.getCredits());
+    	fileWriter.field(course.getInstructorId());
+    	fileWriter.field(course.getCourseRoll().getEnrollmentCap());
+    	fileWriter.field(course.getMeetingDays());
+    	if (!"A".equals(course.getMeetingDays())) {
+    	    fileWriter.field(course.getStartTime());
+    	    fileWriter.field(course.getEndTime());
+    	}
+    	fileWriter.endRecord();
     }
 
-}
\ No newline at end of file
+
+    /**
+     * A Course read from a line, and the instructor ID of the line, which it is not given until
+     *     every line is parsed and back in file order.
+     */
+    private static class ParsedCourse {
+    	/** The Course, with no instructor */
+    	private final Course course;
+    	/** The instructor ID of the line */
+    	private final String instructorId;
+
+    	/**
+    	 * Constructs a parsed course.
+    	 * @param course the Course, with no instructor
+    	 * @param instructorId the instructor ID of the line
+    	 */
+    	ParsedCourse(Course course, String instructorId) {
+    		this.course = course;
+    		this.instructorId = instructorId;
+    	}
+    }
+}
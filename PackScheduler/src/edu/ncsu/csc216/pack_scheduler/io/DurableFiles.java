@@ -0,0 +1,47 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces files so that a crash leaves either the whole old file or the whole new one. The new
+ *     contents are written and forced to a temporary file beside the target, which is then
+ *     renamed over the target in one step, and the rename itself is forced to the disk.
+ *
+ * @author David Mond
+ */
+public class DurableFiles {
+
+	/**
+	 * Renames a temporary file, already forced to the disk, over the target in one step, and
+	 *     forces the rename to the disk. There is no fallback to a rename that is not atomic,
+	 *     which could leave a partly replaced target, so the replacement fails instead.
+	 * @param temp the temporary file, in the same directory as the target
+	 * @param target the file to replace
+	 * @throws AtomicMoveNotSupportedException if the file system cannot rename atomically, in
+	 *     which case the target is unchanged
+	 * @throws IOException if the file cannot be renamed, in which case the target is unchanged
+	 */
+	public static void replace(Path temp, Path target) throws IOException {
+		Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		forceDirectory(target.toAbsolutePath().getParent());
+	}
+
+	/**
+	 * Forces the renames and deletions in a directory to the disk, where the directory can be
+	 *     opened to do so.
+	 * @param directory the directory
+	 */
+	public static void forceDirectory(Path directory) {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			// Some systems, such as Windows, cannot open a directory. The rename is still atomic.
+		}
+	}
+}
@@ -1,14 +1,14 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.Scanner;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
-import edu.ncsu.csc216.pack_scheduler.user.User;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
 /**
  * Class with static methods for reading and writing faculty records to files.
@@ -25,37 +25,32 @@ public class FacultyRecordIO {
      * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static LinkedList<Faculty> readFacultyRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
-		LinkedList<Faculty> facultys = new LinkedList<Faculty>(); //Create an empty array of Faculty objects
-	    while (fileReader.hasNextLine()) { //While we have more lines in the file
-	        try { //Attempt to do the following
-	            //Read the line, process it in readFaculty, and get the object
-	            //If trying to construct a Faculty in readFaculty() results in an exception, flow of control will transfer to the catch block, below
-	        	Faculty faculty = readFaculty(fileReader.nextLine()); 
-	            //Create a flag to see if the newly created Faculty is a duplicate of something already in the list  
-	            boolean duplicate = false;
-	            //Look at all the courses in our list
-	            for (int i = 0; i < facultys.size(); i++) {
-	                //Get the course at index i
-	            	User current = facultys.get(i);
-	                //Check if the first and last names are the same
-	                if (faculty.getId().equals(current.getId())) {
-	                    //It's a duplicate!
-	                    duplicate = true;
-	                    break; //We can break out of the loop, no need to continue searching
-	                }
-	            }
-	            //If the Faculty is NOT a duplicate
-	            if (!duplicate) {
-	            	facultys.add(faculty); //Add to the SortedList!
-	            } //Otherwise ignore
-	        } catch (IllegalArgumentException e) {
-	            //The line is invalid b/c we couldn't create a course, skip it!
-	        }
+		return readFacultyRecords(fileName, null);
+	}
+	
+    /**
+     * Reads faculty records from a file as readFacultyRecords(String) does, reporting to the given
+     * progress as it reads.
+     * @param fileName file to read Faculty details from
+     * @param progress progress to report to, or null
+     * @return a list of valid Facultys
+     * @throws FileNotFoundException if the file cannot be found or read
+     * @throws CancellationException if the progress is cancelled
+	 */
+	public static LinkedList<Faculty> readFacultyRecords(String fileName, LoadProgress progress) throws FileNotFoundException {
+		//Parse every valid line with readFaculty, in parallel for a large file, getting the Faculty back in file order
+		List<Faculty> parsed = ParallelRecordReader.readRecords(fileName, progress, FacultyRecordIO::readFaculty);
+		ArrayList<Faculty> unique = new ArrayList<Faculty>(parsed.size()); //The faculty to keep, in file order
+	    HashSet<String> seenIds = new HashSet<String>(); //The id of every faculty read so far
+	    for (Faculty faculty : parsed) {
+	        //Keep the faculty only if their id hasn't been seen yet, so the first one read wins
+	        if (seenIds.add(faculty.getId())) {
+	            unique.add(faculty);
+	        } //Otherwise ignore
 	    }
-	    //Close the Scanner b/c we're responsible with our file handles
-	    fileReader.close();
-	    //Return the SortedList with all the courses we read!
+	    //The ids are already unique, so append them all without LinkedList.add()'s search of the list
+	    LinkedList<Faculty> facultys = new LinkedList<Faculty>();
+	    facultys.addAllUnchecked(unique);
 	    return facultys;
 	}
 	
@@ -66,27 +61,37 @@ public class FacultyRecordIO {
 	 * @throws IOException if the file cannot be found/read
 	 */
 	public static void writeFacultyRecords(String fileName, LinkedList<Faculty> facultyDirectory) throws IOException {
-    	PrintStream fileWriter = new PrintStream(new File(fileName));
-
-    	for (int i = 0; i < facultyDirectory.size(); i++) {
-    	    fileWriter.println(facultyDirectory.get(i).toString());
+    	try (RecordWriter fileWriter = new RecordWriter(fileName)) {
+    	    for (Faculty faculty : facultyDirectory) {
+    	        writeFaculty(fileWriter, faculty);
+    	    }
+    	    fileWriter.commit();
     	}
-    	
-    	fileWriter.close();      
-		
+	}
+	
+	/**
+	 * Writes a Faculty as a record, with the same fields as its toString().
+	 * @param fileWriter writer of the records
+	 * @param faculty the Faculty to write
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void writeFaculty(RecordWriter fileWriter, Faculty faculty) throws IOException {
+		fileWriter.field(faculty.getFirstName());
+		fileWriter.field(faculty.getLastName());
+		fileWriter.field(faculty.getId());
+		fileWriter.field(faculty.getEmail());
+		fileWriter.field(faculty.getPassword());
+		fileWriter.field(faculty.getMaxCourses());
+		fileWriter.endRecord();
 	}
 	
 	/**
 	 * Takes in a string with course details and constructs a Faculty based with them
-	 * @param nextLine String to read Faculty details from
-	 * @return a Faculty instance with parameters given by nextLine
+	 * @param facultyReader reader positioned at the line to read Faculty details from
+	 * @return a Faculty instance with parameters read from the line
 	 * @throws IllegalArgumentException if the given line is not formatted correctly and cannot be read.
 	 */
-    private static Faculty readFaculty(String nextLine) {
-    	//courseReader takes in the course parameters from nextLine
-    	Scanner facultyReader = new Scanner(nextLine);
-    	//Set courseReader to use the delimiter ",", as nextLine is in csv format
-    	facultyReader.useDelimiter(",");
+    private static Faculty readFaculty(RecordReader facultyReader) {
     	try {
     		//Facultys are read as CSVs with order:
     			//firstName,lastName,id,email,hashedPassword,maxCredits
@@ -95,15 +100,12 @@ public class FacultyRecordIO {
     		String facultyId = facultyReader.next();
     		String facultyEmail = facultyReader.next();
     		String facultyHashedPassword = facultyReader.next();
-    		int facultyMaxCredits = Integer.parseInt(facultyReader.next());
-    		//Close the scanner
+    		int facultyMaxCredits = facultyReader.nextInt();
     		//System.out.println("Adding: " + FacultyFirst + " " + FacultyLast);
-    		facultyReader.close();
     		return new Faculty(facultyFirst, facultyLast, facultyId, facultyEmail, facultyHashedPassword, facultyMaxCredits);
     	}
-    	//Catches cases where nextLine ends unexpectedly
+    	//Catches cases where the line ends unexpectedly
     	catch(Exception NoSuchElementException) {
-    		facultyReader.close();
     		throw new IllegalArgumentException();
     	} 	
 	}
@@ -0,0 +1,26 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+/**
+ * Follows the progress of loading a file of records, and can cancel the load. The loader
+ *     reports how far it has read every few thousand records and once more at the end of the
+ *     file, and checks for cancellation each time, so a cancelled load stops soon after. A
+ *     cancelled load throws a CancellationException and changes nothing.
+ *
+ * @author David Mond
+ */
+public interface LoadProgress {
+
+	/**
+	 * Called from the loading thread with how far the load has read.
+	 * @param records number of records read so far, valid or not
+	 * @param bytesRead number of bytes of the file read so far
+	 * @param totalBytes size of the file in bytes
+	 */
+	void recordsRead(int records, long bytesRead, long totalBytes);
+
+	/**
+	 * Returns true if the load should stop.
+	 * @return true if the load is cancelled
+	 */
+	boolean isCancelled();
+}
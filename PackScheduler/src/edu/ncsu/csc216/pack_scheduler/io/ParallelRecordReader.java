@@ -0,0 +1,329 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Reads every record of a file into objects, in the order of the file, parsing large files on
+ *     many threads at once. The file is split into chunks that each start at the beginning of a
+ *     line, and each chunk is memory mapped and parsed by a RecordReader of its own on the common
+ *     fork-join pool. The records of the chunks are then put back together in file order, so the
+ *     RecordIO classes can keep the first of any duplicates exactly as a single reader would.
+ *
+ * A file smaller than two chunks, or any file when the pool has only one thread, is read by a
+ *     single RecordReader on the calling thread, as before. The parser must not change anything
+ *     shared, such as a FacultySchedule, since it runs on many threads. Anything like that is
+ *     done by the caller once the records are back in order.
+ *
+ * A LoadProgress is told, on the calling thread, the records and bytes read by every chunk
+ *     together, and a cancelled load stops each chunk at its next report.
+ *
+ * @author David Mond
+ */
+final class ParallelRecordReader {
+
+	/** Smallest chunk a file is split into */
+	static final int CHUNK_SIZE = 8 << 20;
+	/** Largest chunk size, leaving room under the 2 GB that can be mapped at once for the line that ends a chunk */
+	private static final long MAX_CHUNK_SIZE = 1 << 30;
+	/** Number of chunks per thread of the pool, so threads that finish early take another */
+	private static final int CHUNKS_PER_THREAD = 4;
+	/** Milliseconds between reports to the LoadProgress while the chunks are parsed */
+	private static final long REPORT_MILLIS = 50;
+	/** Bytes read at a time when looking for the end of a line */
+	private static final int SCAN_SIZE = 8192;
+
+	/**
+	 * Only the static methods are used.
+	 */
+	private ParallelRecordReader() {
+	}
+
+	/**
+	 * Reads every valid record of the file, in file order, splitting the file into chunks of at
+	 *     least CHUNK_SIZE bytes if it is large enough and the pool has more than one thread.
+	 * @param <T> type of the records
+	 * @param fileName file to read records from
+	 * @param progress progress to report to, or null
+	 * @param parser parses the current record of a reader, throwing an IllegalArgumentException
+	 *     if it is invalid. Must be safe to call from many threads at once.
+	 * @return the valid records, in the order of the file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws CancellationException if the progress is cancelled
+	 */
+	static <T> List<T> readRecords(String fileName, LoadProgress progress, Function<RecordReader, T> parser) throws FileNotFoundException {
+		int threads = ForkJoinPool.getCommonPoolParallelism();
+		long length = new File(fileName).length();
+		if (threads < 2 || length < 2L * CHUNK_SIZE) {
+			return readSequential(fileName, progress, parser);
+		}
+		long chunkSize = Math.min(Math.max(CHUNK_SIZE, length / (threads * CHUNKS_PER_THREAD)), MAX_CHUNK_SIZE);
+		return readRecords(fileName, progress, parser, (int) chunkSize);
+	}
+
+	/**
+	 * Reads every valid record of the file, in file order, by splitting it into chunks of about
+	 *     the given size and parsing them on the common fork-join pool.
+	 * @param <T> type of the records
+	 * @param fileName file to read records from
+	 * @param progress progress to report to, or null
+	 * @param parser parses the current record of a reader, throwing an IllegalArgumentException
+	 *     if it is invalid. Must be safe to call from many threads at once.
+	 * @param chunkSize smallest number of bytes in a chunk, but the last. A chunk and the rest of
+	 *     its last line must fit in a mapping of under 2 GB.
+	 * @return the valid records, in the order of the file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws CancellationException if the progress is cancelled
+	 */
+	static <T> List<T> readRecords(String fileName, LoadProgress progress, Function<RecordReader, T> parser, int chunkSize)
+			throws FileNotFoundException {
+		try (FileInputStream input = new FileInputStream(fileName)) {
+			FileChannel channel = input.getChannel();
+			long length = channel.size();
+			long[] starts = chunkStarts(channel, length, chunkSize);
+			AtomicInteger records = new AtomicInteger();
+			AtomicLong bytesRead = new AtomicLong();
+			AtomicBoolean cancelled = new AtomicBoolean();
+
+			List<ForkJoinTask<List<T>>> tasks = new ArrayList<ForkJoinTask<List<T>>>(starts.length - 1);
+			for (int i = 0; i + 1 < starts.length; i++) {
+				ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, starts[i], starts[i + 1] - starts[i]);
+				tasks.add(ForkJoinPool.commonPool().submit(() -> parseChunk(chunk, parser, records, bytesRead, cancelled)));
+			}
+
+			List<List<T>> parsed = new ArrayList<List<T>>(tasks.size());
+			int total = 0;
+			try {
+				for (ForkJoinTask<List<T>> task : tasks) {
+					List<T> chunkRecords = await(task, progress, records, bytesRead, length);
+					parsed.add(chunkRecords);
+					total += chunkRecords.size();
+				}
+			} catch (RuntimeException e) {
+				// Stop the chunks still being parsed
+				cancelled.set(true);
+				throw e;
+			}
+			if (progress != null) {
+				progress.recordsRead(records.get(), length, length);
+			}
+
+			List<T> all = new ArrayList<T>(total);
+			for (List<T> chunkRecords : parsed) {
+				all.addAll(chunkRecords);
+			}
+			return all;
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new FileNotFoundException(fileName + " (" + e.getMessage() + ")");
+		}
+	}
+
+	/**
+	 * Reads every valid record of the file on the calling thread with one RecordReader.
+	 * @param <T> type of the records
+	 * @param fileName file to read records from
+	 * @param progress progress to report to, or null
+	 * @param parser parses the current record of the reader
+	 * @return the valid records, in the order of the file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws CancellationException if the progress is cancelled
+	 */
+	private static <T> List<T> readSequential(String fileName, LoadProgress progress, Function<RecordReader, T> parser)
+			throws FileNotFoundException {
+		RecordReader fileReader = new RecordReader(fileName, progress);
+		List<T> parsed = new ArrayList<T>();
+		while (fileReader.nextRecord()) {
+			try {
+				parsed.add(parser.apply(fileReader));
+			} catch (IllegalArgumentException e) {
+				// The record is invalid, skip it
+			}
+		}
+		fileReader.close();
+		return parsed;
+	}
+
+	/**
+	 * Returns where each chunk of the file starts, each at the start of a line, followed by the
+	 *     length of the file. A line longer than a chunk makes its chunk longer, not another chunk.
+	 * @param channel the file
+	 * @param length length of the file
+	 * @param size smallest number of bytes in a chunk, but the last
+	 * @return the starts of the chunks, and then the length of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	static long[] chunkStarts(FileChannel channel, long length, int size) throws IOException {
+		List<Long> starts = new ArrayList<Long>();
+		starts.add(0L);
+		ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+		long start = 0;
+		while (length - start > size) {
+			long next = nextLineStart(channel, start + size, scan);
+			if (next >= length) {
+				break;
+			}
+			starts.add(next);
+			start = next;
+		}
+		long[] result = new long[starts.size() + 1];
+		for (int i = 0; i < starts.size(); i++) {
+			result[i] = starts.get(i);
+		}
+		result[starts.size()] = length;
+		return result;
+	}
+
+	/**
+	 * Returns the start of the first line that starts at or after the given position.
+	 * @param channel the file
+	 * @param position where to look from
+	 * @param scan buffer to read the file through
+	 * @return the start of the line, or the length of the file if no line starts after the position
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long nextLineStart(FileChannel channel, long position, ByteBuffer scan) throws IOException {
+		// The line starts at the position if the byte before it ends a line
+		long at = position - 1;
+		while (true) {
+			scan.clear();
+			int read = channel.read(scan, at);
+			if (read <= 0) {
+				return channel.size();
+			}
+			for (int i = 0; i < read; i++) {
+				if (scan.get(i) == '\n') {
+					return at + i + 1;
+				}
+			}
+			at += read;
+		}
+	}
+
+	/**
+	 * Parses every record of a chunk, adding to the counts of records and bytes read every
+	 *     RecordReader.PROGRESS_INTERVAL records, and stopping if the load is cancelled.
+	 * @param <T> type of the records
+	 * @param chunk the mapped chunk
+	 * @param parser parses the current record of the reader
+	 * @param records count of records read by every chunk
+	 * @param bytesRead count of bytes read by every chunk
+	 * @param cancelled true once the load is cancelled
+	 * @return the valid records of the chunk, in order
+	 * @throws CancellationException if the load is cancelled
+	 */
+	private static <T> List<T> parseChunk(ByteBuffer chunk, Function<RecordReader, T> parser, AtomicInteger records,
+			AtomicLong bytesRead, AtomicBoolean cancelled) {
+		RecordReader chunkReader = new RecordReader(new ByteBufferInputStream(chunk));
+		List<T> parsed = new ArrayList<T>();
+		int reported = 0;
+		int reportedBytes = 0;
+		while (chunkReader.nextRecord()) {
+			try {
+				parsed.add(parser.apply(chunkReader));
+			} catch (IllegalArgumentException e) {
+				// The record is invalid, skip it
+			}
+			if (chunkReader.getRecords() % RecordReader.PROGRESS_INTERVAL == 0) {
+				if (cancelled.get()) {
+					throw new CancellationException();
+				}
+				records.addAndGet(chunkReader.getRecords() - reported);
+				bytesRead.addAndGet(chunk.position() - reportedBytes);
+				reported = chunkReader.getRecords();
+				reportedBytes = chunk.position();
+			}
+		}
+		records.addAndGet(chunkReader.getRecords() - reported);
+		bytesRead.addAndGet(chunk.limit() - reportedBytes);
+		return parsed;
+	}
+
+	/**
+	 * Waits for a chunk to be parsed, reporting to the progress while it waits.
+	 * @param <T> type of the records
+	 * @param task the chunk's task
+	 * @param progress progress to report to, or null
+	 * @param records count of records read by every chunk
+	 * @param bytesRead count of bytes read by every chunk
+	 * @param length length of the file
+	 * @return the valid records of the chunk
+	 * @throws CancellationException if the progress is cancelled
+	 */
+	private static <T> List<T> await(ForkJoinTask<List<T>> task, LoadProgress progress, AtomicInteger records,
+			AtomicLong bytesRead, long length) {
+		while (true) {
+			if (progress != null && progress.isCancelled()) {
+				throw new CancellationException();
+			}
+			try {
+				return task.get(REPORT_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (progress != null) {
+					progress.recordsRead(records.get(), bytesRead.get(), length);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Reads the bytes of a mapped chunk, whose position is how far it has been read.
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+
+		/** The chunk */
+		private final ByteBuffer buffer;
+
+		/**
+		 * Constructs a stream of the chunk's bytes.
+		 * @param buffer the chunk
+		 */
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, count);
+			return count;
+		}
+	}
+}
@@ -0,0 +1,234 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Reads comma separated records from a file one line at a time. Replaces a Scanner per line with
+ *     a single buffered reader and index scanning over the current line, so tokens are found with
+ *     indexOf and ints are parsed straight from the characters without any regular expressions.
+ *     Empty fields between two commas are returned as empty tokens, and a single trailing comma
+ *     does not start another token. Files are decoded as UTF-8, as RecordWriter encodes them,
+ *     whatever the platform's default charset.
+ *
+ * If it is given a LoadProgress, the reader reports to it every PROGRESS_INTERVAL records and
+ *     at the end of the file, and stops with a CancellationException once it is cancelled.
+ *
+ * @author David Mond
+ */
+class RecordReader {
+
+	/** Size of the character buffer used to read the file */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** The delimiter between the fields of a record */
+	private static final char DELIMITER = ',';
+	/** Number of records read between reports to the LoadProgress */
+	static final int PROGRESS_INTERVAL = 4096;
+
+	/** Stream of the file's bytes, whose position is how much of the file has been read, or null for a stream */
+	private FileInputStream input;
+	/** Reader for the file */
+	private BufferedReader reader;
+	/** Size of the file in bytes */
+	private long length;
+	/** Progress to report to, or null */
+	private LoadProgress progress;
+	/** Number of records read */
+	private int records;
+	/** The record currently being tokenized */
+	private String line;
+	/** Index in the line of the start of the next token */
+	private int position;
+
+	/**
+	 * Opens the given file for reading records.
+	 * @param fileName file to read records from
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	RecordReader(String fileName) throws FileNotFoundException {
+		this(fileName, null);
+	}
+
+	/**
+	 * Opens the given file for reading records, reporting to the given progress.
+	 * @param fileName file to read records from
+	 * @param progress progress to report to, or null
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	RecordReader(String fileName, LoadProgress progress) throws FileNotFoundException {
+		input = new FileInputStream(fileName);
+		reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+		length = new File(fileName).length();
+		this.progress = progress;
+		records = 0;
+		line = null;
+		position = 0;
+	}
+
+	/**
+	 * Opens a stream of part of a file, such as a chunk read by ParallelRecordReader, for reading
+	 *     records. The reader does not report progress, and its bytes read are always 0.
+	 * @param chunk stream of whole records
+	 */
+	RecordReader(InputStream chunk) {
+		input = null;
+		reader = new BufferedReader(new InputStreamReader(chunk, StandardCharsets.UTF_8), BUFFER_SIZE);
+		length = 0;
+		progress = null;
+		records = 0;
+		line = null;
+		position = 0;
+	}
+
+	/**
+	 * Moves to the next record in the file. Like Scanner, an error while reading is
+	 *     treated as the end of the file.
+	 * @return true if there was another record, false at the end of the file
+	 * @throws CancellationException if the LoadProgress is cancelled, after closing the file
+	 */
+	boolean nextRecord() {
+		try {
+			line = reader.readLine();
+		} catch (IOException e) {
+			line = null;
+		}
+		position = 0;
+		if (line != null) {
+			records++;
+		}
+		if (progress != null && (line == null || records % PROGRESS_INTERVAL == 0)) {
+			report();
+		}
+		return line != null;
+	}
+
+	/**
+	 * Returns the number of records read so far.
+	 * @return the number of records read
+	 */
+	int getRecords() {
+		return records;
+	}
+
+	/**
+	 * Returns how many bytes of the file have been read. The reader reads ahead of the
+	 *     current record, by up to a buffer.
+	 * @return the number of bytes read, or 0 when reading a stream
+	 */
+	long getBytesRead() {
+		if (input == null) {
+			return 0;
+		}
+		try {
+			return input.getChannel().position();
+		} catch (IOException e) {
+			return length;
+		}
+	}
+
+	/**
+	 * Returns true if the current record has another token.
+	 * @return true if there is another token
+	 */
+	boolean hasNext() {
+		return line != null && position < line.length();
+	}
+
+	/**
+	 * Returns the next token of the current record.
+	 * @return the next token
+	 * @throws NoSuchElementException if the record has no more tokens
+	 */
+	String next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		int end = tokenEnd();
+		String token = line.substring(position, end);
+		position = end + 1;
+		return token;
+	}
+
+	/**
+	 * Returns the next token of the current record as an int. The token may have a leading sign
+	 *     and must otherwise be only digits.
+	 * @return the next token as an int
+	 * @throws NoSuchElementException if the record has no more tokens
+	 * @throws InputMismatchException if the token is not an int
+	 */
+	int nextInt() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		int end = tokenEnd();
+		int i = position;
+		boolean negative = false;
+		if (i < end && (line.charAt(i) == '-' || line.charAt(i) == '+')) {
+			negative = line.charAt(i) == '-';
+			i++;
+		}
+		if (i == end) {
+			throw new InputMismatchException();
+		}
+		long value = 0;
+		for (; i < end; i++) {
+			char c = line.charAt(i);
+			if (c < '0' || c > '9') {
+				throw new InputMismatchException();
+			}
+			value = value * 10 + (c - '0');
+			if (value > (long) Integer.MAX_VALUE + 1) {
+				throw new InputMismatchException();
+			}
+		}
+		if (negative) {
+			value = -value;
+		}
+		if (value > Integer.MAX_VALUE) {
+			throw new InputMismatchException();
+		}
+		position = end + 1;
+		return (int) value;
+	}
+
+	/**
+	 * Closes the file.
+	 */
+	void close() {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			// Nothing left to read, so there is nothing to recover
+		}
+	}
+
+	/**
+	 * Stops if the progress is cancelled, and otherwise reports how far the file has been read.
+	 * @throws CancellationException if the progress is cancelled, after closing the file
+	 */
+	private void report() {
+		if (progress.isCancelled()) {
+			close();
+			throw new CancellationException();
+		}
+		progress.recordsRead(records, getBytesRead(), length);
+	}
+
+	/**
+	 * Returns the index of the end of the token starting at position.
+	 * @return the index of the next delimiter, or the length of the line if there is none
+	 */
+	private int tokenEnd() {
+		int end = line.indexOf(DELIMITER, position);
+		return end == -1 ? line.length() : end;
+	}
+}
@@ -0,0 +1,196 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes comma separated records to a file, without ever leaving a partly written file behind.
+ *     The records are written to a temporary file beside the target, which commit() forces to
+ *     the disk and renames over the target in one step with DurableFiles. Until then the target
+ *     keeps its old records, and a writer closed without commit() deletes its temporary file.
+ *     On a file system that cannot rename in one step, commit() fails and the target is unchanged.
+ *
+ * Fields are encoded straight into a byte buffer as they are given, with ints written digit by
+ *     digit, so no String is built for a record. The buffer is written to the file each time it
+ *     fills. Like RecordReader, a delimiter is written between the fields of a record, and
+ *     endRecord() ends the line. Fields are always encoded as UTF-8 and lines always end with
+ *     '\n', whatever the platform's default charset and line separator.
+ *
+ * @author David Mond
+ */
+class RecordWriter implements AutoCloseable {
+
+	/** Size of the byte buffer records are encoded into */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** The delimiter between the fields of a record */
+	private static final byte DELIMITER = ',';
+	/** Suffix of the temporary file */
+	private static final String TEMP_SUFFIX = ".tmp";
+	/** Longest UTF-8 encoding of a char, or of a surrogate pair */
+	private static final int MAX_CHAR_BYTES = 4;
+
+	/** The file the records are for */
+	private final Path target;
+	/** The temporary file the records are written to */
+	private final Path temp;
+	/** Stream of the temporary file */
+	private final FileOutputStream output;
+	/** Encoded bytes not yet written to the file */
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	/** Number of bytes in the buffer */
+	private int count;
+	/** True if the next field is the first of its record */
+	private boolean firstField;
+	/** True once the temporary file is renamed or deleted */
+	private boolean finished;
+
+	/**
+	 * Opens a temporary file beside the given file to write records to.
+	 * @param fileName file the records are for
+	 * @throws FileNotFoundException if the file's directory cannot be found or written, with
+	 *     the same message as opening the file itself
+	 */
+	RecordWriter(String fileName) throws FileNotFoundException {
+		String tempName = fileName + TEMP_SUFFIX;
+		try {
+			output = new FileOutputStream(tempName);
+		} catch (FileNotFoundException e) {
+			throw new FileNotFoundException(e.getMessage().replace(tempName, fileName));
+		}
+		target = new File(fileName).toPath();
+		temp = new File(tempName).toPath();
+		count = 0;
+		firstField = true;
+		finished = false;
+	}
+
+	/**
+	 * Writes the next field of the record. A null field is written as "null", as string
+	 *     concatenation would.
+	 * @param field the field
+	 * @throws IOException if the file cannot be written
+	 */
+	void field(String field) throws IOException {
+		delimit();
+		String s = field == null ? "null" : field;
+		for (int i = 0; i < s.length(); i++) {
+			if (count + MAX_CHAR_BYTES > buffer.length) {
+				drain();
+			}
+			char c = s.charAt(i);
+			if (c < 0x80) {
+				buffer[count++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[count++] = (byte) (0xC0 | c >> 6);
+				buffer[count++] = (byte) (0x80 | c & 0x3F);
+			} else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, s.charAt(++i));
+				buffer[count++] = (byte) (0xF0 | codePoint >> 18);
+				buffer[count++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+				buffer[count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+				buffer[count++] = (byte) (0x80 | codePoint & 0x3F);
+			} else if (Character.isSurrogate(c)) {
+				// An unpaired surrogate is written as '?', as String.getBytes() would
+				buffer[count++] = '?';
+			} else {
+				buffer[count++] = (byte) (0xE0 | c >> 12);
+				buffer[count++] = (byte) (0x80 | c >> 6 & 0x3F);
+				buffer[count++] = (byte) (0x80 | c & 0x3F);
+			}
+		}
+	}
+
+	/**
+	 * Writes the next field of the record as a decimal int.
+	 * @param field the field
+	 * @throws IOException if the file cannot be written
+	 */
+	void field(int field) throws IOException {
+		delimit();
+		// An int is at most 11 characters, with its sign
+		if (count + 11 > buffer.length) {
+			drain();
+		}
+		long value = field;
+		if (value < 0) {
+			buffer[count++] = '-';
+			value = -value;
+		}
+		int digits = 1;
+		for (long rest = value / 10; rest > 0; rest /= 10) {
+			digits++;
+		}
+		for (int i = count + digits - 1; i >= count; i--) {
+			buffer[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		count += digits;
+	}
+
+	/**
+	 * Ends the record, so the next field starts a new line.
+	 * @throws IOException if the file cannot be written
+	 */
+	void endRecord() throws IOException {
+		if (count + 1 > buffer.length) {
+			drain();
+		}
+		buffer[count++] = '\n';
+		firstField = true;
+	}
+
+	/**
+	 * Writes the rest of the records, forces them to the disk, and renames the temporary file
+	 *     over the target, replacing its records all at once.
+	 * @throws IOException if the file cannot be written or renamed, including on a file system
+	 *     that cannot rename atomically, in which case the target keeps its old records
+	 */
+	void commit() throws IOException {
+		drain();
+		output.getChannel().force(true);
+		output.close();
+		DurableFiles.replace(temp, target);
+		finished = true;
+	}
+
+	/**
+	 * Closes the temporary file, and deletes it if the records were not committed.
+	 * @throws IOException if the temporary file cannot be closed or deleted
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!finished) {
+			finished = true;
+			output.close();
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Writes a delimiter before every field but the first of a record.
+	 * @throws IOException if the file cannot be written
+	 */
+	private void delimit() throws IOException {
+		if (firstField) {
+			firstField = false;
+			return;
+		}
+		if (count + 1 > buffer.length) {
+			drain();
+		}
+		buffer[count++] = DELIMITER;
+	}
+
+	/**
+	 * Writes the buffered bytes to the temporary file.
+	 * @throws IOException if the file cannot be written
+	 */
+	private void drain() throws IOException {
+		output.write(buffer, 0, count);
+		count = 0;
+	}
+}
@@ -0,0 +1,481 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
+import edu.ncsu.csc217.collections.list.SortedList;
+
+/**
+ * Reads and writes snapshots, a compact binary form of the course, student, and faculty records
+ *     that loads much faster than the text records. A snapshot is read through a memory map of
+ *     the file, with no text to split or numbers to parse.
+ *
+ * A snapshot starts with a header of the MAGIC bytes, the format VERSION as a short, the kind
+ *     of records as a byte, and the number of records as an int. Each string is a short byte
+ *     count followed by its UTF-8 bytes, with NULL_STRING as the count of a null string.
+ *     A course's meeting days, start time, and end time are packed into one long. All numbers
+ *     are big-endian. Records are written in the order of the list, so the sorted lists are
+ *     read back already in order.
+ *
+ * A snapshot is only read whole. Unlike the text records, a snapshot with a bad header, a
+ *     record that cannot be constructed, a repeated record, or too few bytes is not loaded at all.
+ *     A snapshot is written to a temporary file beside the target, forced to the disk, and renamed
+ *     over the target in one step, so a crash while saving leaves the last good snapshot in place.
+ *
+ * @author David Mond
+ */
+public class SnapshotIO {
+
+	/** First bytes of every snapshot. 0x89 never starts a line of UTF-8 text. */
+	private static final byte[] MAGIC = {(byte) 0x89, 'P', 'S', 'S'};
+	/** Version of the snapshot format */
+	static final short VERSION = 1;
+	/** Kind of a snapshot of courses */
+	private static final byte COURSES = 1;
+	/** Kind of a snapshot of students */
+	private static final byte STUDENTS = 2;
+	/** Kind of a snapshot of faculty */
+	private static final byte FACULTY = 3;
+	/** Byte count of a null string */
+	private static final int NULL_STRING = 0xFFFF;
+	/** Suffix of the temporary file a snapshot is written to */
+	private static final String TEMP_SUFFIX = ".tmp";
+	/** Size of the buffer snapshots are written through */
+	private static final int WRITE_BUFFER = 1 << 16;
+	/** Meeting day letters, whose index plus one is their code in a packed meeting */
+	private static final String DAY_LETTERS = "MTWHF";
+	/** Code of arranged meeting days in a packed meeting */
+	private static final int ARRANGED = 7;
+	/** Bits of each day code in a packed meeting */
+	private static final int DAY_BITS = 3;
+	/** Bits of each time in a packed meeting */
+	private static final int TIME_BITS = 12;
+	/** Mask of a time in a packed meeting */
+	private static final int TIME_MASK = (1 << TIME_BITS) - 1;
+
+	/**
+	 * Writes the courses to a snapshot file.
+	 * @param fileName file to write to
+	 * @param courses courses to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeCourseSnapshot(String fileName, SortedList<Course> courses) throws IOException {
+		try (SnapshotOutput out = SnapshotOutput.open(fileName, COURSES, courses.size())) {
+			for (int i = 0; i < courses.size(); i++) {
+				Course c = courses.get(i);
+				writeString(out, c.getName());
+				writeString(out, c.getTitle());
+				writeString(out, c.getSection());
+				out.writeByte(c.getCredits());
+				writeString(out, c.getInstructorId());
+				out.writeShort(c.getCourseRoll().getEnrollmentCap());
+				out.writeLong(packMeeting(c.getMeetingDays(), c.getStartTime(), c.getEndTime()));
+			}
+			out.commit();
+		}
+	}
+
+	/**
+	 * Reads the courses from a snapshot file. As with the text records, a course is only given
+	 *     its instructor, and added to their schedule, if the instructor is in the
+	 *     RegistrationManager's FacultyDirectory, and a course that cannot be added to its
+	 *     instructor's schedule is skipped. Instructors are only assigned once the whole snapshot
+	 *     is read, so an invalid snapshot leaves the faculty as they were.
+	 * @param fileName file to read from
+	 * @return the courses, in the order they were written
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @throws IOException if the file cannot be read or is not a valid course snapshot
+	 */
+	public static SortedList<Course> readCourseSnapshot(String fileName) throws IOException {
+		ByteBuffer in = map(fileName);
+		int count = readHeader(in, COURSES);
+		byte[] scratch = new byte[NULL_STRING];
+		ArrayList<Course> courses = new ArrayList<Course>(count);
+		String[] instructorIds = new String[count];
+		SortedList<Course> sorted;
+		try {
+			for (int i = 0; i < count; i++) {
+				String name = readString(in, scratch);
+				String title = readString(in, scratch);
+				String section = readString(in, scratch);
+				int credits = in.get();
+				instructorIds[i] = readString(in, scratch);
+				int enrollmentCap = in.getShort();
+				long meeting = in.getLong();
+				courses.add(new Course(name, title, section, credits, null, enrollmentCap, unpackDays(meeting),
+						unpackTime(meeting, 1), unpackTime(meeting, 0)));
+			}
+			checkEnd(in);
+			sorted = SortedArrayList.fromUnsorted(courses);
+		} catch (IllegalArgumentException | BufferUnderflowException e) {
+			throw new IOException("Invalid snapshot " + fileName);
+		}
+		FacultyDirectory directory = RegistrationManager.getInstance().getFacultyDirectory();
+		ArrayList<Course> kept = new ArrayList<Course>(count);
+		for (int i = 0; i < count; i++) {
+			Faculty instructor = directory.getFacultyById(instructorIds[i]);
+			try {
+				if (instructor != null) {
+					instructor.getSchedule().addCourseToSchedule(courses.get(i));
+				}
+				kept.add(courses.get(i));
+			} catch (IllegalArgumentException e) {
+				// The instructor already has the course or one at the same time, so it is skipped
+			}
+		}
+		// The sorted list already holds every course, so it is only built again if one was skipped
+		return kept.size() == count ? sorted : SortedArrayList.fromUnsorted(kept);
+	}
+
+	/**
+	 * Writes the students to a snapshot file.
+	 * @param fileName file to write to
+	 * @param students students to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeStudentSnapshot(String fileName, SortedList<Student> students) throws IOException {
+		try (SnapshotOutput out = SnapshotOutput.open(fileName, STUDENTS, students.size())) {
+			for (int i = 0; i < students.size(); i++) {
+				Student s = students.get(i);
+				writeString(out, s.getFirstName());
+				writeString(out, s.getLastName());
+				writeString(out, s.getId());
+				writeString(out, s.getEmail());
+				writeString(out, s.getPassword());
+				out.writeByte(s.getMaxCredits());
+			}
+			out.commit();
+		}
+	}
+
+	/**
+	 * Reads the students from a snapshot file.
+	 * @param fileName file to read from
+	 * @return the students, in the order they were written
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @throws IOException if the file cannot be read or is not a valid student snapshot
+	 */
+	public static SortedList<Student> readStudentSnapshot(String fileName) throws IOException {
+		ByteBuffer in = map(fileName);
+		int count = readHeader(in, STUDENTS);
+		byte[] scratch = new byte[NULL_STRING];
+		ArrayList<Student> students = new ArrayList<Student>(count);
+		try {
+			for (int i = 0; i < count; i++) {
+				students.add(new Student(readString(in, scratch), readString(in, scratch), readString(in, scratch), readString(in, scratch), readString(in, scratch),
+						in.get()));
+			}
+			checkEnd(in);
+			return SortedArrayList.fromUnsorted(students);
+		} catch (IllegalArgumentException | BufferUnderflowException e) {
+			throw new IOException("Invalid snapshot " + fileName);
+		}
+	}
+
+	/**
+	 * Writes the faculty to a snapshot file.
+	 * @param fileName file to write to
+	 * @param faculty faculty to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeFacultySnapshot(String fileName, LinkedList<Faculty> faculty) throws IOException {
+		try (SnapshotOutput out = SnapshotOutput.open(fileName, FACULTY, faculty.size())) {
+			for (Faculty f : faculty) {
+				writeString(out, f.getFirstName());
+				writeString(out, f.getLastName());
+				writeString(out, f.getId());
+				writeString(out, f.getEmail());
+				writeString(out, f.getPassword());
+				out.writeByte(f.getMaxCourses());
+			}
+			out.commit();
+		}
+	}
+
+	/**
+	 * Reads the faculty from a snapshot file. A snapshot with two faculty of the same id is invalid.
+	 * @param fileName file to read from
+	 * @return the faculty, in the order they were written
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @throws IOException if the file cannot be read or is not a valid faculty snapshot
+	 */
+	public static LinkedList<Faculty> readFacultySnapshot(String fileName) throws IOException {
+		ByteBuffer in = map(fileName);
+		int count = readHeader(in, FACULTY);
+		byte[] scratch = new byte[NULL_STRING];
+		ArrayList<Faculty> read = new ArrayList<Faculty>(count);
+		HashSet<String> ids = new HashSet<String>();
+		try {
+			for (int i = 0; i < count; i++) {
+				Faculty f = new Faculty(readString(in, scratch), readString(in, scratch), readString(in, scratch), readString(in, scratch), readString(in, scratch),
+						in.get());
+				if (!ids.add(f.getId())) {
+					throw new IllegalArgumentException("Repeated faculty id");
+				}
+				read.add(f);
+			}
+			checkEnd(in);
+			// The ids are unique, so append them all without LinkedList.add()'s search of the list
+			LinkedList<Faculty> faculty = new LinkedList<Faculty>();
+			faculty.addAllUnchecked(read);
+			return faculty;
+		} catch (IllegalArgumentException | BufferUnderflowException e) {
+			throw new IOException("Invalid snapshot " + fileName);
+		}
+	}
+
+	/**
+	 * Returns the given meeting days and times packed into a long. The low TIME_BITS bits are the
+	 *     end time, the next TIME_BITS the start time, and above them are the code of each day in
+	 *     order, DAY_BITS each, with the first day highest. Arranged is the single code ARRANGED.
+	 * @param meetingDays the meeting days
+	 * @param startTime the start time
+	 * @param endTime the end time
+	 * @return the packed meeting
+	 * @throws IllegalArgumentException if a day is not one of DAY_LETTERS
+	 */
+	static long packMeeting(String meetingDays, int startTime, int endTime) {
+		long days = 0;
+		if ("A".equals(meetingDays)) {
+			days = ARRANGED;
+		} else {
+			for (int i = 0; i < meetingDays.length(); i++) {
+				int code = DAY_LETTERS.indexOf(meetingDays.charAt(i)) + 1;
+				if (code == 0) {
+					throw new IllegalArgumentException("Invalid meeting days.");
+				}
+				days = days << DAY_BITS | code;
+			}
+		}
+		return days << (2 * TIME_BITS) | (long) startTime << TIME_BITS | endTime;
+	}
+
+	/**
+	 * Returns the meeting days of a packed meeting.
+	 * @param meeting the packed meeting
+	 * @return the meeting days
+	 */
+	static String unpackDays(long meeting) {
+		long days = meeting >>> (2 * TIME_BITS);
+		if (days == ARRANGED) {
+			return "A";
+		}
+		StringBuilder meetingDays = new StringBuilder(DAY_LETTERS.length());
+		for (; days != 0; days >>>= DAY_BITS) {
+			meetingDays.append(DAY_LETTERS.charAt((int) (days & ARRANGED) - 1));
+		}
+		return meetingDays.reverse().toString();
+	}
+
+	/**
+	 * Returns one of the times of a packed meeting.
+	 * @param meeting the packed meeting
+	 * @param which 1 for the start time, 0 for the end time
+	 * @return the time
+	 */
+	static int unpackTime(long meeting, int which) {
+		return (int) (meeting >>> (which * TIME_BITS)) & TIME_MASK;
+	}
+
+	/**
+	 * Writes a string as its byte count and UTF-8 bytes.
+	 * @param out stream to write to
+	 * @param s string to write, or null
+	 * @throws IOException if the string cannot be written, or is too long
+	 */
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			out.writeShort(NULL_STRING);
+			return;
+		}
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length >= NULL_STRING) {
+			throw new IOException("String too long for a snapshot");
+		}
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Maps a snapshot file into memory to be read.
+	 * @param fileName file to map
+	 * @return a buffer of the file's bytes
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @throws IOException if the file cannot be read
+	 */
+	private static ByteBuffer map(String fileName) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			// The mapping stays valid after the channel is closed
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (NoSuchFileException e) {
+			throw new FileNotFoundException(fileName);
+		}
+	}
+
+	/**
+	 * Reads and checks a snapshot's header.
+	 * @param in the snapshot, positioned at its start
+	 * @param kind kind of records expected
+	 * @return the number of records
+	 * @throws IOException if the header is not that of a snapshot of this version and kind
+	 */
+	private static int readHeader(ByteBuffer in, byte kind) throws IOException {
+		try {
+			for (byte b : MAGIC) {
+				if (in.get() != b) {
+					throw new IOException("Not a snapshot");
+				}
+			}
+			short version = in.getShort();
+			if (version != VERSION) {
+				throw new IOException("Unsupported snapshot version " + version);
+			}
+			if (in.get() != kind) {
+				throw new IOException("Wrong kind of snapshot");
+			}
+			int count = in.getInt();
+			// Every record takes at least one byte, which keeps a corrupt count from allocating too much
+			if (count < 0 || count > in.remaining()) {
+				throw new IOException("Invalid snapshot");
+			}
+			return count;
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Not a snapshot");
+		}
+	}
+
+	/**
+	 * Reads a string written by writeString().
+	 * @param in the snapshot, positioned at the string
+	 * @param scratch buffer of at least NULL_STRING bytes the string's bytes are copied to
+	 * @return the string, or null
+	 * @throws BufferUnderflowException if the snapshot ends in the string
+	 */
+	private static String readString(ByteBuffer in, byte[] scratch) {
+		int length = Short.toUnsignedInt(in.getShort());
+		if (length == NULL_STRING) {
+			return null;
+		}
+		in.get(scratch, 0, length);
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Checks that every byte of the snapshot was read.
+	 * @param in the snapshot
+	 * @throws IllegalArgumentException if there are bytes after the last record
+	 */
+	private static void checkEnd(ByteBuffer in) {
+		if (in.hasRemaining()) {
+			throw new IllegalArgumentException("Extra bytes after the last record");
+		}
+	}
+
+	/**
+	 * A stream of a snapshot being written to a temporary file beside its target. commit() forces
+	 *     the snapshot to the disk and renames it over the target, and closing the stream without
+	 *     commit() deletes the temporary file, leaving the target as it was.
+	 */
+	private static final class SnapshotOutput extends DataOutputStream {
+		/** Stream of the temporary file */
+		private final FileOutputStream file;
+		/** The temporary file */
+		private final Path temp;
+		/** The file the snapshot is for */
+		private final Path target;
+		/** True once the temporary file is renamed over the target */
+		private boolean committed;
+
+		/**
+		 * Constructs a stream writing to the given temporary file.
+		 * @param file stream of the temporary file
+		 * @param temp the temporary file
+		 * @param target the file the snapshot is for
+		 */
+		private SnapshotOutput(FileOutputStream file, Path temp, Path target) {
+			super(new BufferedOutputStream(file, WRITE_BUFFER));
+			this.file = file;
+			this.temp = temp;
+			this.target = target;
+			this.committed = false;
+		}
+
+		/**
+		 * Opens a temporary file beside the snapshot file for writing and writes the header.
+		 * @param fileName file the snapshot is for
+		 * @param kind kind of records in the snapshot
+		 * @param count number of records in the snapshot
+		 * @return the stream to write the records to
+		 * @throws FileNotFoundException if the file's directory cannot be found or written, with
+		 *     the same message as opening the file itself
+		 * @throws IOException if the header cannot be written
+		 */
+		static SnapshotOutput open(String fileName, byte kind, int count) throws IOException {
+			String tempName = fileName + TEMP_SUFFIX;
+			FileOutputStream file;
+			try {
+				file = new FileOutputStream(tempName);
+			} catch (FileNotFoundException e) {
+				throw new FileNotFoundException(e.getMessage().replace(tempName, fileName));
+			}
+			SnapshotOutput out = new SnapshotOutput(file, Paths.get(tempName), Paths.get(fileName));
+			try {
+				out.write(MAGIC);
+				out.writeShort(VERSION);
+				out.writeByte(kind);
+				out.writeInt(count);
+			} catch (IOException e) {
+				out.close();
+				throw e;
+			}
+			return out;
+		}
+
+		/**
+		 * Writes the rest of the snapshot, forces it to the disk, and renames it over the target.
+		 * @throws IOException if the snapshot cannot be written or renamed, in which case the
+		 *     target is unchanged
+		 */
+		void commit() throws IOException {
+			flush();
+			file.getChannel().force(true);
+			super.close();
+			DurableFiles.replace(temp, target);
+			committed = true;
+		}
+
+		/**
+		 * Closes the temporary file, and deletes it if the snapshot was not committed.
+		 * @throws IOException if the temporary file cannot be closed or deleted
+		 */
+		@Override
+		public void close() throws IOException {
+			if (!committed) {
+				committed = true;
+				super.close();
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+}
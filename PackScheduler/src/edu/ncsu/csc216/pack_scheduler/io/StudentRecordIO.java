@@ -1,14 +1,15 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 import edu.ncsu.csc217.collections.list.SortedList;
-import java.util.Scanner;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc216.pack_scheduler.user.User;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 
 /**
  * Deals with adding and removing Students from a file
@@ -24,38 +25,31 @@ public class StudentRecordIO {
      * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static SortedList<Student> readStudentRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
-	    SortedList<Student> students = new SortedList<Student>(); //Create an empty array of Student objects
-	    while (fileReader.hasNextLine()) { //While we have more lines in the file
-	        try { //Attempt to do the following
-	            //Read the line, process it in readStudent, and get the object
-	            //If trying to construct a Student in readStudent() results in an exception, flow of control will transfer to the catch block, below
-	        	Student student = readStudent(fileReader.nextLine()); 
-	            //Create a flag to see if the newly created Student is a duplicate of something already in the list  
-	            boolean duplicate = false;
-	            //Look at all the courses in our list
-	            for (int i = 0; i < students.size(); i++) {
-	                //Get the course at index i
-	            	User current = students.get(i);
-	                //Check if the first and last names are the same
-	                if (student.getId().equals(current.getId())) {
-	                    //It's a duplicate!
-	                    duplicate = true;
-	                    break; //We can break out of the loop, no need to continue searching
-	                }
-	            }
-	            //If the student is NOT a duplicate
-	            if (!duplicate) {
-	            	students.add(student); //Add to the SortedList!
-	            } //Otherwise ignore
-	        } catch (IllegalArgumentException e) {
-	            //The line is invalid b/c we couldn't create a course, skip it!
-	        }
+		return readStudentRecords(fileName, null);
+	}
+	
+    /**
+     * Reads student records from a file as readStudentRecords(String) does, reporting to the given
+     * progress as it reads.
+     * @param fileName file to read Student details from
+     * @param progress progress to report to, or null
+     * @return a list of valid Students
+     * @throws FileNotFoundException if the file cannot be found or read
+     * @throws CancellationException if the progress is cancelled
+	 */
+	public static SortedList<Student> readStudentRecords(String fileName, LoadProgress progress) throws FileNotFoundException {
+		//Parse every valid line with readStudent, in parallel for a large file, getting the Students back in file order
+		List<Student> parsed = ParallelRecordReader.readRecords(fileName, progress, StudentRecordIO::readStudent);
+	    ArrayList<Student> students = new ArrayList<Student>(parsed.size()); //Create an empty array of Student objects, sorted once they are all read
+	    HashSet<String> seenIds = new HashSet<String>(); //The id of every student read so far
+	    for (Student student : parsed) {
+	        //Add the student only if their id hasn't been seen yet, so the first one read wins
+	        if (seenIds.add(student.getId())) {
+	            students.add(student); //Add to the ArrayList!
+	        } //Otherwise ignore
 	    }
-	    //Close the Scanner b/c we're responsible with our file handles
-	    fileReader.close();
-	    //Return the SortedList with all the courses we read!
-	    return students;
+	    //Sort and return all the students we read!
+	    return SortedArrayList.fromUnsorted(students);
 	}
 	
 	/**
@@ -65,27 +59,37 @@ public class StudentRecordIO {
 	 * @throws IOException if the file cannot be found/read
 	 */
 	public static void writeStudentRecords(String fileName, SortedList<Student> studentDirectory) throws IOException {
-    	PrintStream fileWriter = new PrintStream(new File(fileName));
-
-    	for (int i = 0; i < studentDirectory.size(); i++) {
-    	    fileWriter.println(studentDirectory.get(i).toString());
+    	try (RecordWriter fileWriter = new RecordWriter(fileName)) {
+    	    for (int i = 0; i < studentDirectory.size(); i++) {
+    	        writeStudent(fileWriter, studentDirectory.get(i));
+    	    }
+    	    fileWriter.commit();
     	}
-    	
-    	fileWriter.close();      
-		
+	}
+	
+	/**
+	 * Writes a Student as a record, with the same fields as its toString().
+	 * @param fileWriter writer of the records
+	 * @param student the Student to write
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void writeStudent(RecordWriter fileWriter, Student student) throws IOException {
+		fileWriter.field(student.getFirstName());
+		fileWriter.field(student.getLastName());
+		fileWriter.field(student.getId());
+		fileWriter.field(student.getEmail());
+		fileWriter.field(student.getPassword());
+		fileWriter.field(student.getMaxCredits());
+		fileWriter.endRecord();
 	}
 	
 	/**
 	 * Takes in a string with course details and constructs a Student based with them
-	 * @param nextLine String to read student details from
-	 * @return a Student instance with parameters given by nextLine
+	 * @param studentReader reader positioned at the line to read student details from
+	 * @return a Student instance with parameters read from the line
 	 * @throws IllegalArgumentException if the given line is not formatted correctly and cannot be read.
 	 */
-    private static Student readStudent(String nextLine) {
-    	//courseReader takes in the course parameters from nextLine
-    	Scanner studentReader = new Scanner(nextLine);
-    	//Set courseReader to use the delimiter ",", as nextLine is in csv format
-    	studentReader.useDelimiter(",");
+    private static Student readStudent(RecordReader studentReader) {
     	try {
     		//Students are read as CSVs with order:
     			//firstName,lastName,id,email,hashedPassword,maxCredits
@@ -94,15 +98,12 @@ public class StudentRecordIO {
     		String studentId = studentReader.next();
     		String studentEmail = studentReader.next();
     		String studentHashedPassword = studentReader.next();
-    		int studentMaxCredits = Integer.parseInt(studentReader.next());
-    		//Close the scanner
+    		int studentMaxCredits = studentReader.nextInt();
     		//System.out.println("Adding: " + studentFirst + " " + studentLast);
-    		studentReader.close();
     		return new Student(studentFirst, studentLast, studentId, studentEmail, studentHashedPassword, studentMaxCredits);
     	}
-    	//Catches cases where nextLine ends unexpectedly
+    	//Catches cases where the line ends unexpectedly
     	catch(Exception NoSuchElementException) {
-    		studentReader.close();
     		throw new IllegalArgumentException();
     	} 	
 	}
@@ -0,0 +1,596 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import edu.ncsu.csc216.pack_scheduler.io.DurableFiles;
+
+/**
+ * RegistrationJournal keeps an append-only journal of every change RegistrationManager makes to
+ *     the course rolls, waitlists, Schedules, and FacultySchedules, so they can be rebuilt after
+ *     a restart or a crash. The catalog and directories are saved to their own files, so the
+ *     journal only records who is in which course.
+ *
+ * Changes are appended to a queue, in the order they were made, without waiting on the disk.
+ *     A writer thread takes everything queued, writes it to the journal, and forces it to the
+ *     disk once for the whole batch. While one batch is forced, the next builds up, so the
+ *     journal keeps up with any rate of changes without a force per change. A change is on the
+ *     disk a few milliseconds after it is made, and flush() waits until it is.
+ *
+ * Every SNAPSHOT_EVERY changes, and when checkpoint() is called, the RegistrationManager writes
+ *     a snapshot of every roll, waitlist, and instructor. The journal up to that point is then
+ *     deleted, so a restart only replays the changes since the last snapshot.
+ *
+ * The directory holds three kinds of file:
+ *     JOURNAL_FILE, the journal being written, one change per line, as
+ *         sequence,action,user id,course name,section
+ *     registration-[sequence].journal, a journal rotated out when a snapshot was started,
+ *         holding the changes up to that sequence number. It is deleted once the snapshot is written.
+ *     SNAPSHOT_FILE, the last snapshot. Its first line is SNAPSHOT and the sequence number of the
+ *         last change it includes, followed by a C line for each course with its instructor, an
+ *         E line for each enrolled Student and a W line for each waitlisted Student, in order,
+ *         and a last line of END. It is written to a temporary file and renamed, so it is never
+ *         seen half written.
+ *
+ * @author David Mond
+ */
+final class RegistrationJournal {
+
+	/** Name of the journal being written */
+	static final String JOURNAL_FILE = "registration.journal";
+	/** Name of the snapshot */
+	static final String SNAPSHOT_FILE = "registration.snapshot";
+	/** Number of changes written after which a snapshot is taken */
+	static final int SNAPSHOT_EVERY = 100000;
+	/** Start of the name of a rotated journal */
+	private static final String ROTATED_PREFIX = "registration-";
+	/** End of the name of a rotated journal */
+	private static final String ROTATED_SUFFIX = ".journal";
+	/** First word of a snapshot */
+	private static final String SNAPSHOT_HEADER = "SNAPSHOT";
+	/** Last line of a complete snapshot */
+	private static final String SNAPSHOT_END = "END";
+	/** Number of fields in a journal line */
+	private static final int FIELDS = 5;
+
+	/**
+	 * A change to the registrations. The user id is the Student's or Faculty's id, and each
+	 *     change but RESET and FACULTY_RESET names a course.
+	 */
+	enum Action {
+		/** A Student enrolled in a course and got a seat */
+		ENROLL,
+		/** A Student enrolled in a course and was put on its waitlist */
+		WAITLIST,
+		/** A Student dropped a course, or left its waitlist */
+		DROP,
+		/** A Student's Schedule was reset, after each of its courses was dropped */
+		RESET,
+		/** A Faculty was assigned a course */
+		ASSIGN,
+		/** A Faculty was unassigned from a course */
+		UNASSIGN,
+		/** A Faculty's FacultySchedule was reset */
+		FACULTY_RESET
+	}
+
+	/**
+	 * What the journal rebuilds its snapshot and changes into.
+	 */
+	interface Target {
+
+		/**
+		 * Restores a course from a snapshot, giving it its instructor and enrolling and
+		 *     waitlisting its Students in order.
+		 * @param course the course's state
+		 */
+		void restore(CourseState course);
+
+		/**
+		 * Makes a change again.
+		 * @param action the change
+		 * @param userId id of the Student or Faculty
+		 * @param name name of the course, or null
+		 * @param section section of the course, or null
+		 * @return true if the change was made
+		 */
+		boolean apply(Action action, String userId, String name, String section);
+	}
+
+	/**
+	 * The state of one course in a snapshot.
+	 */
+	static final class CourseState {
+		/** Name of the course */
+		final String name;
+		/** Section of the course */
+		final String section;
+		/** Id of the course's instructor, or null */
+		final String instructorId;
+		/** Ids of the enrolled Students, in the order they enrolled */
+		final List<String> enrolled;
+		/** Ids of the waitlisted Students, in the order they joined the waitlist */
+		final List<String> waitlisted;
+
+		/**
+		 * Constructs the state of a course.
+		 * @param name name of the course
+		 * @param section section of the course
+		 * @param instructorId id of the course's instructor, or null
+		 * @param enrolled ids of the enrolled Students, in order
+		 * @param waitlisted ids of the waitlisted Students, in order
+		 */
+		CourseState(String name, String section, String instructorId, List<String> enrolled, List<String> waitlisted) {
+			this.name = name;
+			this.section = section;
+			this.instructorId = instructorId;
+			this.enrolled = enrolled;
+			this.waitlisted = waitlisted;
+		}
+	}
+
+	/**
+	 * A change waiting to be written.
+	 */
+	private static final class Entry {
+		/** Sequence number of the change, or 0 to stop the writer */
+		final long sequence;
+		/** The change's line, after its sequence number */
+		final String line;
+
+		/**
+		 * Constructs an entry.
+		 * @param sequence sequence number of the change
+		 * @param line the change's line, after its sequence number
+		 */
+		Entry(long sequence, String line) {
+			this.sequence = sequence;
+			this.line = line;
+		}
+	}
+
+	/** Entry that stops the writer */
+	private static final Entry CLOSE = new Entry(0, null);
+
+	/** Directory the journal and snapshot are in */
+	private final Path directory;
+	/** Run by the writer to take a snapshot */
+	private final Runnable checkpointer;
+	/** Changes waiting to be written, in sequence order */
+	private final LinkedBlockingQueue<Entry> queue = new LinkedBlockingQueue<Entry>();
+	/** Held while a change is given its sequence number and queued, so the queue is in order. The writer waits on it for changes. */
+	private final Object appendLock = new Object();
+	/** Held while the journal file is written or rotated */
+	private final Object fileLock = new Object();
+	/** Held while waiting for changes to be forced to the disk */
+	private final Object durableLock = new Object();
+	/** The thread that writes the queued changes */
+	private final Thread writer;
+	/** Sequence number of the last change queued */
+	private long lastSequence;
+	/** Sequence number of the last change forced to the disk */
+	private long durableSequence;
+	/** The journal file, written only by whoever holds fileLock */
+	private FileChannel channel;
+	/** Number of changes written since the last snapshot, guarded by fileLock */
+	private int sinceSnapshot;
+	/** Number of changes replayed when the journal was opened */
+	private int replayed;
+	/** Why the journal could not be written, or null if it has been */
+	private volatile IOException failure;
+	/** True once close() is called */
+	private volatile boolean closed;
+
+	/**
+	 * Constructs a journal that continues from the given sequence number. Call open() to recover
+	 *     and construct a journal.
+	 * @param directory directory the journal is in
+	 * @param lastSequence sequence number of the last change already recorded
+	 * @param checkpointer run by the writer to take a snapshot
+	 * @throws IOException if the journal file cannot be opened
+	 */
+	private RegistrationJournal(Path directory, long lastSequence, Runnable checkpointer) throws IOException {
+		this.directory = directory;
+		this.lastSequence = lastSequence;
+		this.durableSequence = lastSequence;
+		this.checkpointer = checkpointer;
+		channel = openJournalFile();
+		writer = new Thread(this::writeLoop, "registration-journal");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Recovers the registrations recorded in the given directory into the target, by restoring
+	 *     the snapshot and then making each change recorded after it again, and then opens the
+	 *     journal to record new changes. A change cut off by a crash, part way through its line,
+	 *     is removed from the journal.
+	 * @param directory directory of the journal, which is created if needed
+	 * @param target where the registrations are rebuilt
+	 * @param checkpointer run by the writer to take a snapshot every SNAPSHOT_EVERY changes
+	 * @return the open journal
+	 * @throws IOException if the journal or snapshot cannot be read, or the journal cannot be opened
+	 */
+	static RegistrationJournal open(String directory, Target target, Runnable checkpointer) throws IOException {
+		Path dir = Paths.get(directory);
+		Files.createDirectories(dir);
+		long snapshotSequence = readSnapshot(dir.resolve(SNAPSHOT_FILE), target);
+		long[] last = {snapshotSequence};
+		int replayed = 0;
+		for (Path rotated : rotatedJournals(dir).values()) {
+			replayed += replay(rotated, snapshotSequence, last, target);
+		}
+		Path current = dir.resolve(JOURNAL_FILE);
+		if (Files.exists(current)) {
+			replayed += replay(current, snapshotSequence, last, target);
+		}
+		RegistrationJournal journal = new RegistrationJournal(dir, last[0], checkpointer);
+		journal.replayed = replayed;
+		return journal;
+	}
+
+	/**
+	 * Returns the number of changes made again when the journal was opened.
+	 * @return the number of changes replayed
+	 */
+	int getReplayed() {
+		return replayed;
+	}
+
+	/**
+	 * Queues a change to be written. Must be called while the locks that made the change are
+	 *     still held, so changes to the same roll or Student are queued in the order they were made.
+	 * @param action the change
+	 * @param userId id of the Student or Faculty
+	 * @param name name of the course, or null
+	 * @param section section of the course, or null
+	 */
+	void append(Action action, String userId, String name, String section) {
+		String line = action + "," + userId + "," + (name == null ? "" : name) + "," + (section == null ? "" : section);
+		synchronized (appendLock) {
+			if (!closed) {
+				queue.add(new Entry(++lastSequence, line));
+				appendLock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Waits until every change appended so far is forced to the disk.
+	 * @throws IOException if the journal could not be written
+	 */
+	void flush() throws IOException {
+		long target;
+		synchronized (appendLock) {
+			target = lastSequence;
+		}
+		synchronized (durableLock) {
+			while (durableSequence < target && failure == null && writer.isAlive()) {
+				try {
+					durableLock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Writes every change appended so far, and stops the writer. No more changes are recorded.
+	 * @throws IOException if the journal could not be written
+	 */
+	void close() throws IOException {
+		synchronized (appendLock) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			queue.add(CLOSE);
+			appendLock.notifyAll();
+		}
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (fileLock) {
+			channel.close();
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Starts a snapshot. Writes every queued change, and moves the journal aside, named by the
+	 *     sequence number of its last change, so new changes go to a new journal. Must be called
+	 *     while no change is being made, so the snapshot taken after it holds exactly the changes
+	 *     up to the returned sequence number.
+	 * @return the sequence number of the last change the snapshot must include
+	 * @throws IOException if the journal cannot be written or moved
+	 */
+	long rotate() throws IOException {
+		synchronized (fileLock) {
+			ArrayList<Entry> batch = new ArrayList<Entry>();
+			queue.drainTo(batch);
+			boolean close = batch.remove(CLOSE);
+			write(batch);
+			long sequence;
+			synchronized (appendLock) {
+				if (close) {
+					queue.add(CLOSE);
+					appendLock.notifyAll();
+				}
+				sequence = lastSequence;
+			}
+			if (channel.size() > 0) {
+				channel.close();
+				Files.move(directory.resolve(JOURNAL_FILE), directory.resolve(ROTATED_PREFIX + sequence + ROTATED_SUFFIX),
+						StandardCopyOption.ATOMIC_MOVE);
+				channel = openJournalFile();
+			}
+			sinceSnapshot = 0;
+			return sequence;
+		}
+	}
+
+	/**
+	 * Writes a snapshot of the given courses, and deletes the journals it replaces.
+	 * @param sequence sequence number of the last change the snapshot includes, from rotate()
+	 * @param courses the state of every course
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	void writeSnapshot(long sequence, List<CourseState> courses) throws IOException {
+		Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+		try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+			out.write(SNAPSHOT_HEADER + "," + sequence + "\n");
+			for (CourseState course : courses) {
+				out.write("C," + course.name + "," + course.section + "," + (course.instructorId == null ? "" : course.instructorId) + "\n");
+				for (String id : course.enrolled) {
+					out.write("E," + id + "\n");
+				}
+				for (String id : course.waitlisted) {
+					out.write("W," + id + "\n");
+				}
+			}
+			out.write(SNAPSHOT_END + "\n");
+		}
+		try (FileChannel file = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+			file.force(true);
+		}
+		// The rename is forced to the disk before the journals it replaces are deleted
+		DurableFiles.replace(temp, directory.resolve(SNAPSHOT_FILE));
+		for (java.util.Map.Entry<Long, Path> rotated : rotatedJournals(directory).entrySet()) {
+			if (rotated.getKey() <= sequence) {
+				Files.delete(rotated.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Takes the queued changes in batches, writing and forcing each batch at once, until closed.
+	 *     Takes a snapshot every SNAPSHOT_EVERY changes. Each batch is taken from the queue while
+	 *     fileLock is held, so rotate() never moves the journal aside while the writer holds
+	 *     changes it has not yet written.
+	 */
+	private void writeLoop() {
+		ArrayList<Entry> batch = new ArrayList<Entry>();
+		boolean open = true;
+		while (open) {
+			synchronized (appendLock) {
+				try {
+					while (queue.isEmpty()) {
+						appendLock.wait();
+					}
+				} catch (InterruptedException e) {
+					open = false;
+				}
+			}
+			boolean snapshot;
+			synchronized (fileLock) {
+				queue.drainTo(batch);
+				if (batch.remove(CLOSE)) {
+					open = false;
+				}
+				try {
+					write(batch);
+				} catch (IOException e) {
+					failure = e;
+					open = false;
+				}
+				snapshot = open && sinceSnapshot >= SNAPSHOT_EVERY;
+			}
+			batch.clear();
+			if (snapshot) {
+				try {
+					checkpointer.run();
+				} catch (IllegalArgumentException e) {
+					// The journal is kept until a snapshot is written, so nothing is lost
+				}
+			}
+		}
+		synchronized (durableLock) {
+			durableLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Writes the changes to the journal and forces them to the disk. The caller holds fileLock.
+	 * @param batch the changes, in sequence order
+	 * @throws IOException if the journal cannot be written
+	 */
+	private void write(List<Entry> batch) throws IOException {
+		if (batch.isEmpty()) {
+			return;
+		}
+		StringBuilder lines = new StringBuilder(batch.size() * 40);
+		for (Entry entry : batch) {
+			lines.append(entry.sequence).append(',').append(entry.line).append('\n');
+		}
+		ByteBuffer bytes = StandardCharsets.UTF_8.encode(lines.toString());
+		while (bytes.hasRemaining()) {
+			channel.write(bytes);
+		}
+		channel.force(false);
+		sinceSnapshot += batch.size();
+		synchronized (durableLock) {
+			durableSequence = Math.max(durableSequence, batch.get(batch.size() - 1).sequence);
+			durableLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Opens the journal file to append to.
+	 * @return the file
+	 * @throws IOException if the file cannot be opened
+	 */
+	private FileChannel openJournalFile() throws IOException {
+		return FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+	}
+
+	/**
+	 * Restores the courses in a snapshot, if there is one.
+	 * @param file the snapshot
+	 * @param target where the courses are restored
+	 * @return the sequence number of the last change the snapshot includes, or 0 if there is no snapshot
+	 * @throws IOException if the snapshot cannot be read or is incomplete
+	 */
+	private static long readSnapshot(Path file, Target target) throws IOException {
+		if (!Files.exists(file)) {
+			return 0;
+		}
+		try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String[] header = in.readLine().split(",");
+			if (header.length != 2 || !SNAPSHOT_HEADER.equals(header[0])) {
+				throw new IOException("Invalid snapshot " + file);
+			}
+			long sequence = Long.parseLong(header[1]);
+			String name = null;
+			String section = null;
+			String instructorId = null;
+			List<String> enrolled = new ArrayList<String>();
+			List<String> waitlisted = new ArrayList<String>();
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				String[] fields = line.split(",", -1);
+				if ("E".equals(fields[0])) {
+					enrolled.add(fields[1]);
+				} else if ("W".equals(fields[0])) {
+					waitlisted.add(fields[1]);
+				} else {
+					if (name != null) {
+						target.restore(new CourseState(name, section, instructorId, enrolled, waitlisted));
+						enrolled = new ArrayList<String>();
+						waitlisted = new ArrayList<String>();
+					}
+					if (SNAPSHOT_END.equals(fields[0])) {
+						return sequence;
+					}
+					name = fields[1];
+					section = fields[2];
+					instructorId = fields[3].isEmpty() ? null : fields[3];
+				}
+			}
+			throw new IOException("Incomplete snapshot " + file);
+		} catch (NullPointerException | ArrayIndexOutOfBoundsException | NumberFormatException e) {
+			throw new IOException("Invalid snapshot " + file);
+		}
+	}
+
+	/**
+	 * Makes the changes in a journal after the snapshot again. Stops at the first line that is not
+	 *     a whole change, which can only be the last, cut off by a crash, and cuts the file there.
+	 * @param file the journal
+	 * @param snapshotSequence sequence number of the last change in the snapshot
+	 * @param last holds the sequence number of the last change read, which is updated
+	 * @param target where the changes are made
+	 * @return the number of changes made
+	 * @throws IOException if the journal cannot be read
+	 */
+	private static int replay(Path file, long snapshotSequence, long[] last, Target target) throws IOException {
+		byte[] bytes = Files.readAllBytes(file);
+		int applied = 0;
+		int start = 0;
+		for (int end = indexOf(bytes, start); end >= 0; end = indexOf(bytes, start)) {
+			String[] fields = new String(bytes, start, end - start, StandardCharsets.UTF_8).split(",", -1);
+			long sequence;
+			Action action;
+			try {
+				sequence = Long.parseLong(fields[0]);
+				action = Action.valueOf(fields[1]);
+			} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+				break;
+			}
+			if (fields.length != FIELDS) {
+				break;
+			}
+			if (sequence > snapshotSequence) {
+				target.apply(action, fields[2], fields[3].isEmpty() ? null : fields[3], fields[4].isEmpty() ? null : fields[4]);
+				applied++;
+			}
+			last[0] = Math.max(last[0], sequence);
+			start = end + 1;
+		}
+		if (start < bytes.length) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+				channel.truncate(start);
+				channel.force(true);
+			}
+		}
+		return applied;
+	}
+
+	/**
+	 * Returns the index of the next newline.
+	 * @param bytes the bytes to search
+	 * @param from index to search from
+	 * @return the index of the newline, or -1 if there is none
+	 */
+	private static int indexOf(byte[] bytes, int from) {
+		for (int i = from; i < bytes.length; i++) {
+			if (bytes[i] == '\n') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the rotated journals in the directory, by the sequence number of their last change.
+	 * @param directory the directory
+	 * @return the rotated journals, in sequence order
+	 * @throws IOException if the directory cannot be read
+	 */
+	private static TreeMap<Long, Path> rotatedJournals(Path directory) throws IOException {
+		TreeMap<Long, Path> rotated = new TreeMap<Long, Path>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, ROTATED_PREFIX + "*" + ROTATED_SUFFIX)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				try {
+					rotated.put(Long.parseLong(name.substring(ROTATED_PREFIX.length(), name.length() - ROTATED_SUFFIX.length())), file);
+				} catch (NumberFormatException e) {
+					// Not a rotated journal
+				}
+			}
+		}
+		return rotated;
+	}
+}
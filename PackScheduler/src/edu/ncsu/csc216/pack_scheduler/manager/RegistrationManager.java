@@ -3,10 +3,11 @@ package edu.ncsu.csc216.pack_scheduler.manager;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
@@ -14,6 +15,7 @@ import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
@@ -22,6 +24,18 @@ import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
  * Singleton class that manages a Course catalog and Student directory. Contains a registrar User that can
  * use the manager
  * 
+ * Users can either log in as the single current user, as the GUI does, or open a Session, through which
+ * many users can be logged in and act at the same time.
+ * 
+ * Enrolling, dropping, and resetting a schedule lock the course's roll and then the Students whose
+ * Schedules change. Students are locked by stripe, in stripe order, and a thread never holds one roll's
+ * lock while waiting for another's, so users in different courses enroll in parallel without deadlock.
+ * 
+ * Once openJournal() is called, each enroll, drop, and reset, and each change to a FacultySchedule, is
+ * recorded in a RegistrationJournal while its locks are still held, so the journal has the changes to each
+ * roll and Student in the order they were made. On a restart, openJournal() makes the recorded changes
+ * again, rebuilding the rolls, waitlists, and Schedules of the catalog and directories that were loaded.
+ * 
  * @author Warren Long
  */
 public class RegistrationManager {
@@ -29,7 +43,7 @@ public class RegistrationManager {
 	/**
 	 * A single instance of RegistrationManager
 	 */
-	private static RegistrationManager instance;
+	private static volatile RegistrationManager instance;
 	
 	/**
 	 * Catalog of the available courses
@@ -56,8 +70,28 @@ public class RegistrationManager {
 	 */
 	private FacultyDirectory facultyDirectory;
 	
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	/**
+	 * The open sessions, by their tokens
+	 */
+	private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<String, Session>();
+	
+	/** Number of locks Students are spread over */
+	private static final int STUDENT_LOCK_STRIPES = 64;
+	
+	/**
+	 * Locks for Students' Schedules, each Student using the lock at the stripe for their id
+	 */
+	private final ReentrantLock[] studentLocks = new ReentrantLock[STUDENT_LOCK_STRIPES];
+	
+	/**
+	 * The journal registrations are recorded in, or null if there is none
+	 */
+	private volatile RegistrationJournal journal;
+	
+	/**
+	 * Held while a snapshot is taken and written, so snapshots are written in order
+	 */
+	private final Object checkpointLock = new Object();
 	
 	/** Properties File containing the registrar login information */
 	private static final String PROP_FILE = "registrar.properties";
@@ -68,6 +102,9 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if the registrar inner class cannot be constructed with the given properties.
 	 */
 	private RegistrationManager() {
+		for (int i = 0; i < STUDENT_LOCK_STRIPES; i++) {
+			studentLocks[i] = new ReentrantLock();
+		}
 		courseCatalog = new CourseCatalog();
 		studentDirectory = new StudentDirectory();
 		facultyDirectory = new FacultyDirectory();
@@ -86,7 +123,7 @@ public class RegistrationManager {
 		try (InputStream input = new FileInputStream(PROP_FILE)) {
 			prop.load(input);
 			
-			String hashPW = hashPW(prop.getProperty("pw"));
+			String hashPW = PasswordHasher.hash(prop.getProperty("pw"));
 			
 			registrar = new Registrar(prop.getProperty("first"), prop.getProperty("last"), prop.getProperty("id"), prop.getProperty("email"), hashPW);
 		} catch (IOException e) {
@@ -95,31 +132,23 @@ public class RegistrationManager {
 	}
 	
 	/**
-	 * Returns a hashed version of the given password using the HASH_ALGORITHM variable algorithm.
-	 * @param pw The password to hash.
-	 * @return The hashed version of the password.
-	 * @throws IllegalArgumentException if the password cannot be hashed.
-	 */
-	private String hashPW(String pw) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(pw.getBytes());
-			return Base64.getEncoder().encodeToString(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
-		}
-	}
-	
-	/**
-	 * Returns a static, singleton instance of RegistrationManager.
+	 * Returns a static, singleton instance of RegistrationManager. Safe to call from many threads at once,
+	 *     only one instance is ever constructed.
 	 * @return a new RegistrationManager if there isn't one already, the old one if there was.
 	 * @throws IllegalArgumentException if constructing a new RegistrationManager and a registrar cannot be constructed with the local registrar properties.
 	 */
 	public static RegistrationManager getInstance() {
-		if (instance == null) {
-			instance = new RegistrationManager();
+		RegistrationManager manager = instance;
+		if (manager == null) {
+			synchronized (RegistrationManager.class) {
+				manager = instance;
+				if (manager == null) {
+					manager = new RegistrationManager();
+					instance = manager;
+				}
+			}
 		}
-		return instance;
+		return manager;
 	}
 	
 	/**
@@ -157,39 +186,86 @@ public class RegistrationManager {
 		if (currentUser != null) {
 			return false;
 		}
+		User user = authenticate(id, password);
+		if (user != null) {
+			currentUser = user;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Opens a new Session for the User with the given id and password. Any number of sessions can be
+	 *     open at once, and opening one does not change the current user.
+	 * @param id id of the User.
+	 * @param password password of the User.
+	 * @return the new Session, or null if the password is incorrect.
+	 * @throws IllegalArgumentException if there is no user associated with the given id.
+	 */
+	public Session openSession(String id, String password) {
+		User user = authenticate(id, password);
+		if (user == null) {
+			return null;
+		}
+		Session session = new Session(user);
+		sessions.put(session.getToken(), session);
+		return session;
+	}
+	
+	/**
+	 * Closes the given Session, after which it can no longer be used.
+	 * @param session the Session to close.
+	 */
+	public void closeSession(Session session) {
+		if (session != null) {
+			sessions.remove(session.getToken(), session);
+		}
+	}
+	
+	/**
+	 * Returns the open Session with the given token.
+	 * @param token the token of the Session.
+	 * @return the Session, or null if there is no open Session with the token.
+	 */
+	public Session getSession(String token) {
+		return token == null ? null : sessions.get(token);
+	}
+	
+	/**
+	 * Returns the User with the given id if the password is theirs.
+	 * @param id id of the User.
+	 * @param password password of the User.
+	 * @return the User, or null if the password is incorrect.
+	 * @throws IllegalArgumentException if there is no user associated with the given id.
+	 */
+	private User authenticate(String id, String password) {
 		Student s = studentDirectory.getStudentById(id);
 		Faculty f = facultyDirectory.getFacultyById(id);
-		String localHashPW = hashPW(password);
 		if (s != null) {
-			if (s.getPassword().equals(localHashPW)) {
-				currentUser = s;
-				return true;
-			}
-			else {
-				return false;
-			}
+			return PasswordHasher.matches(password, s.getPassword()) ? s : null;
 		}
 		if (f != null) {
-			if (f.getPassword().equals(localHashPW)) {
-				currentUser = f;
-				return true;
-			}
-			else {
-				return false;
-			}
+			return PasswordHasher.matches(password, f.getPassword()) ? f : null;
 		}
 		if (registrar.getId().equals(id)){
-			if (registrar.getPassword().equals(localHashPW)) {
-				currentUser = registrar;
-				return true;
-			}
-			else {
-				return false;
-			}
+			return PasswordHasher.matches(password, registrar.getPassword()) ? registrar : null;
 		}	
 		throw new IllegalArgumentException("User doesn't exist.");
 	}
 	
+	/**
+	 * Returns the User logged in through the given Session.
+	 * @param session the Session.
+	 * @return the Session's User.
+	 * @throws IllegalArgumentException if the Session is not open.
+	 */
+	private User sessionUser(Session session) {
+		if (session == null || sessions.get(session.getToken()) != session) {
+			throw new IllegalArgumentException("Illegal Action");
+		}
+		return session.getUser();
+	}
+	
 	/**
 	 * Logs the user out. CurrentUser becomes null.
 	 */
@@ -207,14 +283,247 @@ public class RegistrationManager {
 	
 	/**
 	 * Resets the courseCatalog and studentDirectory.
-	 * Also clears currentUser.
+	 * Also clears currentUser, closes every open Session, and closes the journal, if one is open.
 	 */
 	public void clearData() {
+		if (journal != null) {
+			closeJournal();
+		}
 		courseCatalog.newCourseCatalog();
 		studentDirectory.newStudentDirectory();
 		facultyDirectory.newFacultyDirectory();
+		sessions.clear();
 		logout();
 	}
+	
+	/**
+	 * Rebuilds the registrations recorded in the journal in the given directory, and then records every
+	 *     registration made from now on there. The course catalog, student directory, and faculty
+	 *     directory must be loaded first, and no registrations made yet. Changes to Students or courses
+	 *     that are no longer in them are skipped.
+	 * @param directory directory of the journal, created if it does not exist
+	 * @return the number of recorded changes made again, after the last snapshot
+	 * @throws IllegalArgumentException if a journal is already open, or the journal cannot be read or opened
+	 */
+	public synchronized int openJournal(String directory) {
+		if (journal != null) {
+			throw new IllegalArgumentException("Journal is already open.");
+		}
+		try {
+			RegistrationJournal opened = RegistrationJournal.open(directory, new RegistrationJournal.Target() {
+				@Override
+				public void restore(RegistrationJournal.CourseState state) {
+					restoreCourse(state);
+				}
+				
+				@Override
+				public boolean apply(RegistrationJournal.Action action, String userId, String name, String section) {
+					return replay(action, userId, name, section);
+				}
+			}, this::checkpoint);
+			journal = opened;
+			return opened.getReplayed();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to open journal in " + directory);
+		}
+	}
+	
+	/**
+	 * Writes a snapshot of every roll, waitlist, and instructor to the journal's directory, after which
+	 *     the journal before it is deleted. Registrations wait while the snapshot is taken, but not while
+	 *     it is written. Does nothing if no journal is open.
+	 * @throws IllegalArgumentException if the snapshot cannot be written
+	 */
+	public void checkpoint() {
+		synchronized (checkpointLock) {
+			RegistrationJournal current = journal;
+			if (current != null) {
+				checkpoint(current);
+			}
+		}
+	}
+	
+	/**
+	 * Takes a snapshot of every roll, waitlist, and instructor, and writes it with the given journal.
+	 * @param current the open journal
+	 * @throws IllegalArgumentException if the snapshot cannot be written
+	 */
+	private void checkpoint(RegistrationJournal current) {
+		String[][] rows = courseCatalog.getCourseCatalog();
+		List<CourseRoll> rolls = new ArrayList<CourseRoll>(rows.length);
+		List<Course> courses = new ArrayList<Course>(rows.length);
+		for (String[] row : rows) {
+			Course c = courseCatalog.getCourseFromCatalog(row[0], row[1]);
+			if (c != null) {
+				courses.add(c);
+				rolls.add(c.getCourseRoll());
+			}
+		}
+		// Every roll, then every Student, is locked in the same order as enrolling locks them
+		for (CourseRoll roll : rolls) {
+			roll.getLock().lock();
+		}
+		for (ReentrantLock lock : studentLocks) {
+			lock.lock();
+		}
+		long sequence;
+		List<RegistrationJournal.CourseState> states = new ArrayList<RegistrationJournal.CourseState>(courses.size());
+		try {
+			sequence = current.rotate();
+			for (Course c : courses) {
+				states.add(new RegistrationJournal.CourseState(c.getName(), c.getSection(), c.getInstructorId(),
+						ids(c.getCourseRoll().getEnrolledStudents()), ids(c.getCourseRoll().getWaitlistedStudents())));
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write snapshot.");
+		} finally {
+			unlock(studentLocks);
+			for (int i = rolls.size() - 1; i >= 0; i--) {
+				rolls.get(i).getLock().unlock();
+			}
+		}
+		try {
+			current.writeSnapshot(sequence, states);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write snapshot.");
+		}
+	}
+	
+	/**
+	 * Writes a snapshot, waits until every registration is on the disk, and closes the journal. Does
+	 *     nothing if no journal is open.
+	 * @throws IllegalArgumentException if the journal cannot be written
+	 */
+	public synchronized void closeJournal() {
+		RegistrationJournal current = journal;
+		if (current == null) {
+			return;
+		}
+		try {
+			checkpoint();
+		} finally {
+			journal = null;
+			try {
+				current.close();
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write journal.");
+			}
+		}
+	}
+	
+	/**
+	 * Waits until every registration made so far is on the disk. Registrations do not wait to be
+	 *     written themselves, and are written within a few milliseconds. Does nothing if no journal is open.
+	 * @throws IllegalArgumentException if the journal cannot be written
+	 */
+	public void flushJournal() {
+		RegistrationJournal current = journal;
+		if (current != null) {
+			try {
+				current.flush();
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write journal.");
+			}
+		}
+	}
+	
+	/**
+	 * Records a change in the journal, if one is open.
+	 * @param action the change
+	 * @param userId id of the Student or Faculty
+	 * @param c the course changed, or null
+	 */
+	private void journal(RegistrationJournal.Action action, String userId, Course c) {
+		RegistrationJournal current = journal;
+		if (current != null) {
+			current.append(action, userId, c == null ? null : c.getName(), c == null ? null : c.getSection());
+		}
+	}
+	
+	/**
+	 * Makes a recorded change again.
+	 * @param action the change
+	 * @param userId id of the Student or Faculty
+	 * @param name name of the course, or null
+	 * @param section section of the course, or null
+	 * @return true if the change was made
+	 */
+	private boolean replay(RegistrationJournal.Action action, String userId, String name, String section) {
+		Course c = name == null ? null : courseCatalog.getCourseFromCatalog(name, section);
+		try {
+			switch (action) {
+			case ENROLL:
+			case WAITLIST:
+				Student enrolling = studentDirectory.getStudentById(userId);
+				return enrolling != null && c != null && enrollStudentInCourse(enrolling, c);
+			case DROP:
+				Student dropping = studentDirectory.getStudentById(userId);
+				return dropping != null && c != null && dropStudentFromCourse(dropping, c);
+			case RESET:
+				Student resetting = studentDirectory.getStudentById(userId);
+				if (resetting != null) {
+					resetSchedule(resetting);
+				}
+				return resetting != null;
+			case ASSIGN:
+				Faculty assigned = facultyDirectory.getFacultyById(userId);
+				return assigned != null && c != null && assigned.getSchedule().addCourseToSchedule(c);
+			case UNASSIGN:
+				Faculty unassigned = facultyDirectory.getFacultyById(userId);
+				return unassigned != null && c != null && unassigned.getSchedule().removeCourseFromSchedule(c);
+			default:
+				Faculty reset = facultyDirectory.getFacultyById(userId);
+				if (reset != null) {
+					reset.getSchedule().resetSchedule();
+				}
+				return reset != null;
+			}
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Restores a course from a snapshot, assigning its instructor and enrolling its Students and then its
+	 *     waitlist in order.
+	 * @param state the course's state
+	 */
+	private void restoreCourse(RegistrationJournal.CourseState state) {
+		Course c = courseCatalog.getCourseFromCatalog(state.name, state.section);
+		if (c == null) {
+			return;
+		}
+		String instructorId = c.getInstructorId();
+		if (instructorId != null && !instructorId.equals(state.instructorId)) {
+			Faculty f = facultyDirectory.getFacultyById(instructorId);
+			if (f == null || !f.getSchedule().removeCourseFromSchedule(c)) {
+				c.setInstructorId(null);
+			}
+		}
+		if (state.instructorId != null && c.getInstructorId() == null) {
+			replay(RegistrationJournal.Action.ASSIGN, state.instructorId, state.name, state.section);
+		}
+		for (String id : state.enrolled) {
+			replay(RegistrationJournal.Action.ENROLL, id, state.name, state.section);
+		}
+		for (String id : state.waitlisted) {
+			replay(RegistrationJournal.Action.WAITLIST, id, state.name, state.section);
+		}
+	}
+	
+	/**
+	 * Returns the ids of the given Students.
+	 * @param students the Students
+	 * @return their ids, in the same order
+	 */
+	private static List<String> ids(Student[] students) {
+		List<String> ids = new ArrayList<String>(students.length);
+		for (Student s : students) {
+			ids.add(s.getId());
+		}
+		return ids;
+	}
+	
 	/**
 	 * Returns true if the logged in student can enroll in the given course.
 	 * @param c Course to enroll in
@@ -222,24 +531,106 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if the user is not a student
 	 */
 	public boolean enrollStudentInCourse(Course c) {
-	    if (!(currentUser instanceof Student)) {
+	    return enrollStudentInCourse(currentUser, c);
+	}
+	
+	/**
+	 * Returns true if the student logged in through the given session can enroll in the given course.
+	 * @param session Session of the student
+	 * @param c Course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException if the session is not open or its user is not a student
+	 */
+	public boolean enrollStudentInCourse(Session session, Course c) {
+	    return enrollStudentInCourse(sessionUser(session), c);
+	}
+	
+	/**
+	 * Returns true if the given user is a student that can enroll in the given course.
+	 * @param user User to enroll
+	 * @param c Course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException if the user is not a student
+	 */
+	private boolean enrollStudentInCourse(User user, Course c) {
+	    if (!(user instanceof Student)) {
 	        throw new IllegalArgumentException("Illegal Action");
 	    }
+	    Student s = (Student)user;
+	    CourseRoll roll = c.getCourseRoll();
+	    // A full course is turned away without waiting for its lock
+	    if (!roll.hasRoom()) {
+	        return false;
+	    }
+	    boolean enrolled = false;
+	    roll.getLock().lock();
+	    ReentrantLock[] locks = lockStudents(s, null);
 	    try {
-	        Student s = (Student)currentUser;
 	        Schedule schedule = s.getSchedule();
-	        CourseRoll roll = c.getCourseRoll();
 	        
 	        if (s.canAdd(c) && roll.canEnroll(s)) {
+	            boolean seat = roll.getOpenSeats() > 0;
 	            schedule.addCourseToSchedule(c);
 	            roll.enroll(s);
-	            return true;
+	            enrolled = true;
+	            journal(seat ? RegistrationJournal.Action.ENROLL : RegistrationJournal.Action.WAITLIST, s.getId(), c);
 	        }
 	        
 	    } catch (IllegalArgumentException e) {
 	        return false;
+	    } finally {
+	        unlock(locks);
+	        roll.getLock().unlock();
+	    }
+	    if (enrolled) {
+	        courseCatalog.courseUpdated(c);
+	    }
+	    return enrolled;
+	}
+
+	/**
+	 * Returns every course in the catalog that the logged in student can enroll in right now, in
+	 * catalog order.
+	 * @return the courses the student can add
+	 * @throws IllegalArgumentException if the user is not a student
+	 */
+	public Course[] getCoursesStudentCanAdd() {
+	    return getCoursesStudentCanAdd(currentUser);
+	}
+	
+	/**
+	 * Returns every course in the catalog that the student logged in through the given session can
+	 * enroll in right now, in catalog order.
+	 * @param session Session of the student
+	 * @return the courses the student can add
+	 * @throws IllegalArgumentException if the session is not open or its user is not a student
+	 */
+	public Course[] getCoursesStudentCanAdd(Session session) {
+	    return getCoursesStudentCanAdd(sessionUser(session));
+	}
+	
+	/**
+	 * Returns every course in the catalog that the given user, who must be a student, can enroll
+	 * in, as enrollStudentInCourse() would find: the course's credits fit under the student's max
+	 * credits, no course in their schedule has its name or conflicts with it, and it has an open
+	 * seat or room on its waitlist. The student is locked only while the catalog is checked
+	 * against their schedule, and the rolls are read without their locks, so a course can fill
+	 * up before the student enrolls in it.
+	 * @param user User to find courses for
+	 * @return the courses the student can add
+	 * @throws IllegalArgumentException if the user is not a student
+	 */
+	private Course[] getCoursesStudentCanAdd(User user) {
+	    if (!(user instanceof Student)) {
+	        throw new IllegalArgumentException("Illegal Action");
+	    }
+	    Student s = (Student)user;
+	    ReentrantLock[] locks = lockStudents(s, null);
+	    try {
+	        return courseCatalog.getCoursesAddable(s.getSchedule(), s.getMaxCredits());
+	    } finally {
+	        unlock(locks);
 	    }
-	    return false;
 	}
 
 	/**
@@ -249,16 +640,53 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if the user is not a student
 	 */
 	public boolean dropStudentFromCourse(Course c) {
-	    if (!(currentUser instanceof Student)) {
+	    return dropStudentFromCourse(currentUser, c);
+	}
+	
+	/**
+	 * Returns true if the student logged in through the given session can drop the given course.
+	 * @param session Session of the student
+	 * @param c Course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException if the session is not open or its user is not a student
+	 */
+	public boolean dropStudentFromCourse(Session session, Course c) {
+	    return dropStudentFromCourse(sessionUser(session), c);
+	}
+	
+	/**
+	 * Returns true if the given user is a student that can drop the given course.
+	 * @param user User to drop
+	 * @param c Course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException if the user is not a student
+	 */
+	private boolean dropStudentFromCourse(User user, Course c) {
+	    if (!(user instanceof Student)) {
 	        throw new IllegalArgumentException("Illegal Action");
 	    }
+	    Student s = (Student)user;
+	    CourseRoll roll = c.getCourseRoll();
+	    roll.getLock().lock();
+	    // The first Student on the waitlist may be moved into the roll, changing their Schedule too
+	    ReentrantLock[] locks = lockStudents(s, roll.getNextOnWaitlist());
+	    boolean dropped;
 	    try {
-	        Student s = (Student)currentUser;
-	        c.getCourseRoll().drop(s);
-	        return s.getSchedule().removeCourseFromSchedule(c);
+	        roll.drop(s);
+	        dropped = s.getSchedule().removeCourseFromSchedule(c);
+	        if (dropped) {
+	            journal(RegistrationJournal.Action.DROP, s.getId(), c);
+	        }
 	    } catch (IllegalArgumentException e) {
 	        return false; 
+	    } finally {
+	        unlock(locks);
+	        roll.getLock().unlock();
 	    }
+	    if (dropped) {
+	        courseCatalog.courseUpdated(c);
+	    }
+	    return dropped;
 	}
 	
 	/**
@@ -268,10 +696,44 @@ public class RegistrationManager {
 	 * @return True if the course was added successfully, false otherwise.
 	 */
 	public boolean addFacultyToCourse(Course c, Faculty f) {
-		if (currentUser != registrar) {
+		return addFacultyToCourse(currentUser, c, f);
+	}
+	
+	/**
+	 * Adds the given faculty member to the course as the registrar logged in through the given session.
+	 * @param session Session of the registrar.
+	 * @param c The Course.
+	 * @param f The Faculty member.
+	 * @return True if the course was added successfully, false otherwise.
+	 * @throws IllegalArgumentException if the session is not open or its user is not the registrar
+	 */
+	public boolean addFacultyToCourse(Session session, Course c, Faculty f) {
+		return addFacultyToCourse(sessionUser(session), c, f);
+	}
+	
+	/**
+	 * Adds the given faculty member to the course if the given user is the registrar.
+	 * @param user The User making the change.
+	 * @param c The Course.
+	 * @param f The Faculty member.
+	 * @return True if the course was added successfully, false otherwise.
+	 * @throws IllegalArgumentException if the user is not the registrar
+	 */
+	private boolean addFacultyToCourse(User user, Course c, Faculty f) {
+		if (user != registrar) {
 			throw new IllegalArgumentException();
 		}
-		return currentUser != null && currentUser.equals(registrar) && f.getSchedule().addCourseToSchedule(c);
+		// The roll's lock keeps the change and its record in order with a snapshot
+		c.getCourseRoll().getLock().lock();
+		try {
+			boolean added = f.getSchedule().addCourseToSchedule(c);
+			if (added) {
+				journal(RegistrationJournal.Action.ASSIGN, f.getId(), c);
+			}
+			return added;
+		} finally {
+			c.getCourseRoll().getLock().unlock();
+		}
 	}
 	
 	/**
@@ -281,10 +743,43 @@ public class RegistrationManager {
 	 * @return True if the course was removed successfully, false otherwise.
 	 */
 	public boolean removeFacultyFromCourse(Course c, Faculty f) {
-		if (currentUser != registrar) {
+		return removeFacultyFromCourse(currentUser, c, f);
+	}
+	
+	/**
+	 * Removes the given faculty member from the course as the registrar logged in through the given session.
+	 * @param session Session of the registrar.
+	 * @param c The Course.
+	 * @param f The Faculty member.
+	 * @return True if the course was removed successfully, false otherwise.
+	 * @throws IllegalArgumentException if the session is not open or its user is not the registrar
+	 */
+	public boolean removeFacultyFromCourse(Session session, Course c, Faculty f) {
+		return removeFacultyFromCourse(sessionUser(session), c, f);
+	}
+	
+	/**
+	 * Removes the given faculty member from the course if the given user is the registrar.
+	 * @param user The User making the change.
+	 * @param c The Course.
+	 * @param f The Faculty member.
+	 * @return True if the course was removed successfully, false otherwise.
+	 * @throws IllegalArgumentException if the user is not the registrar
+	 */
+	private boolean removeFacultyFromCourse(User user, Course c, Faculty f) {
+		if (user != registrar) {
 			throw new IllegalArgumentException();
 		}
-		return currentUser != null && currentUser.equals(registrar) && f.getSchedule().removeCourseFromSchedule(c);
+		c.getCourseRoll().getLock().lock();
+		try {
+			boolean removed = f.getSchedule().removeCourseFromSchedule(c);
+			if (removed) {
+				journal(RegistrationJournal.Action.UNASSIGN, f.getId(), c);
+			}
+			return removed;
+		} finally {
+			c.getCourseRoll().getLock().unlock();
+		}
 	}
 	
 	/**
@@ -292,12 +787,67 @@ public class RegistrationManager {
 	 * @param f The Faculty member.
 	 */
 	public void resetFacultySchedule(Faculty f) {
-		if (currentUser != registrar) {
+		resetFacultySchedule(currentUser, f);
+	}
+	
+	/**
+	 * Resets the given Faculty's FacultySchedule as the registrar logged in through the given session.
+	 * @param session Session of the registrar.
+	 * @param f The Faculty member.
+	 * @throws IllegalArgumentException if the session is not open or its user is not the registrar
+	 */
+	public void resetFacultySchedule(Session session, Faculty f) {
+		resetFacultySchedule(sessionUser(session), f);
+	}
+	
+	/**
+	 * Resets the given Faculty's FacultySchedule if the given user is the registrar. The rolls of
+	 *     the Faculty's courses are locked in catalog order, as checkpoint() locks them, so the
+	 *     reset and its record stay in order with a snapshot.
+	 * @param user The User making the change.
+	 * @param f The Faculty member.
+	 * @throws IllegalArgumentException if the user is not the registrar
+	 */
+	private void resetFacultySchedule(User user, Faculty f) {
+		if (user != registrar) {
 			throw new IllegalArgumentException();
 		}
-		if(currentUser != null && currentUser.equals(registrar)) {
-			f.getSchedule().resetSchedule();
+		while (true) {
+			List<Course> courses = facultyCourses(f);
+			for (Course c : courses) {
+				c.getCourseRoll().getLock().lock();
+			}
+			try {
+				// A course assigned or unassigned before its roll was locked means locking again
+				if (facultyCourses(f).equals(courses)) {
+					f.getSchedule().resetSchedule();
+					journal(RegistrationJournal.Action.FACULTY_RESET, f.getId(), null);
+					return;
+				}
+			} finally {
+				for (int i = courses.size() - 1; i >= 0; i--) {
+					courses.get(i).getCourseRoll().getLock().unlock();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the catalog's courses the given Faculty is scheduled to teach, in catalog order.
+	 * @param f The Faculty member.
+	 * @return the courses, in catalog order
+	 */
+	private List<Course> facultyCourses(Faculty f) {
+		String[][] scheduled = f.getSchedule().getScheduledCourses();
+		List<Course> courses = new ArrayList<Course>(scheduled.length);
+		for (String[] row : scheduled) {
+			Course c = courseCatalog.getCourseFromCatalog(row[0], row[1]);
+			if (c != null) {
+				courses.add(c);
+			}
 		}
+		courses.sort(null);
+		return courses;
 	}
 
 	/**
@@ -306,23 +856,110 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if the user is not a student
 	 */
 	public void resetSchedule() {
-	    if (!(currentUser instanceof Student)) {
+	    resetSchedule(currentUser);
+	}
+	
+	/**
+	 * Resets the schedule of the student logged in through the given session by dropping them
+	 * from every course and then resetting the schedule.
+	 * @param session Session of the student
+	 * @throws IllegalArgumentException if the session is not open or its user is not a student
+	 */
+	public void resetSchedule(Session session) {
+	    resetSchedule(sessionUser(session));
+	}
+	
+	/**
+	 * Resets the given student's schedule by dropping them
+	 * from every course and then resetting the schedule.
+	 * @param user User whose schedule is reset
+	 * @throws IllegalArgumentException if the user is not a student
+	 */
+	private void resetSchedule(User user) {
+	    if (!(user instanceof Student)) {
 	        throw new IllegalArgumentException("Illegal Action");
 	    }
 	    try {
-	        Student s = (Student)currentUser;
+	        Student s = (Student)user;
 	        Schedule schedule = s.getSchedule();
-	        String [][] scheduleArray = schedule.getScheduledCourses();
-	        for (int i = 0; i < scheduleArray.length; i++) {
-	            Course c = courseCatalog.getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
-	            c.getCourseRoll().drop(s);
+	        while (true) {
+	            String [][] scheduleArray;
+	            ReentrantLock[] locks = lockStudents(s, null);
+	            try {
+	                scheduleArray = schedule.getScheduledCourses();
+	                if (scheduleArray.length == 0) {
+	                    schedule.resetSchedule();
+	                    journal(RegistrationJournal.Action.RESET, s.getId(), null);
+	                    return;
+	                }
+	            } finally {
+	                unlock(locks);
+	            }
+	            // Each course is dropped on its own, as a roll can't be locked while the Student is.
+	            // The schedule is checked again after, in case a course was added in the meantime.
+	            for (int i = 0; i < scheduleArray.length; i++) {
+	                Course c = courseCatalog.getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
+	                CourseRoll roll = c.getCourseRoll();
+	                roll.getLock().lock();
+	                locks = lockStudents(s, roll.getNextOnWaitlist());
+	                try {
+	                    roll.drop(s);
+	                    if (schedule.removeCourseFromSchedule(c)) {
+	                        journal(RegistrationJournal.Action.DROP, s.getId(), c);
+	                    }
+	                } finally {
+	                    unlock(locks);
+	                    roll.getLock().unlock();
+	                }
+	                courseCatalog.courseUpdated(c);
+	            }
 	        }
-	        schedule.resetSchedule();
 	    } catch (IllegalArgumentException e) {
 	        //do nothing 
 	    }
 	}
 	
+	/**
+	 * Locks the given Students' stripes, lowest stripe first, so that two threads locking the
+	 *     same Students can never each hold a lock the other is waiting for.
+	 * @param first a Student to lock
+	 * @param second another Student to lock, or null to only lock the first
+	 * @return the locks held, to be given to unlock()
+	 */
+	private ReentrantLock[] lockStudents(Student first, Student second) {
+	    int a = stripe(first);
+	    int b = second == null ? a : stripe(second);
+	    ReentrantLock[] locks;
+	    if (a == b) {
+	        locks = new ReentrantLock[] {studentLocks[a]};
+	    } else {
+	        locks = new ReentrantLock[] {studentLocks[Math.min(a, b)], studentLocks[Math.max(a, b)]};
+	    }
+	    for (ReentrantLock lock : locks) {
+	        lock.lock();
+	    }
+	    return locks;
+	}
+	
+	/**
+	 * Unlocks the locks returned by lockStudents(), in the reverse order they were locked.
+	 * @param locks the locks to unlock
+	 */
+	private static void unlock(ReentrantLock[] locks) {
+	    for (int i = locks.length - 1; i >= 0; i--) {
+	        locks[i].unlock();
+	    }
+	}
+	
+	/**
+	 * Returns the stripe of the lock for the given Student.
+	 * @param s the Student
+	 * @return the index of the Student's lock
+	 */
+	private static int stripe(Student s) {
+	    return (s.getId().hashCode() & Integer.MAX_VALUE) % STUDENT_LOCK_STRIPES;
+	}
+	
 	/**
 	 * A class to represent the registrar user of the system.
 	 * @author CSC 217 team.
@@ -0,0 +1,53 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import edu.ncsu.csc216.pack_scheduler.user.User;
+
+/**
+ * A logged in User's session with the RegistrationManager. Each session has a random, unguessable
+ *     token that identifies it, so many users can be logged in at the same time, each acting
+ *     through their own session. Sessions are opened and closed by the RegistrationManager.
+ *
+ * @author Warren Long
+ */
+public final class Session {
+
+	/** Number of random bytes in a session token */
+	private static final int TOKEN_BYTES = 24;
+	/** Source of random session tokens */
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	/** The token that identifies this session */
+	private final String token;
+	/** The User logged in through this session */
+	private final User user;
+
+	/**
+	 * Creates a session with a new random token for the given User.
+	 * @param user the User logged in through this session
+	 */
+	Session(User user) {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		RANDOM.nextBytes(bytes);
+		this.token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		this.user = user;
+	}
+
+	/**
+	 * Returns the token that identifies this session.
+	 * @return the session token
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	/**
+	 * Returns the User logged in through this session.
+	 * @return the session's User
+	 */
+	public User getUser() {
+		return user;
+	}
+}
@@ -25,7 +25,6 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
@@ -373,11 +372,12 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 		if (e.getSource() == btnLoadCourseCatalog) {
 			try {
 				String fileName = getFileName(true);
-				catalog.loadCoursesFromFile(fileName);
-				courseCatalogTableModel.updateData();
-				scrollCourseCatalog.revalidate();
-				scrollCourseCatalog.repaint();
-				courseCatalogTableModel.fireTableDataChanged();
+				setLoading(true);
+				new FileLoadWorker(this, fileName, catalog::loadCoursesFromFile, () -> {
+					setLoading(false);
+					scrollCourseCatalog.revalidate();
+					scrollCourseCatalog.repaint();
+				}).execute();
 			} catch (IllegalArgumentException | IllegalStateException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
@@ -390,10 +390,8 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 			}
 		} else if (e.getSource() == btnNewCourseCatalog) {
 			catalog.newCourseCatalog();
-			courseCatalogTableModel.updateData();
 			scrollCourseCatalog.revalidate();
 			scrollCourseCatalog.repaint();
-			courseCatalogTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddCourse) {
 			String name = txtName.getText();
 			String title = txtTitle.getText();
@@ -488,7 +486,6 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			courseCatalogTableModel.updateData();
 		} else if (e.getSource() == btnRemoveCourse) {
 			int row = tableCourseCatalog.getSelectedRow();
 			if (row == -1 || row == courseCatalogTableModel.getRowCount()) {
@@ -500,13 +497,25 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No course selected.");
 				}
 			}
-			courseCatalogTableModel.updateData();
 		}
 		
 		this.validate();
 		this.repaint();
 	}
 	
+	/**
+	 * Turns the buttons that change the catalog off while a file is loading in the background,
+	 * and back on after.
+	 * @param loading true if a file is loading
+	 */
+	private void setLoading(boolean loading) {
+		btnNewCourseCatalog.setEnabled(!loading);
+		btnLoadCourseCatalog.setEnabled(!loading);
+		btnSaveCourseCatalog.setEnabled(!loading);
+		btnAddCourse.setEnabled(!loading);
+		btnRemoveCourse.setEnabled(!loading);
+	}
+	
 	/**
 	 * Returns a file name generated through interactions with a JFileChooser
 	 * object.
@@ -535,80 +544,31 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 	/**
 	 * CourseCatalogTableModel is the object underlying the JTable object that displays
 	 * the list of Courses to the user.
+	 * It is kept up to date by the CourseCatalog's row events.
 	 * @author Sarah Heckman
 	 */
-	private class CourseCatalogTableModel extends AbstractTableModel {
+	private class CourseCatalogTableModel extends RowTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"Name", "Section", "Title", "Meeting Information", "Open Seats"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
 		 * Constructs the CourseCatalogTableModel by requesting the latest information
-		 * from the RequirementTrackerModel.
+		 * from the CourseCatalog, and listens for changes to it.
 		 */
 		public CourseCatalogTableModel() {
+			super(new String[] {"Name", "Section", "Title", "Meeting Information", "Open Seats"}, new int[] {0, 1});
 			updateData();
+			catalog.addRowListener(this);
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
-		 * @param col column index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Course information from the CourseCatalog.
+		 * Reads every Course's information from the CourseCatalog.
+		 * @return a row for each Course
 		 */
-		public void updateData() {
-			data = catalog.getCourseCatalog();
+		@Override
+		protected Object[][] readRows() {
+			return catalog.getCourseCatalog();
 		}
 	}
 
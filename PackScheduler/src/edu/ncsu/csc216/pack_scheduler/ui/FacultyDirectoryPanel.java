@@ -23,7 +23,6 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
@@ -222,11 +221,12 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 		if (e.getSource() == btnLoadFacultyList) {
 			String fileName = getFileName(true);
 			try {
-				facultyDirectory.loadFacultyFromFile(fileName);
-				facultyDirectoryTableModel.updateData();
-				scrollFacultyDirectory.revalidate();
-				scrollFacultyDirectory.repaint();
-				facultyDirectoryTableModel.fireTableDataChanged();
+				setLoading(true);
+				new FileLoadWorker(this, fileName, facultyDirectory::loadFacultyFromFile, () -> {
+					setLoading(false);
+					scrollFacultyDirectory.revalidate();
+					scrollFacultyDirectory.repaint();
+				}).execute();
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
@@ -239,10 +239,8 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 			}
 		} else if (e.getSource() == btnNewFacultyList) {
 			facultyDirectory.newFacultyDirectory();
-			facultyDirectoryTableModel.updateData();
 			scrollFacultyDirectory.revalidate();
 			scrollFacultyDirectory.repaint();
-			facultyDirectoryTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddFaculty) {
 			String firstName = txtFirstName.getText();
 			String lastName = txtLastName.getText();
@@ -283,7 +281,6 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			facultyDirectoryTableModel.updateData();
 		} else if (e.getSource() == btnRemoveFaculty) {
 			int row = tableFacultyDirectory.getSelectedRow();
 			if (row == -1) {
@@ -295,13 +292,25 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No faculty selected.");
 				}
 			}
-			facultyDirectoryTableModel.updateData();
 		}
 		
 		this.validate();
 		this.repaint();
 	}
 	
+	/**
+	 * Turns the buttons that change the directory off while a file is loading in the background,
+	 * and back on after.
+	 * @param loading true if a file is loading
+	 */
+	private void setLoading(boolean loading) {
+		btnNewFacultyList.setEnabled(!loading);
+		btnLoadFacultyList.setEnabled(!loading);
+		btnSaveFacultyList.setEnabled(!loading);
+		btnAddFaculty.setEnabled(!loading);
+		btnRemoveFaculty.setEnabled(!loading);
+	}
+	
 	/**
 	 * Returns a file name generated through interactions with a {@link JFileChooser}
 	 * object.
@@ -330,80 +339,31 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 	/**
 	 * {@link FacultyDirectoryTableModel} is the object underlying the {@link JTable} object that displays
 	 * the list of Faculty to the system.
+	 * It is kept up to date by the FacultyDirectory's row events.
 	 * @author Sarah Heckman
 	 */
-	private class FacultyDirectoryTableModel extends AbstractTableModel {
+	private class FacultyDirectoryTableModel extends RowTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"First Name", "Last Name", "Faculty ID"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
 		 * Constructs the {@link FacultyDirectoryTableModel} by requesting the latest information
-		 * from the {@link RequirementTrackerModel}.
+		 * from the FacultyDirectory, and listens for changes to it.
 		 */
 		public FacultyDirectoryTableModel() {
+			super(new String[] {"First Name", "Last Name", "Faculty ID"}, new int[] {2});
 			updateData();
+			facultyDirectory.addRowListener(this);
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col location of the column
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row location to get the data
-		 * @param col location to get the data
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with {@link Faculty} information from the {@link FacultyDirectory}.
+		 * Reads every Faculty's information from the FacultyDirectory.
+		 * @return a row for each Faculty
 		 */
-		public void updateData() {
-			data = facultyDirectory.getFacultyDirectory();
+		@Override
+		protected Object[][] readRows() {
+			return facultyDirectory.getFacultyDirectory();
 		}
 	}
 
@@ -0,0 +1,146 @@
+package edu.ncsu.csc216.pack_scheduler.ui;
+
+import java.awt.Component;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+
+import javax.swing.JOptionPane;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+
+import edu.ncsu.csc216.pack_scheduler.io.LoadProgress;
+
+/**
+ * FileLoadWorker loads a file of records on a background thread, so the Swing event thread keeps
+ * drawing and handling input while a large file is read. A ProgressMonitor shows how much of the
+ * file is read and how many records a second are being read, and its Cancel button stops the
+ * load, leaving the catalog or directory as it was. The monitor only appears if the load takes
+ * more than a moment.
+ *
+ * Cancelling only asks the loader to stop at its next progress check, rather than cancelling the
+ * SwingWorker, so done() and the finished callback run once the loader has really returned and a
+ * second load cannot start beside it.
+ *
+ * @author David Mond
+ */
+class FileLoadWorker extends SwingWorker<Void, String> {
+
+	/** Largest value of the progress bar */
+	private static final int MAX_PROGRESS = 100;
+	/** Nanoseconds in a second */
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	/** Component the monitor and any error are shown over */
+	private Component parent;
+	/** File to load */
+	private String fileName;
+	/** Loads the file, reporting to this worker */
+	private BiConsumer<String, LoadProgress> load;
+	/** Run on the event thread once the load is done, failed, or cancelled */
+	private Runnable finished;
+	/** Shows the progress and has the Cancel button */
+	private ProgressMonitor monitor;
+	/** When the load started, from System.nanoTime() */
+	private long start;
+	/** Set on the event thread once Cancel is pressed, and read by the loader */
+	private volatile boolean cancelRequested;
+	/** The progress the loader reports to */
+	private final LoadProgress progress = new LoadProgress() {
+		@Override
+		public void recordsRead(int records, long bytesRead, long totalBytes) {
+			FileLoadWorker.this.recordsRead(records, bytesRead, totalBytes);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelRequested;
+		}
+	};
+
+	/**
+	 * Constructs a worker that loads the given file. It starts when execute() is called.
+	 * @param parent component the progress and any error are shown over
+	 * @param fileName file to load
+	 * @param load loads the file, such as CourseCatalog.loadCoursesFromFile(String, LoadProgress)
+	 * @param finished run on the event thread once the load is over, whatever the outcome
+	 */
+	FileLoadWorker(Component parent, String fileName, BiConsumer<String, LoadProgress> load, Runnable finished) {
+		this.parent = parent;
+		this.fileName = fileName;
+		this.load = load;
+		this.finished = finished;
+		monitor = new ProgressMonitor(parent, "Loading " + new File(fileName).getName(), "Starting", 0, MAX_PROGRESS);
+		addPropertyChangeListener(e -> {
+			if ("progress".equals(e.getPropertyName())) {
+				monitor.setProgress((Integer) e.getNewValue());
+			}
+		});
+	}
+
+	/**
+	 * Loads the file on a background thread.
+	 * @return nothing
+	 */
+	@Override
+	protected Void doInBackground() {
+		start = System.nanoTime();
+		load.accept(fileName, progress);
+		return null;
+	}
+
+	/**
+	 * Reports the load's progress to the monitor. Called through the loader's progress on the
+	 * background thread.
+	 * @param records number of records read so far
+	 * @param bytesRead number of bytes of the file read so far
+	 * @param totalBytes size of the file in bytes
+	 */
+	private void recordsRead(int records, long bytesRead, long totalBytes) {
+		long elapsed = Math.max(1, System.nanoTime() - start);
+		long perSecond = (long) (records * NANOS_PER_SECOND / elapsed);
+		publish(String.format("%,d records, %,d records/sec", records, perSecond));
+		if (totalBytes > 0) {
+			setProgress((int) Math.min(MAX_PROGRESS, bytesRead * MAX_PROGRESS / totalBytes));
+		}
+	}
+
+	/**
+	 * Shows the latest progress note, and asks the loader to stop if the monitor's Cancel button
+	 * was pressed. Called on the event thread.
+	 * @param notes the notes published since the last call
+	 */
+	@Override
+	protected void process(List<String> notes) {
+		if (monitor.isCanceled()) {
+			cancelRequested = true;
+		} else {
+			monitor.setNote(notes.get(notes.size() - 1));
+		}
+	}
+
+	/**
+	 * Closes the monitor and shows why the load failed, if it did. Called on the event thread once
+	 * the loader has returned.
+	 */
+	@Override
+	protected void done() {
+		monitor.close();
+		try {
+			get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CancellationException) {
+				// The loader stopped because the user cancelled
+			} else if (e.getCause() instanceof IllegalArgumentException) {
+				JOptionPane.showMessageDialog(parent, e.getCause().getMessage());
+			} else {
+				JOptionPane.showMessageDialog(parent, "Unable to load " + fileName);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finished.run();
+	}
+}
@@ -20,7 +20,6 @@ import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
@@ -368,7 +367,6 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 					JOptionPane.showMessageDialog(this, iae.getMessage());
 				}
 			}
-			updateTables();
 		} else if (e.getSource() == btnRemoveFacultyFromCourse) {
 			int catalogRow = tableCatalog.getSelectedRow();
 			int facultyRow = tableFaculty.getSelectedRow();
@@ -386,7 +384,6 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 				updateCourseDetails(c);
 				updateFacultyDetails(f);
 			}
-			updateTables();
 		} else if (e.getSource() == btnReset) {
 			int facultyRow = tableFaculty.getSelectedRow();
 			if (facultyRow == -1) {
@@ -394,7 +391,6 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 			} else {
 				Faculty f = facultyDirectory.getFacultyById(tableFaculty.getValueAt(facultyRow, 2).toString());
 				RegistrationManager.getInstance().resetFacultySchedule(f);
-				updateTables();
 			}
 		} 
 		
@@ -447,160 +443,62 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 	/**
 	 * CourseCatalogTableModel is the object underlying the JTable object that displays
 	 * the list of Courses to the user.
+	 * It is kept up to date by the CourseCatalog's row events.
 	 * @author Sarah Heckman
 	 */
-	private class CourseCatalogTableModel extends AbstractTableModel {
+	private class CourseCatalogTableModel extends RowTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"Name", "Section", "Title", "Meeting Information", "Open Seats"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
 		 * Constructs the CourseCatalogTableModel by requesting the latest information
-		 * from the RequirementTrackerModel.
+		 * from the CourseCatalog, and listens for changes to it.
 		 */
 		public CourseCatalogTableModel() {
+			super(new String[] {"Name", "Section", "Title", "Meeting Information", "Open Seats"}, new int[] {0, 1});
 			updateData();
+			catalog.addRowListener(this);
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
+		 * Reads every Course's information from the CourseCatalog.
+		 * @return a row for each Course
 		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
-		 * @param col column index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Course information from the CourseCatalog.
-		 */
-		public void updateData() {
-			data = catalog.getCourseCatalog();
+		@Override
+		protected Object[][] readRows() {
+			return catalog.getCourseCatalog();
 		}
 	}
 	
 	/**
 	 * FacultyDirectoryTableModel is the object underlying the JTable object that displays
 	 * the list of Faculty to the system.
+	 * It is kept up to date by the FacultyDirectory's row events.
 	 * @author Sarah Heckman
 	 */
-	private class FacultyDirectoryTableModel extends AbstractTableModel {
+	private class FacultyDirectoryTableModel extends RowTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"First Name", "Last Name", "Faculty ID"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
 		 * Constructs the FacultyDirectoryTableModel by requesting the latest information
-		 * from the RequirementTrackerModel.
+		 * from the FacultyDirectory, and listens for changes to it.
 		 */
 		public FacultyDirectoryTableModel() {
+			super(new String[] {"First Name", "Last Name", "Faculty ID"}, new int[] {2});
 			updateData();
+			facultyDirectory.addRowListener(this);
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
-		 * @param col column index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Faculty information from the FacultyDirectory.
+		 * Reads every Faculty's information from the FacultyDirectory.
+		 * @return a row for each Faculty
 		 */
-		public void updateData() {
-			data = facultyDirectory.getFacultyDirectory();
+		@Override
+		protected Object[][] readRows() {
+			return facultyDirectory.getFacultyDirectory();
 		}
 	}
 
@@ -0,0 +1,235 @@
+package edu.ncsu.csc216.pack_scheduler.ui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+
+/**
+ * RowTableModel is the base of the table models that show a list, such as the CourseCatalog or
+ * a directory, that sends RowListener events. The model keeps its own copy of the rows, and each
+ * event changes and redraws only the row it names, so adding, removing, or enrolling in one course
+ * of a large catalog does not copy or redraw the rest. The list is only read in full when all of
+ * it is replaced. Every event is queued to the Swing event thread, even one sent from it, so events
+ * are applied in the order they were sent, and one sent before the table last read the whole list
+ * is dropped, as the list already had its change. An updated row is found by the key columns each
+ * model gives, such as the name and section of a course or the id of a user, so an update never
+ * lands on a different row.
+ *
+ * @author David Mond
+ */
+abstract class RowTableModel extends AbstractTableModel implements RowListener {
+
+	/** ID number used for object serialization. */
+	private static final long serialVersionUID = 1L;
+	/** Column names for the table */
+	private String [] columnNames;
+	/** Columns that together identify a row */
+	private final int[] keyColumns;
+	/** Data stored in the table */
+	private ArrayList<Object[]> data = new ArrayList<Object[]>();
+	/** Rows last read by updateData(), or null if the rows have changed since */
+	private Object[][] lastRows;
+	/** Counted up each time updateData() reads the list, so events it already read are dropped */
+	private volatile int generation;
+
+	/**
+	 * Constructs an empty RowTableModel with the given columns.
+	 * @param columnNames column names for the table
+	 * @param keyColumns columns that together identify a row, which an update never changes
+	 * @throws IllegalArgumentException if there are no key columns, or one is not a column
+	 */
+	RowTableModel(String[] columnNames, int[] keyColumns) {
+		if (keyColumns.length == 0) {
+			throw new IllegalArgumentException("A table needs a key column.");
+		}
+		for (int col : keyColumns) {
+			if (col < 0 || col >= columnNames.length) {
+				throw new IllegalArgumentException("Invalid key column.");
+			}
+		}
+		this.columnNames = columnNames;
+		this.keyColumns = keyColumns.clone();
+	}
+
+	/**
+	 * Reads every row of the list the table shows.
+	 * @return the rows, or null to keep the rows the table has
+	 */
+	protected abstract Object[][] readRows();
+
+	/**
+	 * Replaces the rows of the table with every row read from its list, and redraws the table.
+	 * If the list returns the same array as last time, nothing has changed and nothing is redrawn.
+	 * Must be called on the Swing event thread.
+	 */
+	public void updateData() {
+		// Events sent before this point are in the rows about to be read
+		generation++;
+		Object[][] rows = readRows();
+		if (rows == null || rows == lastRows) {
+			return;
+		}
+		data = new ArrayList<Object[]>(Arrays.asList(rows));
+		lastRows = rows;
+		fireTableDataChanged();
+	}
+
+	/**
+	 * Returns the number of columns in the table.
+	 * @return the number of columns in the table.
+	 */
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	/**
+	 * Returns the number of rows in the table.
+	 * @return the number of rows in the table.
+	 */
+	public int getRowCount() {
+		return data.size();
+	}
+
+	/**
+	 * Returns the column name at the given index.
+	 * @param col column index
+	 * @return the column name at the given column.
+	 */
+	public String getColumnName(int col) {
+		return columnNames[col];
+	}
+
+	/**
+	 * Returns the data at the given {row, col} index.
+	 * @param row row index
+	 * @param col column index
+	 * @return the data at the given location.
+	 */
+	public Object getValueAt(int row, int col) {
+		return data.get(row)[col];
+	}
+
+	/**
+	 * Sets the given value to the given {row, col} location.
+	 * @param value Object to modify in the data.
+	 * @param row location to modify the data.
+	 * @param col location to modify the data.
+	 */
+	public void setValueAt(Object value, int row, int col) {
+		// The rows may be shared with the list, so the row is copied before it is changed
+		Object[] copy = data.get(row).clone();
+		copy[col] = value;
+		data.set(row, copy);
+		lastRows = null;
+		fireTableCellUpdated(row, col);
+	}
+
+	/**
+	 * Inserts the new row and redraws the rows from it down.
+	 * @param index index of the new row
+	 * @param row the new row's values
+	 */
+	@Override
+	public void rowInserted(int index, String[] row) {
+		Object[] copy = Arrays.copyOf(row, row.length, Object[].class);
+		onEventThread(generation, () -> {
+			data.add(index, copy);
+			lastRows = null;
+			fireTableRowsInserted(index, index);
+		});
+	}
+
+	/**
+	 * Removes the row and redraws the rows from it down.
+	 * @param index index the row was removed from
+	 */
+	@Override
+	public void rowRemoved(int index) {
+		onEventThread(generation, () -> {
+			data.remove(index);
+			lastRows = null;
+			fireTableRowsDeleted(index, index);
+		});
+	}
+
+	/**
+	 * Replaces the row's values and redraws only that row.
+	 * @param index index of the row
+	 * @param row the row's new values
+	 */
+	@Override
+	public void rowUpdated(int index, String[] row) {
+		Object[] copy = Arrays.copyOf(row, row.length, Object[].class);
+		onEventThread(generation, () -> {
+			int at = findRow(index, copy);
+			if (at != -1) {
+				data.set(at, copy);
+				lastRows = null;
+				fireTableRowsUpdated(at, at);
+			}
+		});
+	}
+
+	/**
+	 * Returns the index of the table's row with the same name and section as the given row,
+	 * looking first at the index it was sent with.
+	 * @param index index the row was sent with
+	 * @param row the row
+	 * @return the index of the row, or -1 if the table does not have it
+	 */
+	private int findRow(int index, Object[] row) {
+		if (index >= 0 && index < data.size() && sameRow(data.get(index), row)) {
+			return index;
+		}
+		for (int i = 0; i < data.size(); i++) {
+			if (sameRow(data.get(i), row)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns true if the two rows have the same key columns.
+	 * @param a a row
+	 * @param b the other row
+	 * @return true if the rows are for the same item of the list
+	 */
+	private boolean sameRow(Object[] a, Object[] b) {
+		for (int col : keyColumns) {
+			if (col >= a.length || col >= b.length || !Objects.equals(a[col], b[col])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads every row again.
+	 */
+	@Override
+	public void rowsReplaced() {
+		onEventThread(generation, this::updateData);
+	}
+
+	/**
+	 * Queues the given change to the table to run on the Swing event thread after the changes
+	 * queued before it. A change sent from the event thread is queued too, as running it at once
+	 * would apply it before older changes still queued by other threads. The change is dropped if
+	 * updateData() reads the list again before it runs.
+	 * @param sent the generation when the change was sent
+	 * @param change the change to the table
+	 */
+	private void onEventThread(int sent, Runnable change) {
+		SwingUtilities.invokeLater(() -> {
+			if (sent == generation) {
+				change.run();
+			}
+		});
+	}
+}
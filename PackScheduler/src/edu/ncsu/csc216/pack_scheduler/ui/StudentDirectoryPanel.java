@@ -22,7 +22,6 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
@@ -218,11 +217,12 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 			
 			try {
 				String fileName = getFileName(true);
-				studentDirectory.loadStudentsFromFile(fileName);
-				studentDirectoryTableModel.updateData();
-				scrollStudentDirectory.revalidate();
-				scrollStudentDirectory.repaint();
-				studentDirectoryTableModel.fireTableDataChanged();
+				setLoading(true);
+				new FileLoadWorker(this, fileName, studentDirectory::loadStudentsFromFile, () -> {
+					setLoading(false);
+					scrollStudentDirectory.revalidate();
+					scrollStudentDirectory.repaint();
+				}).execute();
 			} catch (IllegalArgumentException | IllegalStateException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
@@ -236,10 +236,8 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 			}
 		} else if (e.getSource() == btnNewStudentList) {
 			studentDirectory.newStudentDirectory();
-			studentDirectoryTableModel.updateData();
 			scrollStudentDirectory.revalidate();
 			scrollStudentDirectory.repaint();
-			studentDirectoryTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddStudent) {
 			String firstName = txtFirstName.getText();
 			String lastName = txtLastName.getText();
@@ -279,7 +277,6 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			studentDirectoryTableModel.updateData();
 		} else if (e.getSource() == btnRemoveStudent) {
 			int row = tableStudentDirectory.getSelectedRow();
 			if (row == -1  || row == tableStudentDirectory.getRowCount()) {
@@ -291,13 +288,25 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No student selected.");
 				}
 			}
-			studentDirectoryTableModel.updateData();
 		}
 		
 		this.validate();
 		this.repaint();
 	}
 	
+	/**
+	 * Turns the buttons that change the directory off while a file is loading in the background,
+	 * and back on after.
+	 * @param loading true if a file is loading
+	 */
+	private void setLoading(boolean loading) {
+		btnNewStudentList.setEnabled(!loading);
+		btnLoadStudentList.setEnabled(!loading);
+		btnSaveStudentList.setEnabled(!loading);
+		btnAddStudent.setEnabled(!loading);
+		btnRemoveStudent.setEnabled(!loading);
+	}
+	
 	/**
 	 * Returns a file name generated through interactions with a JFileChooser
 	 * object.
@@ -326,80 +335,31 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 	/**
 	 * StudentDirectoryTableModel is the object underlying the JTable object that displays
 	 * the list of Students to the user.
+	 * It is kept up to date by the StudentDirectory's row events.
 	 * @author Sarah Heckman
 	 */
-	private class StudentDirectoryTableModel extends AbstractTableModel {
+	private class StudentDirectoryTableModel extends RowTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"First Name", "Last Name", "Student ID"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
 		 * Constructs the StudentDirectoryTableModel by requesting the latest information
-		 * from the RegistrationManager.
+		 * from the StudentDirectory, and listens for changes to it.
 		 */
 		public StudentDirectoryTableModel() {
+			super(new String[] {"First Name", "Last Name", "Student ID"}, new int[] {2});
 			updateData();
+			studentDirectory.addRowListener(this);
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
-		 * @param col column index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Student information from the StudentDirectory.
+		 * Reads every Student's information from the StudentDirectory.
+		 * @return a row for each Student
 		 */
-		public void updateData() {
-			data = studentDirectory.getStudentDirectory();
+		@Override
+		protected Object[][] readRows() {
+			return studentDirectory.getStudentDirectory();
 		}
 	}
 
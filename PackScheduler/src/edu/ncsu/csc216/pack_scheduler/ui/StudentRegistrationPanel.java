@@ -22,7 +22,6 @@ import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
@@ -347,10 +346,9 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 	}
 	
 	/**
-	 * Updates the catalog and schedule tables.
+	 * Updates the schedule table. The catalog table follows the catalog's changes by itself.
 	 */
 	public void updateTables() {
-		catalogTableModel.updateData();
 		scheduleTableModel.updateData();
 	}
 	
@@ -385,17 +383,14 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 	
 	/**
 	 * CourseTableModel is the object underlying the JTable object that displays
-	 * the list of Courses to the user.
+	 * the list of Courses to the user. The catalog's table is kept up to date by the
+	 * CourseCatalog's row events, and the schedule's table is read again by updateTables().
 	 * @author Sarah Heckman
 	 */
-	private class CourseTableModel extends AbstractTableModel {
+	private class CourseTableModel extends RowTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"Name", "Section", "Title", "Meeting Days", "Open Seats"};
-		/** Data stored in the table */
-		private Object [][] data;
 		/** Boolean flag if the model applies to the catalog or schedule */
 		private boolean isCatalog;
 		
@@ -405,79 +400,35 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 		 * @param isCatalog true if the table is showing a catalog rather than a roll
 		 */
 		public CourseTableModel(boolean isCatalog) {
+			super(new String[] {"Name", "Section", "Title", "Meeting Days", "Open Seats"}, new int[] {0, 1});
 			this.isCatalog = isCatalog;
 			updateData();
-		}
-
-		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col index of the column for the name
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row index of row for data
-		 * @param col index of column for data
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
+			if (isCatalog) {
+				catalog.addRowListener(this);
+			}
 		}
 		
 		/**
-		 * Updates the given model with Course information from the PackScheduler.
+		 * Reads Course information from the catalog, or from the current student's schedule.
+		 * @return a row for each Course, or null if no student is logged in to show the schedule of
 		 */
-		private void updateData() {
+		@Override
+		protected Object[][] readRows() {
 			if (isCatalog) {
-				data = catalog.getCourseCatalog();
-			} else {
-				currentUser = (Student)RegistrationManager.getInstance().getCurrentUser();
-				if (currentUser != null) {
-					schedule = currentUser.getSchedule();
-					txtScheduleTitle.setText(schedule.getTitle());
-					borderSchedule.setTitle(schedule.getTitle());
-					scrollSchedule.setToolTipText(schedule.getTitle());
-					data = schedule.getScheduledCourses();
-					
-					StudentRegistrationPanel.this.repaint();
-					StudentRegistrationPanel.this.validate();
-				}
+				return catalog.getCourseCatalog();
 			}
+			currentUser = (Student)RegistrationManager.getInstance().getCurrentUser();
+			if (currentUser == null) {
+				return null;
+			}
+			schedule = currentUser.getSchedule();
+			txtScheduleTitle.setText(schedule.getTitle());
+			borderSchedule.setTitle(schedule.getTitle());
+			scrollSchedule.setToolTipText(schedule.getTitle());
+			
+			StudentRegistrationPanel.this.repaint();
+			StudentRegistrationPanel.this.validate();
+			return schedule.getScheduledCourses();
 		}
 	}
 
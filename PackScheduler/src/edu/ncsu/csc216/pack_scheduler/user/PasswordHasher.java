@@ -0,0 +1,86 @@
+package edu.ncsu.csc216.pack_scheduler.user;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Hashes Users' passwords for storage, and checks passwords against stored hashes. Passwords
+ *     are hashed with SHA-256 and the digest is stored in base64, which only uses [a-zA-Z0-9+/=],
+ *     so it can be safely copied into records.
+ *
+ * Each thread keeps its own MessageDigest, so hashing never looks up the algorithm again and
+ *     many threads can hash at once without sharing one. Checking a password compares every
+ *     character of the hashes, so the time taken does not tell how much of a guess was right.
+ *
+ * @author David Mond
+ */
+public final class PasswordHasher {
+
+	/** Hashing algorithm */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/** Each thread's digest for HASH_ALGORITHM */
+	private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(PasswordHasher::newDigest);
+
+	/**
+	 * PasswordHasher only has static methods, so it is never constructed.
+	 */
+	private PasswordHasher() {
+	}
+
+	/**
+	 * Hashes a password according to the SHA-256 algorithm, and outputs the digest in base64 encoding.
+	 * @param password the password to hash
+	 * @return the encoded digest of the password
+	 */
+	public static String hash(String password) {
+		byte[] encoded = Base64.getEncoder().encode(digest(password));
+		return new String(encoded, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Returns true if the given password hashes to the given stored hash. Every character of the
+	 *     hashes is compared, whether or not an earlier one differed.
+	 * @param password the password to check
+	 * @param hashed the stored hash of the real password
+	 * @return true if the password is correct
+	 */
+	public static boolean matches(String password, String hashed) {
+		if (password == null || hashed == null) {
+			return false;
+		}
+		String candidate = hash(password);
+		int difference = candidate.length() ^ hashed.length();
+		int length = Math.min(candidate.length(), hashed.length());
+		for (int i = 0; i < length; i++) {
+			difference |= candidate.charAt(i) ^ hashed.charAt(i);
+		}
+		return difference == 0;
+	}
+
+	/**
+	 * Returns the raw SHA-256 digest of the password's bytes, using this thread's digest.
+	 * @param password the password to hash
+	 * @return the digest
+	 */
+	private static byte[] digest(String password) {
+		MessageDigest digest = DIGEST.get();
+		digest.reset();
+		return digest.digest(password.getBytes());
+	}
+
+	/**
+	 * Creates a digest for HASH_ALGORITHM.
+	 * @return the new digest
+	 * @throws IllegalArgumentException if HASH_ALGORITHM is not available
+	 */
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalArgumentException("Cannot hash password");
+		}
+	}
+}
@@ -79,7 +79,7 @@ public class FacultySchedule {
 	 * @return list of scheduled Courses
 	 */
 	public String[][] getScheduledCourses() {
-		String [][] scheduleArray = new String[schedule.size()][4];
+		String [][] scheduleArray = new String[schedule.size()][];
 		for (int i = 0; i < schedule.size(); i++) {
 			scheduleArray[i] = schedule.get(i).getShortDisplayArray();
 		}
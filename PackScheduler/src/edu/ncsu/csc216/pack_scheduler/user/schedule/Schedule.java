@@ -84,7 +84,7 @@ public class Schedule {
 		if(schedule.size() == 0) {
 			return new String[0][0];
 		}
-		String[][] scheduleArray = new String[schedule.size()][5];
+		String[][] scheduleArray = new String[schedule.size()][];
 		for (int i = 0; i < schedule.size(); i++) {
 			scheduleArray[i] = schedule.get(i).getShortDisplayArray();
 		}
@@ -92,6 +92,18 @@ public class Schedule {
 	}
 
 
+	/**
+	 * Returns the Courses in the schedule, in the order they were added.
+	 * @return a new array of the schedule's Courses
+	 */
+	public Course[] getCourses() {
+		Course[] courses = new Course[schedule.size()];
+		for (int i = 0; i < schedule.size(); i++) {
+			courses[i] = schedule.get(i);
+		}
+		return courses;
+	}
+
 	/**
 	 * Sets a new title for the schedule.
 	 * @param newTitle The new title.
@@ -1,6 +1,7 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
 import java.util.AbstractSequentialList;
+import java.util.Collection;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
@@ -55,6 +56,27 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 		super.add(index, element);
 	}
 	
+	/**
+	 * Adds each of the given elements to the back of the list, in order, without checking whether
+	 *     it is already in the list. The caller must know the elements are unique, such as records
+	 *     already deduplicated while they were read, since a duplicate is not rejected. Each element
+	 *     is added in constant time, where add() first searches the whole list.
+	 * @param elements the elements to add, none of them null or already in the list
+	 * @throws NullPointerException if an element is null, after the elements before it are added
+	 */
+	public void addAllUnchecked(Collection<? extends E> elements) {
+		for (E element : elements) {
+			if(element == null) {
+				throw new NullPointerException("Cannot add null objects.");
+			}
+			ListNode node = new ListNode(element, back, back.prev);
+			back.prev.next = node;
+			back.prev = node;
+			size++;
+		}
+		modCount++;
+	}
+	
 	/**
 	 * Replaces the element at the given index to the given data.
 	 * @param index The index to replace the data for.
@@ -147,12 +169,22 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 			if(index > size || index < 0) {
 				throw new IndexOutOfBoundsException("Index out of bounds.");
 			}
-			ListNode curr = front;
-			 for(int i = 0; i < index; i++) {
-				 curr = curr.next;
-			 }
-			 this.previous = curr;
-			 this.next = curr.next;
+			// Walk from whichever end of the list is closer to the index
+			if(index <= size / 2) {
+				ListNode curr = front;
+				for(int i = 0; i < index; i++) {
+					curr = curr.next;
+				}
+				this.previous = curr;
+				this.next = curr.next;
+			} else {
+				ListNode curr = back;
+				for(int i = size; i > index; i--) {
+					curr = curr.prev;
+				}
+				this.previous = curr.prev;
+				this.next = curr;
+			}
 			 this.previousIndex = index - 1;
 			 this.nextIndex = index;
 			 this.lastRetrieved = null;
@@ -239,10 +271,15 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 			if(lastRetrieved == previous) {
 				previous = lastRetrieved.prev;
 				previous.next = next;
+				next.prev = previous;
+				previousIndex--;
+				nextIndex--;
 			} else if(lastRetrieved == this.next) {
 				next = lastRetrieved.next;
 				next.prev = previous;
+				previous.next = next;
 			}
+			lastRetrieved = null;
 			size--;
 		}
 
@@ -0,0 +1,38 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+/**
+ * Listens for changes to a list that is shown as rows of a table, such as the CourseCatalog or a
+ *     directory. Each change says which row changed, so a table only has to redraw that row
+ *     instead of copying and redrawing the whole list. Rows are numbered in the list's order,
+ *     and each index is the row's position just after the change.
+ *
+ * @author David Mond
+ */
+public interface RowListener {
+
+	/**
+	 * Called after a row is inserted at the given index, moving later rows down one.
+	 * @param index index of the new row
+	 * @param row the new row's values
+	 */
+	void rowInserted(int index, String[] row);
+
+	/**
+	 * Called after the row at the given index is removed, moving later rows up one.
+	 * @param index index the row was removed from
+	 */
+	void rowRemoved(int index);
+
+	/**
+	 * Called after the values of the row at the given index change.
+	 * @param index index of the row
+	 * @param row the row's new values
+	 */
+	void rowUpdated(int index, String[] row);
+
+	/**
+	 * Called after every row is replaced at once, such as when the list is loaded from a
+	 *     file or emptied, so the whole list must be read again.
+	 */
+	void rowsReplaced();
+}
@@ -0,0 +1,84 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The RowListeners of one list, which are told about each change in the order they were added.
+ *     Listeners can be added and removed while changes are being sent from other threads.
+ *
+ * @author David Mond
+ */
+public class RowListenerList {
+
+	/** The listeners */
+	private final CopyOnWriteArrayList<RowListener> listeners = new CopyOnWriteArrayList<RowListener>();
+
+	/**
+	 * Adds a listener.
+	 * @param listener the listener to add
+	 * @throws NullPointerException if the listener is null
+	 */
+	public void add(RowListener listener) {
+		if (listener == null) {
+			throw new NullPointerException();
+		}
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener, if it was added.
+	 * @param listener the listener to remove
+	 */
+	public void remove(RowListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns true if there are no listeners, so a change does not need to be described.
+	 * @return true if there are no listeners
+	 */
+	public boolean isEmpty() {
+		return listeners.isEmpty();
+	}
+
+	/**
+	 * Tells every listener a row was inserted.
+	 * @param index index of the new row
+	 * @param row the new row's values
+	 */
+	public void fireRowInserted(int index, String[] row) {
+		for (RowListener listener : listeners) {
+			listener.rowInserted(index, row);
+		}
+	}
+
+	/**
+	 * Tells every listener a row was removed.
+	 * @param index index the row was removed from
+	 */
+	public void fireRowRemoved(int index) {
+		for (RowListener listener : listeners) {
+			listener.rowRemoved(index);
+		}
+	}
+
+	/**
+	 * Tells every listener a row was updated.
+	 * @param index index of the row
+	 * @param row the row's new values
+	 */
+	public void fireRowUpdated(int index, String[] row) {
+		for (RowListener listener : listeners) {
+			listener.rowUpdated(index, row);
+		}
+	}
+
+	/**
+	 * Tells every listener every row was replaced.
+	 */
+	public void fireRowsReplaced() {
+		for (RowListener listener : listeners) {
+			listener.rowsReplaced();
+		}
+	}
+}
@@ -0,0 +1,268 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import edu.ncsu.csc217.collections.list.SortedList;
+
+/**
+ * A SortedList backed by an array that it binary searches, so finding an element or the place
+ *     to add one takes O(log n) comparisons instead of a walk of the whole list. It can also be
+ *     built from unsorted elements with a single sort, which loads n elements in O(n log n)
+ *     instead of the O(n^2) of adding them one at a time.
+ *
+ * Like SortedList, null and duplicate elements are not allowed, and elements that compare as
+ *     equal are kept in the order they were added. The elements' compareTo() must return 0 for
+ *     any two elements that are equal, as duplicates are only looked for among the elements that
+ *     compare as equal.
+ *
+ * @param <E> Type of object stored in the list
+ * @author David Mond
+ */
+public class SortedArrayList<E extends Comparable<E>> extends SortedList<E> {
+
+	/** Initial capacity of the list */
+	private static final int INIT_SIZE = 10;
+	/** Message used when adding an element already in the list, matching SortedList */
+	private static final String DUPLICATE_MESSAGE = "Element already in list.";
+
+	/** The elements of the list, in sorted order */
+	private E[] list;
+	/** Number of elements in the list */
+	private int size;
+
+	/**
+	 * Constructs an empty list.
+	 */
+	public SortedArrayList() {
+		this(INIT_SIZE);
+	}
+
+	/**
+	 * Constructs an empty list with room for the given number of elements.
+	 * @param capacity initial capacity of the list
+	 */
+	@SuppressWarnings("unchecked")
+	private SortedArrayList(int capacity) {
+		list = (E[]) new Comparable<?>[Math.max(capacity, INIT_SIZE)];
+		size = 0;
+	}
+
+	/**
+	 * Builds a sorted list from the given elements in any order by sorting them once.
+	 * @param <E> Type of object stored in the list
+	 * @param elements the elements to put in the list
+	 * @return a sorted list of the elements
+	 * @throws NullPointerException if any element is null
+	 * @throws IllegalArgumentException if any element is a duplicate of another
+	 */
+	public static <E extends Comparable<E>> SortedArrayList<E> fromUnsorted(Collection<? extends E> elements) {
+		SortedArrayList<E> sorted = new SortedArrayList<E>(elements.size());
+		for (E element : elements) {
+			if (element == null) {
+				throw new NullPointerException();
+			}
+			sorted.list[sorted.size++] = element;
+		}
+		// A stable sort, so equal elements keep the order they were given in
+		Arrays.sort(sorted.list, 0, sorted.size);
+		for (int i = 1; i < sorted.size; i++) {
+			for (int j = i - 1; j >= 0 && sorted.list[j].compareTo(sorted.list[i]) == 0; j--) {
+				if (sorted.list[j].equals(sorted.list[i])) {
+					throw new IllegalArgumentException(DUPLICATE_MESSAGE);
+				}
+			}
+		}
+		return sorted;
+	}
+
+	/**
+	 * Adds the element after any elements that are less than or equal to it.
+	 * @param element element to add
+	 * @return true, as the element is always added
+	 * @throws NullPointerException if the element is null
+	 * @throws IllegalArgumentException if the element is already in the list
+	 */
+	@Override
+	public boolean add(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		int index = upperBound(element);
+		for (int i = index - 1; i >= 0 && list[i].compareTo(element) == 0; i--) {
+			if (list[i].equals(element)) {
+				throw new IllegalArgumentException(DUPLICATE_MESSAGE);
+			}
+		}
+		if (size == list.length) {
+			list = Arrays.copyOf(list, list.length * 2);
+		}
+		System.arraycopy(list, index, list, index + 1, size - index);
+		list[index] = element;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Returns the element at the given index.
+	 * @param index index of the element
+	 * @return the element at the index
+	 * @throws IndexOutOfBoundsException if the index is less than 0 or not less than the size
+	 */
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return list[index];
+	}
+
+	/**
+	 * Removes the element at the given index.
+	 * @param index index of the element to remove
+	 * @return the element removed
+	 * @throws IndexOutOfBoundsException if the index is less than 0 or not less than the size
+	 */
+	@Override
+	public E remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		E removed = list[index];
+		System.arraycopy(list, index + 1, list, index, size - index - 1);
+		size--;
+		list[size] = null;
+		return removed;
+	}
+
+	/**
+	 * Returns the index of the given element.
+	 * @param element element to find
+	 * @return the index of the element, or -1 if it is not in the list
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public int indexOf(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		for (int i = lowerBound(element); i < size && list[i].compareTo(element) == 0; i++) {
+			if (list[i].equals(element)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Removes all elements from the list.
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(list, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of elements in the list.
+	 * @return the size of the list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the list has no elements.
+	 * @return true if the list is empty
+	 */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the given element is in the list.
+	 * @param element element to look for
+	 * @return true if the element is in the list
+	 */
+	@Override
+	public boolean contains(E element) {
+		return element != null && indexOf(element) != -1;
+	}
+
+	/**
+	 * Generates a hash code for the list from its elements.
+	 * @return the hash code for the list
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int hash = 1;
+		for (int i = 0; i < size; i++) {
+			hash = prime * hash + list[i].hashCode();
+		}
+		return prime + hash;
+	}
+
+	/**
+	 * Returns true if the given object is a SortedArrayList with equal elements in the same order.
+	 * @param obj the object to compare to
+	 * @return true if the lists are equal
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SortedArrayList<?> other = (SortedArrayList<?>) obj;
+		if (size != other.size)
+			return false;
+		for (int i = 0; i < size; i++) {
+			if (!list[i].equals(other.list[i]))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index of the first element that is not less than the given element.
+	 * @param element element to search for
+	 * @return the lowest index the element could be at
+	 */
+	private int lowerBound(E element) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (list[mid].compareTo(element) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index of the first element that is greater than the given element.
+	 * @param element element to search for
+	 * @return the index just after the last element less than or equal to the element
+	 */
+	private int upperBound(E element) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (list[mid].compareTo(element) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
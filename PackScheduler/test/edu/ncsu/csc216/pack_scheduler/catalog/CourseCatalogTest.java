@@ -8,11 +8,17 @@ import org.junit.Before;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.io.LoadProgress;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
 
 import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * Tests the CourseCatalog class.
@@ -124,6 +130,18 @@ public class CourseCatalogTest {
 		assertFalse(ws.removeCourseFromCatalog("CSC116", "001"));
 		ws.loadCoursesFromFile(validTestFile);
 		assertTrue(ws.removeCourseFromCatalog("CSC116", "001"));
+		//The removed course can no longer be found or removed again
+		assertNull(ws.getCourseFromCatalog("CSC116", "001"));
+		assertFalse(ws.removeCourseFromCatalog("CSC116", "001"));
+		assertEquals("CSC116", ws.getCourseCatalog()[0][0]);
+		assertEquals("002", ws.getCourseCatalog()[0][1]);
+		//The course can be added back once removed
+		assertTrue(ws.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", CREDITS, null, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME));
+		assertNotNull(ws.getCourseFromCatalog("CSC116", "001"));
+		//A new catalog has nothing left to look up
+		ws.newCourseCatalog();
+		assertNull(ws.getCourseFromCatalog("CSC116", "002"));
+		assertTrue(ws.addCourseToCatalog("CSC116", "Intro to Programming - Java", "002", CREDITS, null, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME));
 	}
 	/**
 	 * Test CourseCatalog.getCourseCatalog().
@@ -188,5 +206,256 @@ public class CourseCatalogTest {
 		assertEquals("001", catalog[12][1]);
 		assertEquals("Data Structures and Algorithms", catalog[12][2]);
 	}
-}
+	
+	/**
+	 * Tests saving the catalog to a snapshot and loading it back.
+	 * @throws IOException if the snapshot cannot be deleted
+	 */
+	@Test
+	public void testCourseSnapshot() throws IOException {
+		CourseCatalog ws = new CourseCatalog(validTestFile);
+		Path file = Files.createTempFile("catalog", ".snapshot");
+		try {
+			ws.saveCourseSnapshot(file.toString());
+			CourseCatalog loaded = new CourseCatalog();
+			loaded.loadCoursesFromSnapshot(file.toString());
+			assertArrayEquals(ws.getCourseCatalog(), loaded.getCourseCatalog());
+			assertNotNull(loaded.getCourseFromCatalog("CSC216", "601"));
+			
+			//A text file is not a snapshot, and leaves the catalog as it was
+			Exception e = assertThrows(IllegalArgumentException.class, () -> loaded.loadCoursesFromSnapshot(validTestFile));
+			assertEquals("Unable to read file " + validTestFile, e.getMessage());
+			assertEquals(13, loaded.getCourseCatalog().length);
+		} finally {
+			Files.delete(file);
+		}
+		assertThrows(IllegalArgumentException.class, () -> ws.saveCourseSnapshot("/no/such/directory/catalog.snapshot"));
+	}
+	
+	/**
+	 * Tests that getCourseCatalog() returns the same array until the catalog or a course changes.
+	 */
+	@Test
+	public void testCourseCatalogSnapshot() {
+		CourseCatalog ws = new CourseCatalog(validTestFile);
+		long version = ws.getVersion();
+		String[][] catalog = ws.getCourseCatalog();
+		assertSame(catalog, ws.getCourseCatalog());
+		assertEquals(version, ws.getVersion());
+		
+		//Enrolling changes the course's row even before courseUpdated() is called
+		Course c = ws.getCourseFromCatalog("CSC230", "001");
+		c.getCourseRoll().enroll(new Student("Stu", "Dent", "sdent", "sdent@ncsu.edu", "pw"));
+		String[][] enrolled = ws.getCourseCatalog();
+		assertNotSame(catalog, enrolled);
+		assertEquals(String.valueOf(c.getCourseRoll().getOpenSeats()), enrolled[11][4]);
+		assertSame(catalog[0], enrolled[0]);
+		ws.courseUpdated(c);
+		assertTrue(ws.getVersion() > version);
+		
+		//Adding and removing courses change the version and the rows
+		version = ws.getVersion();
+		assertTrue(ws.addCourseToCatalog(NAME, TITLE, "003", CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME));
+		assertTrue(ws.getVersion() > version);
+		String[][] added = ws.getCourseCatalog();
+		assertEquals(catalog.length + 1, added.length);
+		assertSame(added, ws.getCourseCatalog());
+		
+		version = ws.getVersion();
+		assertTrue(ws.removeCourseFromCatalog(NAME, "003"));
+		assertTrue(ws.getVersion() > version);
+		assertEquals(catalog.length, ws.getCourseCatalog().length);
+		
+		version = ws.getVersion();
+		ws.newCourseCatalog();
+		assertTrue(ws.getVersion() > version);
+		assertEquals(0, ws.getCourseCatalog().length);
+		assertSame(ws.getCourseCatalog(), new CourseCatalog().getCourseCatalog());
+	}
+	
+	/**
+	 * Tests that listeners are told which row each change inserts, removes, or updates.
+	 */
+	@Test
+	public void testRowListener() {
+		CourseCatalog ws = new CourseCatalog();
+		RowEvents events = new RowEvents();
+		ws.addRowListener(events);
+		
+		ws.loadCoursesFromFile(validTestFile);
+		assertEquals(List.of("replaced"), events.events);
+		
+		//New sections go in their sorted row
+		events.events.clear();
+		assertTrue(ws.addCourseToCatalog(NAME, TITLE, "003", CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME));
+		assertFalse(ws.addCourseToCatalog(NAME, TITLE, "003", CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME));
+		assertEquals(List.of("inserted 5 " + String.join(",", ws.getCourseCatalog()[5])), events.events);
+		assertEquals("003", ws.getCourseCatalog()[5][1]);
+		
+		events.events.clear();
+		assertTrue(ws.removeCourseFromCatalog("CSC116", "002"));
+		assertFalse(ws.removeCourseFromCatalog("CSC116", "002"));
+		assertEquals(List.of("removed 1"), events.events);
+		
+		//Enrolling changes the open seats of the course's row
+		events.events.clear();
+		Course c = ws.getCourseFromCatalog("CSC230", "001");
+		String openSeats = ws.getCourseCatalog()[11][4];
+		c.getCourseRoll().enroll(new Student("Stu", "Dent", "sdent", "sdent@ncsu.edu", "pw"));
+		ws.courseUpdated(c);
+		assertEquals(List.of("updated 11 " + String.join(",", ws.getCourseCatalog()[11])), events.events);
+		assertNotEquals(openSeats, ws.getCourseCatalog()[11][4]);
+		
+		events.events.clear();
+		ws.newCourseCatalog();
+		assertEquals(List.of("replaced"), events.events);
+		
+		//A removed listener hears nothing more
+		events.events.clear();
+		ws.removeRowListener(events);
+		assertTrue(ws.addCourseToCatalog(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME));
+		assertTrue(events.events.isEmpty());
+	}
+	
+	/**
+	 * Tests loading with progress, and that a cancelled load leaves the catalog as it was.
+	 */
+	@Test
+	public void testLoadCoursesWithProgress() {
+		CourseCatalog ws = new CourseCatalog();
+		assertTrue(ws.addCourseToCatalog(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME));
+		
+		boolean[] cancelled = {true};
+		List<Integer> reports = new ArrayList<Integer>();
+		LoadProgress progress = new LoadProgress() {
+			@Override
+			public void recordsRead(int records, long bytesRead, long totalBytes) {
+				reports.add(records);
+			}
+			@Override
+			public boolean isCancelled() {
+				return cancelled[0];
+			}
+		};
+		assertThrows(CancellationException.class, () -> ws.loadCoursesFromFile(validTestFile, progress));
+		assertEquals(1, ws.getCourseCatalog().length);
+		assertNotNull(ws.getCourseFromCatalog(NAME, SECTION));
+		assertTrue(reports.isEmpty());
+		
+		cancelled[0] = false;
+		ws.loadCoursesFromFile(validTestFile, progress);
+		assertEquals(13, ws.getCourseCatalog().length);
+		//Every record is counted, including any that are not loaded
+		assertEquals(List.of(14), reports);
+		
+		Exception e = assertThrows(IllegalArgumentException.class, () -> ws.loadCoursesFromFile("test-files/no_such_file.txt", progress));
+		assertEquals("Unable to read file test-files/no_such_file.txt", e.getMessage());
+	}
+	
+	/**
+	 * Records the row events a CourseCatalog sends.
+	 */
+	private static class RowEvents implements RowListener {
+		/** The events, in the order they were sent */
+		private List<String> events = new ArrayList<String>();
+
+		@Override
+		public void rowInserted(int index, String[] row) {
+			events.add("inserted " + index + " " + String.join(",", row));
+		}
+
+		@Override
+		public void rowRemoved(int index) {
+			events.add("removed " + index);
+		}
+
+		@Override
+		public void rowUpdated(int index, String[] row) {
+			events.add("updated " + index + " " + String.join(",", row));
+		}
 
+		@Override
+		public void rowsReplaced() {
+			events.add("replaced");
+		}
+	}
+	
+	/**
+	 * Test CourseCatalog.getCoursesMeetingIn() and CourseCatalog.getCoursesFitting().
+	 */
+	@Test
+	public void testGetCoursesMeetingIn() {
+		CourseCatalog ws = new CourseCatalog(validTestFile);
+		
+		//Courses meeting MW after 2pm, including one that only starts before the window
+		assertEquals("[CSC216-002, CSC217-223]", names(ws.getCoursesMeetingIn("MW", 1400, 2359)));
+		//A course meeting on several of the days is found once, and touching an end overlaps
+		assertEquals("[CSC116-001, CSC226-001]", names(ws.getCoursesMeetingIn("FWM", 1025, 1025)));
+		assertEquals("[]", names(ws.getCoursesMeetingIn("F", 1030, 2359)));
+		assertEquals("[]", names(ws.getCoursesMeetingIn("", 0, 2359)));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCoursesMeetingIn("A", 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCoursesMeetingIn("MS", 800, 900));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCoursesMeetingIn("M", 900, 800));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCoursesMeetingIn(null, 800, 900));
+		
+		//Courses that fit a schedule leave out every conflict, including the scheduled courses
+		Student s = new Student("first", "last", "id", "email@ncsu.edu", "hashedpassword");
+		s.getSchedule().addCourseToSchedule(ws.getCourseFromCatalog("CSC216", "002"));
+		s.getSchedule().addCourseToSchedule(ws.getCourseFromCatalog("CSC226", "001"));
+		s.getSchedule().addCourseToSchedule(ws.getCourseFromCatalog("CSC217", "601"));
+		assertEquals("[CSC116-002, CSC116-003, CSC216-001, CSC216-601, CSC217-202, CSC217-211, CSC217-223, CSC217-601, CSC230-001]",
+				names(ws.getCoursesFitting(s.getSchedule())));
+		assertEquals("[CSC217-223]", names(ws.getCoursesMeetingIn("MW", 1400, 2359, s.getSchedule())));
+		assertEquals(13, ws.getCoursesFitting(new Student("a", "b", "c", "d@ncsu.edu", "pw").getSchedule()).length);
+		assertThrows(IllegalArgumentException.class, () -> ws.getCoursesFitting(null));
+		
+		//The queries see courses added and removed since the last query
+		assertTrue(ws.addCourseToCatalog("CSC333", "Automata", "001", 3, null, 10, "W", 1600, 1715));
+		assertTrue(ws.removeCourseFromCatalog("CSC217", "223"));
+		assertEquals("[CSC216-002, CSC333-001]", names(ws.getCoursesMeetingIn("MW", 1400, 2359)));
+		ws.newCourseCatalog();
+		assertEquals("[]", names(ws.getCoursesMeetingIn("MTWHF", 0, 2359)));
+		assertEquals(0, ws.getCoursesFitting(s.getSchedule()).length);
+	}
+	
+	/**
+	 * Test CourseCatalog.getCoursesAddable().
+	 */
+	@Test
+	public void testGetCoursesAddable() {
+		CourseCatalog ws = new CourseCatalog(validTestFile);
+		Student s = new Student("first", "last", "id", "email@ncsu.edu", "hashedpassword", 7);
+		assertEquals(13, ws.getCoursesAddable(s.getSchedule(), s.getMaxCredits()).length);
+		
+		//Courses with the same name, conflicting times, or too many credits are left out
+		s.getSchedule().addCourseToSchedule(ws.getCourseFromCatalog("CSC216", "002"));
+		s.getSchedule().addCourseToSchedule(ws.getCourseFromCatalog("CSC226", "001"));
+		assertEquals("[CSC217-202, CSC217-211, CSC217-223, CSC217-601]",
+				names(ws.getCoursesAddable(s.getSchedule(), s.getMaxCredits())));
+		assertEquals("[CSC116-002, CSC116-003, CSC217-202, CSC217-211, CSC217-223, CSC217-601, CSC230-001]",
+				names(ws.getCoursesAddable(s.getSchedule(), 9)));
+		assertEquals("[]", names(ws.getCoursesAddable(s.getSchedule(), 6)));
+		
+		//A course with no open seats or waitlist room is left out
+		Course lab = ws.getCourseFromCatalog("CSC217", "223");
+		for (int i = 0; i < 20; i++) {
+			lab.getCourseRoll().enroll(new Student("first", "last", "id" + i, "email@ncsu.edu", "hashedpassword"));
+		}
+		assertEquals("[CSC217-202, CSC217-211, CSC217-601]",
+				names(ws.getCoursesAddable(s.getSchedule(), s.getMaxCredits())));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCoursesAddable(null, 18));
+	}
+	
+	/**
+	 * Returns the names and sections of the given courses, as "[name-section, ...]".
+	 * @param courses the courses
+	 * @return the names and sections
+	 */
+	private static String names(Course[] courses) {
+		List<String> names = new ArrayList<String>();
+		for (Course c : courses) {
+			names.add(c.getName() + "-" + c.getSection());
+		}
+		return names.toString();
+	}
+}
@@ -0,0 +1,214 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+
+/**
+ * Tests the MeetingTimeIndex class.
+ *
+ * @author David Mond
+ */
+class MeetingTimeIndexTest {
+
+	/** Every combination of days a course can meet on, with "A" for arranged */
+	private static final String[] DAY_SETS = {"A", "M", "T", "W", "H", "F", "MW", "TH", "MWF", "MTWHF", "WF", "MH"};
+
+	/**
+	 * Tests that the courses meeting in a window are those Activity.checkConflict() finds
+	 *     conflicting with a course meeting over the window, on random catalogs.
+	 */
+	@Test
+	void testMeetingIn() {
+		Random random = new Random(216);
+		for (int round = 0; round < 20; round++) {
+			Course[] courses = randomCourses(random, 1 + random.nextInt(300));
+			MeetingTimeIndex index = new MeetingTimeIndex(courses);
+			assertEquals(courses.length, index.size());
+			for (int query = 0; query < 50; query++) {
+				String days = DAY_SETS[1 + random.nextInt(DAY_SETS.length - 1)];
+				int start = randomTime(random);
+				int end = randomTime(random);
+				if (start > end) {
+					int swap = start;
+					start = end;
+					end = swap;
+				}
+				Course window = new Course("WIN100", "Window", "001", 3, null, 10, days, start, end);
+				List<Integer> expected = new ArrayList<Integer>();
+				for (int id = 0; id < courses.length; id++) {
+					if (conflict(courses[id], window)) {
+						expected.add(id);
+					}
+					assertEquals(conflict(courses[id], window), index.conflicts(id, window));
+				}
+				List<Integer> actual = new ArrayList<Integer>();
+				for (int id : index.meetingIn(days, start, end)) {
+					actual.add(id);
+				}
+				assertEquals(expected, actual, days + " " + start + "-" + end);
+			}
+		}
+	}
+
+	/**
+	 * Tests windows at the ends of courses and invalid queries.
+	 */
+	@Test
+	void testEdges() {
+		Course[] courses = {
+			new Course("CSC116", "Intro", "001", 3, null, 10, "MW", 910, 1100),
+			new Course("CSC216", "Fundamentals", "001", 3, null, 10, "A", 0, 0),
+			new Course("CSC226", "Discrete", "001", 3, null, 10, "MWF", 1100, 1150),
+			new Course("CSC230", "C", "001", 3, null, 10, "TH", 800, 2359),
+		};
+		MeetingTimeIndex index = new MeetingTimeIndex(courses);
+		assertSame(courses[2], index.get(2));
+		assertArrayEquals(new int[] {0, 2, 3}, index.meetingIn("MTWHF", 1100, 1100));
+		assertArrayEquals(new int[] {0, 2}, index.meetingIn("MWF", 1100, 1100));
+		assertArrayEquals(new int[] {0}, index.meetingIn("MW", 0, 910));
+		assertArrayEquals(new int[] {2}, index.meetingIn("F", 1150, 2359));
+		assertArrayEquals(new int[] {3}, index.meetingIn("H", 2359, 2359));
+		assertArrayEquals(new int[0], index.meetingIn("F", 1151, 2359));
+		assertArrayEquals(new int[0], index.meetingIn("", 0, 2359));
+		assertArrayEquals(new int[0], new MeetingTimeIndex(new Course[0]).meetingIn("MTWHF", 0, 2359));
+		assertFalse(index.conflicts(1, courses[0]));
+		assertTrue(index.conflicts(2, courses[0]));
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> index.meetingIn("A", 0, 0));
+		assertEquals("Invalid meeting days and times.", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> index.meetingIn("U", 800, 900));
+		assertThrows(IllegalArgumentException.class, () -> index.meetingIn("M", 901, 900));
+		assertThrows(IllegalArgumentException.class, () -> index.meetingIn(null, 800, 900));
+	}
+
+	/**
+	 * Tests that the courses that can be added to a schedule are those Student.canAdd() and
+	 *     CourseRoll.hasRoom() find, on random catalogs and schedules with some full courses.
+	 */
+	@Test
+	void testAddable() {
+		Random random = new Random(217);
+		Student[] students = new Student[20];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("first", "last", "id" + i, "email@ncsu.edu", "pw");
+		}
+		for (int round = 0; round < 20; round++) {
+			Course[] courses = randomCourses(random, 1 + random.nextInt(300));
+			for (int i = 0; i < courses.length; i += 1 + random.nextInt(20)) {
+				// Fill the roll and then the waitlist, or only the roll
+				int count = random.nextBoolean() ? students.length : students.length / 2;
+				for (int j = 0; j < count; j++) {
+					courses[i].getCourseRoll().enroll(students[j]);
+				}
+			}
+			MeetingTimeIndex index = new MeetingTimeIndex(courses);
+			for (int query = 0; query < 20; query++) {
+				Student student = new Student("first", "last", "student", "email@ncsu.edu", "pw", 3 + random.nextInt(16));
+				Schedule schedule = student.getSchedule();
+				int tries = random.nextInt(8);
+				for (int i = 0; i < tries; i++) {
+					Course c = courses[random.nextInt(courses.length)];
+					if (student.canAdd(c)) {
+						schedule.addCourseToSchedule(c);
+					}
+				}
+				List<Integer> expected = new ArrayList<Integer>();
+				for (int id = 0; id < courses.length; id++) {
+					if (student.canAdd(courses[id]) && courses[id].getCourseRoll().hasRoom()) {
+						expected.add(id);
+					}
+				}
+				List<Integer> actual = new ArrayList<Integer>();
+				for (int id : index.addable(schedule.getCourses(), student.getMaxCredits() - schedule.getScheduleCredits())) {
+					actual.add(id);
+				}
+				assertEquals(expected, actual);
+			}
+		}
+	}
+
+	/**
+	 * Tests adding to schedules at the ends of the day and around arranged courses.
+	 */
+	@Test
+	void testAddableEdges() {
+		Course[] courses = {
+			new Course("CSC116", "Intro", "001", 3, null, 10, "MW", 0, 10),
+			new Course("CSC216", "Fundamentals", "001", 3, null, 10, "A", 0, 0),
+			new Course("CSC226", "Discrete", "001", 3, null, 10, "MWF", 2350, 2359),
+			new Course("CSC230", "C", "001", 3, null, 10, "TH", 0, 2359),
+			new Course("CSC316", "Data Structures", "001", 4, null, 10, "F", 2359, 2359),
+			new Course("CSC326", "Software Engineering", "001", 3, null, 10, "M", 11, 2349),
+		};
+		MeetingTimeIndex index = new MeetingTimeIndex(courses);
+		assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5}, index.addable(new Course[0], 4));
+		assertArrayEquals(new int[] {0, 1, 2, 3, 5}, index.addable(new Course[0], 3));
+		assertArrayEquals(new int[0], index.addable(new Course[0], 0));
+		// An arranged course takes no time, so only its name is taken
+		assertArrayEquals(new int[] {0, 2, 3, 4, 5}, index.addable(new Course[] {courses[1]}, 4));
+		// Touching at an end conflicts
+		assertArrayEquals(new int[] {0, 1, 3, 4, 5}, index.addable(new Course[] {new Course("CSC401", "Touching", "001", 3, null, 10, "F", 10, 2350)}, 4));
+		assertArrayEquals(new int[] {1, 2, 4}, index.addable(new Course[] {new Course("CSC401", "Busy", "001", 3, null, 10, "MT", 10, 11)}, 4));
+	}
+
+	/**
+	 * Returns random courses, many of them meeting at the same times or sharing names.
+	 * @param random the random numbers
+	 * @param count number of courses
+	 * @return the courses
+	 */
+	private static Course[] randomCourses(Random random, int count) {
+		Course[] courses = new Course[count];
+		for (int i = 0; i < count; i++) {
+			String days = DAY_SETS[random.nextInt(DAY_SETS.length)];
+			String name = "CSC" + (100 + i % 50);
+			String section = String.format("%03d", i / 50);
+			int credits = 1 + random.nextInt(5);
+			if ("A".equals(days)) {
+				courses[i] = new Course(name, "Random", section, credits, null, 10, days, 0, 0);
+			} else {
+				int start = random.nextBoolean() ? 800 + random.nextInt(10) * 100 : randomTime(random);
+				int end = Math.min(2359, start + (random.nextBoolean() ? 50 : randomTime(random) % 400));
+				if (end % 100 >= 60) {
+					end = end / 100 * 100 + 59;
+				}
+				courses[i] = new Course(name, "Random", section, credits, null, 10, days, start, end);
+			}
+		}
+		return courses;
+	}
+
+	/**
+	 * Returns a random military time.
+	 * @param random the random numbers
+	 * @return the time
+	 */
+	private static int randomTime(Random random) {
+		return random.nextInt(24) * 100 + random.nextInt(60);
+	}
+
+	/**
+	 * Returns true if the two courses conflict, as found by Activity.checkConflict().
+	 * @param course a course
+	 * @param other the other course
+	 * @return true if they conflict
+	 */
+	private static boolean conflict(Course course, Course other) {
+		try {
+			course.checkConflict(other);
+			return false;
+		} catch (ConflictException e) {
+			return true;
+		}
+	}
+}
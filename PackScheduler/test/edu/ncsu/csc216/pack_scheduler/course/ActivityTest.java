@@ -5,6 +5,9 @@ package edu.ncsu.csc216.pack_scheduler.course;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -60,5 +63,94 @@ class ActivityTest {
 		Exception e7 = assertThrows(ConflictException.class, () -> a3.checkConflict(a1));
 		assertEquals("Schedule conflict.", e7.getMessage());
 	}
+	
+	/**
+	 * Tests that arranged Activities never conflict, and that the check matches comparing every
+	 * pair of meeting days and the inclusive start and end times for many Activities.
+	 */
+	@Test
+	void testCheckConflictAllDaysAndTimes() {
+		Activity arranged = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 100, "A");
+		Activity a1 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 100, "MTWHF", 0, 2359);
+		assertDoesNotThrow(() -> arranged.checkConflict(a1));
+		assertDoesNotThrow(() -> a1.checkConflict(arranged));
+		assertDoesNotThrow(() -> arranged.checkConflict(arranged));
+		
+		String[] days = {"M", "T", "W", "H", "F", "MW", "TH", "MWF", "WF", "MTWHF"};
+		int[] times = {800, 845, 900, 915, 1000, 1145, 1200, 1330, 1445, 2359};
+		List<Activity> activities = new ArrayList<Activity>();
+		for (String d : days) {
+			for (int start = 0; start < times.length; start++) {
+				for (int end = start; end < times.length; end++) {
+					activities.add(new Course("CSC216", "Title", "001", 3, "sesmith5", 100, d, times[start], times[end]));
+				}
+			}
+		}
+		for (Activity first : activities) {
+			for (Activity second : activities) {
+				boolean sharesDay = false;
+				for (char day : first.getMeetingDays().toCharArray()) {
+					sharesDay |= second.getMeetingDays().indexOf(day) != -1;
+				}
+				boolean expected = sharesDay && first.getStartTime() <= second.getEndTime()
+						&& second.getStartTime() <= first.getEndTime();
+				if (expected) {
+					assertThrows(ConflictException.class, () -> first.checkConflict(second));
+				} else {
+					assertDoesNotThrow(() -> first.checkConflict(second));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests conflicts between Activities that meet on days other than the Course days, which
+	 * the day masks keep apart, including days that aren't letters.
+	 */
+	@Test
+	void testCheckConflictOtherDays() {
+		Activity saturday = new TestActivity("S", 1000, 1200);
+		Activity sunday = new TestActivity("U", 1000, 1200);
+		Activity lower = new TestActivity("s", 1000, 1200);
+		Activity star = new TestActivity("*", 1000, 1200);
+		Activity plus = new TestActivity("+", 1000, 1200);
+		Activity starPlus = new TestActivity("*+", 1200, 1300);
+		assertDoesNotThrow(() -> saturday.checkConflict(sunday));
+		assertDoesNotThrow(() -> saturday.checkConflict(lower));
+		assertDoesNotThrow(() -> star.checkConflict(plus));
+		assertThrows(ConflictException.class, () -> saturday.checkConflict(new TestActivity("SU", 1200, 1300)));
+		assertThrows(ConflictException.class, () -> star.checkConflict(starPlus));
+		assertThrows(ConflictException.class, () -> starPlus.checkConflict(plus));
+	}
+	
+	/**
+	 * An Activity that can meet on any days, for testing conflicts.
+	 */
+	private static class TestActivity extends Activity {
+		
+		/**
+		 * Constructs a TestActivity.
+		 * @param meetingDays the meeting days
+		 * @param startTime the start time
+		 * @param endTime the end time
+		 */
+		TestActivity(String meetingDays, int startTime, int endTime) {
+			super("Test", meetingDays, startTime, endTime);
+		}
+
+		@Override
+		public String[] getShortDisplayArray() {
+			return new String[0];
+		}
 
+		@Override
+		public String[] getLongDisplayArray() {
+			return new String[0];
+		}
+
+		@Override
+		public boolean isDuplicate(Activity activity) {
+			return false;
+		}
+	}
 }
@@ -9,6 +9,8 @@ import org.junit.jupiter.params.provider.EmptySource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
 /**
  * Tests the Course class.
  * 
@@ -501,4 +503,42 @@ public class CourseTest {
 		assertEquals(c.getMeetingString(), c.getShortDisplayArray()[3]);
 		assertEquals("100", c.getShortDisplayArray()[4]);
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * Tests that the display arrays are reused until a setter is called or the open seats change.
+	 */
+	@Test
+	public void testDisplayArrayCache() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENR_CAP, MEETING_DAYS, START_TIME, END_TIME);
+		String[] shortArray = c.getShortDisplayArray();
+		String[] longArray = c.getLongDisplayArray();
+		assertSame(shortArray, c.getShortDisplayArray());
+		assertSame(longArray, c.getLongDisplayArray());
+		
+		//Enrolling changes only the short array's open seats
+		c.getCourseRoll().enroll(new Student("Stu", "Dent", "sdent", "sdent@ncsu.edu", "pw"));
+		assertNotSame(shortArray, c.getShortDisplayArray());
+		assertEquals("99", c.getShortDisplayArray()[4]);
+		assertSame(longArray, c.getLongDisplayArray());
+		c.getCourseRoll().setEnrollmentCap(ENR_CAP + 10);
+		assertEquals("109", c.getShortDisplayArray()[4]);
+		
+		//Each setter rebuilds both arrays
+		c.setTitle("New Title");
+		assertEquals("New Title", c.getShortDisplayArray()[2]);
+		assertEquals("New Title", c.getLongDisplayArray()[2]);
+		c.setSection("002");
+		assertEquals("002", c.getShortDisplayArray()[1]);
+		assertEquals("002", c.getLongDisplayArray()[1]);
+		c.setCredits(4);
+		assertEquals("4", c.getLongDisplayArray()[3]);
+		c.setInstructorId("jdyoung2");
+		assertEquals("jdyoung2", c.getLongDisplayArray()[4]);
+		c.setMeetingDaysAndTime("A", 0, 0);
+		assertEquals("Arranged", c.getShortDisplayArray()[3]);
+		assertEquals("Arranged", c.getLongDisplayArray()[5]);
+		c.setMeetingDaysAndTime(MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(c.getMeetingString(), c.getShortDisplayArray()[3]);
+		assertEquals(c.getMeetingString(), c.getLongDisplayArray()[5]);
+	}
+}
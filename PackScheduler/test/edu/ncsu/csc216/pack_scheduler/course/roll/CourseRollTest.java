@@ -2,6 +2,8 @@ package edu.ncsu.csc216.pack_scheduler.course.roll;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
@@ -218,4 +220,178 @@ public class CourseRollTest {
 		
 		
 	}
+	
+	/**
+	 * Tests getting the next Student on the waitlist without changing the waitlist.
+	 */
+	@Test
+	public void testGetNextOnWaitlist() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENR_CAP, MEETING_DAYS, START_TIME, END_TIME);
+		CourseRoll cr = new CourseRoll(10, c);
+		assertNull(cr.getNextOnWaitlist());
+		
+		Student[] students = new Student[13];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First", "Last", "id" + i, "email@website.com", "pw");
+			cr.enroll(students[i]);
+		}
+		assertEquals(students[10], cr.getNextOnWaitlist());
+		assertEquals(students[10], cr.getNextOnWaitlist());
+		assertEquals(3, cr.getNumberOnWaitlist());
+		
+		// The waitlist order is kept, so the next on the waitlist is the one moved into the roll
+		cr.drop(students[0]);
+		assertEquals(students[11], cr.getNextOnWaitlist());
+		cr.drop(students[11]);
+		assertEquals(students[12], cr.getNextOnWaitlist());
+		cr.drop(students[1]);
+		assertNull(cr.getNextOnWaitlist());
+		assertEquals(0, cr.getOpenSeats());
+	}
+	
+	/**
+	 * Tests that hasRoom(), getOpenSeats(), and getNumberOnWaitlist() follow the roll and waitlist.
+	 */
+	@Test
+	public void testHasRoom() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENR_CAP, MEETING_DAYS, START_TIME, END_TIME);
+		CourseRoll cr = new CourseRoll(10, c);
+		Student[] students = new Student[21];
+		for (int i = 0; i < 20; i++) {
+			students[i] = new Student("First", "Last", "id" + i, "email@website.com", "pw");
+			assertTrue(cr.hasRoom());
+			cr.enroll(students[i]);
+			assertEquals(Math.max(0, 9 - i), cr.getOpenSeats());
+			assertEquals(Math.max(0, i - 9), cr.getNumberOnWaitlist());
+		}
+		assertFalse(cr.hasRoom());
+		students[20] = new Student("First", "Last", "id20", "email@website.com", "pw");
+		assertThrows(IllegalArgumentException.class, () -> cr.enroll(students[20]));
+		assertEquals(0, cr.getOpenSeats());
+		assertEquals(10, cr.getNumberOnWaitlist());
+		
+		cr.drop(students[15]);
+		assertTrue(cr.hasRoom());
+		assertEquals(9, cr.getNumberOnWaitlist());
+		cr.drop(students[3]);
+		assertEquals(0, cr.getOpenSeats());
+		assertEquals(8, cr.getNumberOnWaitlist());
+		
+		// Raising the cap opens seats, and lowering it can't go below the roll
+		cr.setEnrollmentCap(12);
+		assertEquals(2, cr.getOpenSeats());
+		assertThrows(IllegalArgumentException.class, () -> cr.setEnrollmentCap(9));
+	}
+	
+	/**
+	 * Tests that the open seats can be read from other threads, without the lock, while
+	 * Students are enrolled, and never show more students than seats.
+	 * @throws InterruptedException if interrupted while waiting for the readers
+	 */
+	@Test
+	public void testConcurrentOpenSeats() throws InterruptedException {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENR_CAP, MEETING_DAYS, START_TIME, END_TIME);
+		CourseRoll cr = new CourseRoll(250, c);
+		AtomicBoolean done = new AtomicBoolean(false);
+		AtomicBoolean failed = new AtomicBoolean(false);
+		Thread[] readers = new Thread[4];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = new Thread(() -> {
+				int last = 250;
+				while (!done.get()) {
+					// Only enrolling, so seats never open back up, and once anyone is waiting there are none
+					int waiting = cr.getNumberOnWaitlist();
+					int open = cr.getOpenSeats();
+					if (open < 0 || open > last || waiting < 0 || waiting > 10 || (waiting > 0 && open != 0)) {
+						failed.set(true);
+					}
+					last = open;
+				}
+			});
+			readers[i].start();
+		}
+		for (int i = 0; i < 260; i++) {
+			cr.getLock().lock();
+			try {
+				cr.enroll(new Student("First", "Last", "id" + i, "email@website.com", "pw"));
+			} finally {
+				cr.getLock().unlock();
+			}
+		}
+		done.set(true);
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		assertFalse(failed.get());
+		assertEquals(0, cr.getOpenSeats());
+		assertEquals(10, cr.getNumberOnWaitlist());
+		assertFalse(cr.hasRoom());
+	}
+	
+	/**
+	 * Tests that Students leaving the middle of the waitlist keep the rest of the waitlist in
+	 * order, and that the waitlist is moved into the roll first come, first served.
+	 */
+	@Test
+	public void testWaitlistOrder() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENR_CAP, MEETING_DAYS, START_TIME, END_TIME);
+		CourseRoll cr = new CourseRoll(250, c);
+		Student[] students = new Student[260];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First", "Last", "id" + i, "email@website.com", "pw");
+			cr.enroll(students[i]);
+		}
+		assertEquals(10, cr.getNumberOnWaitlist());
+		
+		// Leave from the middle and the front of the waitlist
+		cr.drop(students[255]);
+		cr.drop(students[250]);
+		assertEquals(8, cr.getNumberOnWaitlist());
+		assertTrue(cr.canEnroll(students[255]));
+		assertFalse(cr.canEnroll(students[251]));
+		
+		// Students in the roll drop, and the waitlist moves up in order
+		int[] expected = {251, 252, 253, 254, 256, 257, 258, 259};
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(students[expected[i]], cr.getNextOnWaitlist());
+			cr.drop(students[i]);
+			assertEquals(0, cr.getOpenSeats());
+			assertFalse(cr.canEnroll(students[expected[i]]));
+		}
+		assertNull(cr.getNextOnWaitlist());
+		cr.drop(students[100]);
+		assertEquals(1, cr.getOpenSeats());
+		assertTrue(cr.canEnroll(students[100]));
+	}
+	
+	/**
+	 * Tests that a Student changed while in the roll or on the waitlist is still found there.
+	 */
+	@Test
+	public void testChangedStudent() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENR_CAP, MEETING_DAYS, START_TIME, END_TIME);
+		CourseRoll cr = new CourseRoll(10, c);
+		Student[] students = new Student[11];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First", "Last", "id" + i, "email@website.com", "pw");
+			cr.enroll(students[i]);
+		}
+		Student enrolled = students[3];
+		Student waiting = students[10];
+		enrolled.setFirstName("Changed");
+		enrolled.setEmail("changed@website.com");
+		enrolled.setMaxCredits(12);
+		waiting.setLastName("Changed");
+		waiting.setPassword("changed");
+		
+		assertFalse(cr.canEnroll(enrolled));
+		assertFalse(cr.canEnroll(waiting));
+		cr.drop(waiting);
+		assertEquals(0, cr.getNumberOnWaitlist());
+		assertTrue(cr.canEnroll(waiting));
+		cr.drop(enrolled);
+		assertEquals(1, cr.getOpenSeats());
+		assertTrue(cr.canEnroll(enrolled));
+		assertEquals(9, cr.getEnrolledStudents().length);
+	}
 }
@@ -0,0 +1,186 @@
+package edu.ncsu.csc216.pack_scheduler.course.validator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the CourseNameValidatorTable.
+ *
+ * @author David Mond
+ */
+class CourseNameValidatorTableTest {
+
+	/** Characters the generated names are made of, with a non-ASCII letter and digit */
+	private static final char[] ALPHABET = {'C', 'z', '2', '!', '\u00e9', '\u0663'};
+	/** Longest generated name */
+	private static final int MAX_LENGTH = 9;
+
+	/**
+	 * Tests valid names and names that end too soon.
+	 * @throws InvalidTransitionException if a valid name is rejected
+	 */
+	@Test
+	void testIsValid() throws InvalidTransitionException {
+		CourseNameValidatorTable c = CourseNameValidatorTable.getInstance();
+		assertSame(c, CourseNameValidatorTable.getInstance());
+		assertTrue(c.isValid("A111"));
+		assertTrue(c.isValid("CSC216"));
+		assertTrue(c.isValid("HESF101"));
+		assertTrue(c.isValid("CSC216L"));
+		assertFalse(c.isValid(""));
+		assertFalse(c.isValid("CSCE"));
+		assertFalse(c.isValid("CSC21"));
+	}
+
+	/**
+	 * Tests each invalid transition's message.
+	 */
+	@Test
+	void testInvalidTransitions() {
+		CourseNameValidatorTable c = CourseNameValidatorTable.getInstance();
+		assertMessage(c, "CSC 216", "Course name can only contain letters and digits.");
+		assertMessage(c, "1CSC", "Course name must start with a letter.");
+		assertMessage(c, "CSCEE216", "Course name cannot start with more than 4 letters.");
+		assertMessage(c, "CSC2A", "Course name must have 3 digits.");
+		assertMessage(c, "CSC21A", "Course name must have 3 digits.");
+		assertMessage(c, "CSC2160", "Course name can only have 3 digits.");
+		assertMessage(c, "CSC216LL", "Course name can only have a 1 letter suffix.");
+		assertMessage(c, "CSC216L1", "Course name cannot contain digits after the suffix.");
+	}
+
+	/**
+	 * Tests that every name up to MAX_LENGTH characters of ALPHABET gets the same result and
+	 *     message from the table, and from CourseNameValidator and CourseNameValidatorFSM which
+	 *     delegate to it, as from the switch based FSM the table replaced.
+	 */
+	@Test
+	void testSameAsSwitchFSM() {
+		CourseNameValidatorTable table = CourseNameValidatorTable.getInstance();
+		CourseNameValidator objects = new CourseNameValidator();
+		CourseNameValidatorFSM fsm = new CourseNameValidatorFSM();
+		List<String> names = new ArrayList<String>();
+		names.add("");
+		for (int i = 0; i < names.size(); i++) {
+			String name = names.get(i);
+			String expected = result(() -> switchFSM(name));
+			assertEquals(expected, result(() -> table.isValid(name)), name);
+			assertEquals(expected, result(() -> objects.isValid(name)), name);
+			assertEquals(expected, result(() -> fsm.isValid(name)), name);
+			if (name.length() < MAX_LENGTH && !expected.startsWith("Course name")) {
+				for (char next : ALPHABET) {
+					names.add(name + next);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests validating a batch of names.
+	 */
+	@Test
+	void testValidateAll() {
+		CourseNameValidatorTable c = CourseNameValidatorTable.getInstance();
+		BitSet valid = c.validateAll(Arrays.asList("CSC216", "1CSC", null, "CSC21", "MA141L", "", "E115"));
+		assertEquals("{0, 4, 6}", valid.toString());
+		assertTrue(c.validateAll(new ArrayList<String>()).isEmpty());
+	}
+
+	/**
+	 * Asserts that the name is rejected with the given message.
+	 * @param c the validator
+	 * @param name the invalid name
+	 * @param message the expected message
+	 */
+	private static void assertMessage(CourseNameValidatorTable c, String name, String message) {
+		Exception e = assertThrows(InvalidTransitionException.class, () -> c.isValid(name));
+		assertEquals(message, e.getMessage(), name);
+	}
+
+	/**
+	 * The switch based FSM that CourseNameValidatorFSM used before it delegated to the table,
+	 *     kept here as the reference the table is checked against.
+	 * @param courseName the name of the course
+	 * @return true if the course name is valid, or false if it ends before its third digit
+	 * @throws InvalidTransitionException when the FSM attempts an invalid transition
+	 */
+	private static boolean switchFSM(String courseName) throws InvalidTransitionException {
+		// States 0-4 count the letters, 5-7 the digits, and 8 is the suffix
+		int state = 0;
+		for (int i = 0; i < courseName.length(); i++) {
+			char c = courseName.charAt(i);
+			if (!Character.isLetter(c) && !Character.isDigit(c)) {
+				throw new InvalidTransitionException("Course name can only contain letters and digits.");
+			}
+			boolean letter = Character.isLetter(c);
+			switch (state) {
+				case 0:
+					if (!letter) {
+						throw new InvalidTransitionException("Course name must start with a letter.");
+					}
+					state = 1;
+					break;
+				case 1:
+				case 2:
+				case 3:
+					state = letter ? state + 1 : 5;
+					break;
+				case 4:
+					if (letter) {
+						throw new InvalidTransitionException("Course name cannot start with more than 4 letters.");
+					}
+					state = 5;
+					break;
+				case 5:
+				case 6:
+					if (letter) {
+						throw new InvalidTransitionException("Course name must have 3 digits.");
+					}
+					state++;
+					break;
+				case 7:
+					if (!letter) {
+						throw new InvalidTransitionException("Course name can only have 3 digits.");
+					}
+					state = 8;
+					break;
+				default:
+					if (letter) {
+						throw new InvalidTransitionException("Course name can only have a 1 letter suffix.");
+					}
+					throw new InvalidTransitionException("Course name cannot contain digits after the suffix.");
+			}
+		}
+		return state == 7 || state == 8;
+	}
+
+	/**
+	 * Returns the result of a validator as a string, or its exception's message.
+	 * @param validation the call to the validator
+	 * @return "true", "false", or the message
+	 */
+	private static String result(Validation validation) {
+		try {
+			return String.valueOf(validation.isValid());
+		} catch (InvalidTransitionException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * A call to one of the validators.
+	 */
+	private interface Validation {
+		/**
+		 * Validates a name.
+		 * @return whether the name is valid
+		 * @throws InvalidTransitionException if the name is invalid
+		 */
+		boolean isValid() throws InvalidTransitionException;
+	}
+}
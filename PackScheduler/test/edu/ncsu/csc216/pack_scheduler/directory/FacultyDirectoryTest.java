@@ -7,11 +7,15 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
 
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+
 /**
  * Tests the faculty directory
  * @author Warren Long
@@ -143,6 +147,10 @@ class FacultyDirectoryTest {
 		assertEquals("Brent", facultyDirectory[1][0]);
 		assertEquals("Brewer", facultyDirectory[1][1]);
 		assertEquals("bbrewer", facultyDirectory[1][2]);
+		//The removed faculty can no longer be found or removed again
+		assertNull(sd.getFacultyById("fmeadow"));
+		assertFalse(sd.removeFaculty("fmeadow"));
+		assertEquals("bbrewer", sd.getFacultyById("bbrewer").getId());
 	}
 
 	/**
@@ -187,4 +195,90 @@ class FacultyDirectoryTest {
 			fail("Error reading files.");
 		}
 	}
+	
+	/**
+	 * Tests saving the directory to a snapshot and loading it back.
+	 * @throws IOException if the snapshot cannot be deleted
+	 */
+	@Test
+	public void testFacultySnapshot() throws IOException {
+		FacultyDirectory fd = new FacultyDirectory();
+		fd.loadFacultyFromFile(validTestFile);
+		Path file = Files.createTempFile("directory", ".snapshot");
+		try {
+			fd.saveFacultySnapshot(file.toString());
+			FacultyDirectory loaded = new FacultyDirectory();
+			loaded.loadFacultyFromSnapshot(file.toString());
+			assertArrayEquals(fd.getFacultyDirectory(), loaded.getFacultyDirectory());
+			
+			//A text file is not a snapshot, and leaves the directory as it was
+			Exception e = assertThrows(IllegalArgumentException.class, () -> loaded.loadFacultyFromSnapshot(validTestFile));
+			assertEquals("Unable to read file " + validTestFile, e.getMessage());
+			assertEquals(8, loaded.getFacultyDirectory().length);
+		} finally {
+			Files.delete(file);
+		}
+		assertThrows(IllegalArgumentException.class, () -> fd.saveFacultySnapshot("/no/such/directory/directory.snapshot"));
+	}
+	
+	/**
+	 * Tests that listeners are told which row each change inserts or removes.
+	 */
+	@Test
+	public void testRowListener() {
+		FacultyDirectory sd = new FacultyDirectory();
+		RowEvents events = new RowEvents();
+		sd.addRowListener(events);
+		
+		sd.loadFacultyFromFile(validTestFile);
+		assertEquals(List.of("replaced"), events.events);
+		
+		//New faculty go at the end
+		events.events.clear();
+		sd.addFaculty(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS);
+		assertEquals(List.of("inserted 8 Stu,Dent,sdent"), events.events);
+		
+		events.events.clear();
+		assertTrue(sd.removeFaculty("fmeadow"));
+		assertFalse(sd.removeFaculty("fmeadow"));
+		assertEquals(List.of("removed 1"), events.events);
+		
+		events.events.clear();
+		sd.newFacultyDirectory();
+		assertEquals(List.of("replaced"), events.events);
+		
+		//A removed listener hears nothing more
+		events.events.clear();
+		sd.removeRowListener(events);
+		sd.addFaculty(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS);
+		assertTrue(events.events.isEmpty());
+	}
+	
+	/**
+	 * Records the row events a FacultyDirectory sends.
+	 */
+	private static class RowEvents implements RowListener {
+		/** The events, in the order they were sent */
+		private List<String> events = new ArrayList<String>();
+
+		@Override
+		public void rowInserted(int index, String[] row) {
+			events.add("inserted " + index + " " + String.join(",", row));
+		}
+
+		@Override
+		public void rowRemoved(int index) {
+			events.add("removed " + index);
+		}
+
+		@Override
+		public void rowUpdated(int index, String[] row) {
+			events.add("updated " + index + " " + String.join(",", row));
+		}
+
+		@Override
+		public void rowsReplaced() {
+			events.add("replaced");
+		}
+	}
 }
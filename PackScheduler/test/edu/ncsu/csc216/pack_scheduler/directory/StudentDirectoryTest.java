@@ -7,11 +7,15 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
 
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+
 /**
  * Tests StudentDirectory.
  * @author Sarah Heckman
@@ -146,6 +150,10 @@ public class StudentDirectoryTest {
 		assertEquals("Lane", studentDirectory[1][0]);
 		assertEquals("Berg", studentDirectory[1][1]);
 		assertEquals("lberg", studentDirectory[1][2]);
+		//The removed student can no longer be found or removed again
+		assertNull(sd.getStudentById("efrost"));
+		assertFalse(sd.removeStudent("efrost"));
+		assertEquals("lberg", sd.getStudentById("lberg").getId());
 	}
 
 	/**
@@ -188,4 +196,92 @@ public class StudentDirectoryTest {
 			fail("Error reading files.");
 		}
 	}
+	
+	/**
+	 * Tests saving the directory to a snapshot and loading it back.
+	 * @throws IOException if the snapshot cannot be deleted
+	 */
+	@Test
+	public void testStudentSnapshot() throws IOException {
+		StudentDirectory sd = new StudentDirectory();
+		sd.loadStudentsFromFile(validTestFile);
+		Path file = Files.createTempFile("directory", ".snapshot");
+		try {
+			sd.saveStudentSnapshot(file.toString());
+			StudentDirectory loaded = new StudentDirectory();
+			loaded.loadStudentsFromSnapshot(file.toString());
+			assertArrayEquals(sd.getStudentDirectory(), loaded.getStudentDirectory());
+			
+			//A text file is not a snapshot, and leaves the directory as it was
+			Exception e = assertThrows(IllegalArgumentException.class, () -> loaded.loadStudentsFromSnapshot(validTestFile));
+			assertEquals("Unable to read file " + validTestFile, e.getMessage());
+			assertEquals(10, loaded.getStudentDirectory().length);
+		} finally {
+			Files.delete(file);
+		}
+		assertThrows(IllegalArgumentException.class, () -> sd.saveStudentSnapshot("/no/such/directory/directory.snapshot"));
+	}
+	
+	/**
+	 * Tests that listeners are told which row each change inserts or removes.
+	 */
+	@Test
+	public void testRowListener() {
+		StudentDirectory sd = new StudentDirectory();
+		RowEvents events = new RowEvents();
+		sd.addRowListener(events);
+		
+		sd.loadStudentsFromFile(validTestFile);
+		assertEquals(List.of("replaced"), events.events);
+		
+		//New students go in their sorted row
+		events.events.clear();
+		sd.addStudent("Zoe", "Zimmer", "zzimmer", "zzimmer@ncsu.edu", PASSWORD, PASSWORD, MAX_CREDITS);
+		int index = sd.getStudentDirectory().length - 1;
+		assertEquals(List.of("inserted " + index + " Zoe,Zimmer,zzimmer"), events.events);
+		
+		events.events.clear();
+		String removed = sd.getStudentDirectory()[2][2];
+		assertTrue(sd.removeStudent(removed));
+		assertFalse(sd.removeStudent(removed));
+		assertEquals(List.of("removed 2"), events.events);
+		
+		events.events.clear();
+		sd.newStudentDirectory();
+		assertEquals(List.of("replaced"), events.events);
+		
+		//A removed listener hears nothing more
+		events.events.clear();
+		sd.removeRowListener(events);
+		sd.addStudent(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS);
+		assertTrue(events.events.isEmpty());
+	}
+	
+	/**
+	 * Records the row events a StudentDirectory sends.
+	 */
+	private static class RowEvents implements RowListener {
+		/** The events, in the order they were sent */
+		private List<String> events = new ArrayList<String>();
+
+		@Override
+		public void rowInserted(int index, String[] row) {
+			events.add("inserted " + index + " " + String.join(",", row));
+		}
+
+		@Override
+		public void rowRemoved(int index) {
+			events.add("removed " + index);
+		}
+
+		@Override
+		public void rowUpdated(int index, String[] row) {
+			events.add("updated " + index + " " + String.join(",", row));
+		}
+
+		@Override
+		public void rowsReplaced() {
+			events.add("replaced");
+		}
+	}
 }
@@ -11,10 +11,15 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
 
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -109,6 +114,80 @@ public class CourseRecordIOTest {
 		}
 	}
 	
+	/**
+	 * Tests reading courses with instructors from a directory other than the RegistrationManager's,
+	 *     or none, and that a duplicate course is not given to its instructor.
+	 * @throws IOException if the temporary file cannot be written
+	 */
+	@Test
+	public void testReadCourseRecordsWithFaculty() throws IOException {
+		FacultyDirectory faculty = new FacultyDirectory();
+		faculty.loadFacultyFromFile("test-files/faculty_records.txt");
+		Faculty awitt = faculty.getFacultyById("awitt");
+		Faculty fmeadow = faculty.getFacultyById("fmeadow");
+		Path file = Files.createTempFile("courses", ".txt");
+		try {
+			Files.write(file, List.of(
+					"CSC216,Software Development Fundamentals,001,3,awitt,10,MW,1330,1445",
+					"CSC226,Discrete Mathematics for Computer Scientists,001,3,awitt,10,MW,1400,1500",
+					"CSC226,Discrete Mathematics for Computer Scientists,001,3,fmeadow,10,TH,1400,1500",
+					"CSC216,Software Development Fundamentals,001,3,fmeadow,10,TH,1330,1445",
+					"CSC230,C and Software Tools,001,3,nobody,10,A"));
+			SortedList<Course> courses = CourseRecordIO.readCourseRecords(file.toString(), null, faculty);
+			assertEquals(3, courses.size());
+			//The first CSC216 is kept, and the second is not given to fmeadow
+			assertEquals("CSC216,Software Development Fundamentals,001,3,awitt,10,MW,1330,1445", courses.get(0).toString());
+			//The first CSC226 conflicts with awitt's CSC216, so the second is kept
+			assertEquals("CSC226,Discrete Mathematics for Computer Scientists,001,3,fmeadow,10,TH,1400,1500", courses.get(1).toString());
+			assertEquals("CSC230,C and Software Tools,001,3,null,10,A", courses.get(2).toString());
+			assertEquals(1, awitt.getSchedule().getNumScheduledCourses());
+			assertEquals(1, fmeadow.getSchedule().getNumScheduledCourses());
+			
+			//With no faculty, no course has an instructor to conflict with
+			courses = CourseRecordIO.readCourseRecords(file.toString(), null, null);
+			assertEquals(3, courses.size());
+			assertNull(courses.get(0).getInstructorId());
+			assertEquals("CSC226,Discrete Mathematics for Computer Scientists,001,3,null,10,MW,1400,1500", courses.get(1).toString());
+			assertEquals(1, awitt.getSchedule().getNumScheduledCourses());
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	/**
+	 * Tests that a cancelled read never assigns the courses it read to their instructors.
+	 * @throws IOException if the temporary file cannot be written
+	 */
+	@Test
+	public void testCancelledReadCourseRecords() throws IOException {
+		FacultyDirectory faculty = RegistrationManager.getInstance().getFacultyDirectory();
+		faculty.loadFacultyFromFile("test-files/faculty_records.txt");
+		Faculty awitt = faculty.getFacultyById("awitt");
+		Path file = Files.createTempFile("courses", ".txt");
+		try {
+			Files.write(file, List.of("CSC216,Software Development Fundamentals,001,3,awitt,10,A"));
+			LoadProgress cancelled = new LoadProgress() {
+				@Override
+				public void recordsRead(int records, long bytesRead, long totalBytes) {
+					fail("A cancelled read should not report progress");
+				}
+				@Override
+				public boolean isCancelled() {
+					return true;
+				}
+			};
+			assertThrows(CancellationException.class, () -> CourseRecordIO.readCourseRecords(file.toString(), cancelled));
+			assertEquals(0, awitt.getSchedule().getNumScheduledCourses());
+			
+			SortedList<Course> courses = CourseRecordIO.readCourseRecords(file.toString());
+			assertEquals("awitt", courses.get(0).getInstructorId());
+			assertEquals(1, awitt.getSchedule().getNumScheduledCourses());
+		} finally {
+			Files.delete(file);
+			faculty.newFacultyDirectory();
+		}
+	}
+	
 	/**
 	 * Tests writeCourseRecords()
 	 */
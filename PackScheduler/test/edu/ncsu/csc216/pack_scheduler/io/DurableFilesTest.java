@@ -0,0 +1,47 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the DurableFiles class.
+ *
+ * @author David Mond
+ */
+class DurableFilesTest {
+
+	/**
+	 * Tests that a temporary file replaces the target, and that a missing temporary file leaves
+	 *     the target as it was.
+	 * @throws IOException if the temporary files cannot be written
+	 */
+	@Test
+	void testReplace() throws IOException {
+		Path dir = Files.createTempDirectory("durable");
+		Path target = dir.resolve("records.txt");
+		Path temp = dir.resolve("records.txt.tmp");
+		try {
+			Files.write(target, "old\n".getBytes(StandardCharsets.UTF_8));
+			Files.write(temp, "new\n".getBytes(StandardCharsets.UTF_8));
+			DurableFiles.replace(temp, target);
+			assertEquals("new\n", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+			assertFalse(Files.exists(temp));
+
+			assertThrows(NoSuchFileException.class, () -> DurableFiles.replace(temp, target));
+			assertEquals("new\n", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+			assertDoesNotThrow(() -> DurableFiles.forceDirectory(dir));
+			assertDoesNotThrow(() -> DurableFiles.forceDirectory(dir.resolve("missing")));
+		} finally {
+			Files.deleteIfExists(temp);
+			Files.deleteIfExists(target);
+			Files.delete(dir);
+		}
+	}
+}
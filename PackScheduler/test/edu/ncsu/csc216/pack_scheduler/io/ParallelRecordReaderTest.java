@@ -0,0 +1,125 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ParallelRecordReader class.
+ *
+ * @author David Mond
+ */
+class ParallelRecordReaderTest {
+
+	/** Parses a record into its tokens, rejecting records whose first token is "bad" */
+	private static final Function<RecordReader, String> TOKENS = reader -> {
+		List<String> tokens = new ArrayList<String>();
+		while (reader.hasNext()) {
+			tokens.add(reader.next());
+		}
+		if (!tokens.isEmpty() && "bad".equals(tokens.get(0))) {
+			throw new IllegalArgumentException();
+		}
+		return tokens.toString();
+	};
+
+	/**
+	 * Tests that the record files are read the same in chunks of any size as by one reader.
+	 * @throws FileNotFoundException if a test file cannot be found
+	 */
+	@Test
+	void testSameAsSequential() throws FileNotFoundException {
+		for (String fileName : new String[] {"test-files/course_records.txt", "test-files/invalid_course_records.txt",
+				"test-files/student_records.txt", "test-files/faculty_records.txt"}) {
+			List<String> expected = ParallelRecordReader.readRecords(fileName, null, TOKENS);
+			for (int chunkSize = 1; chunkSize < 200; chunkSize += 7) {
+				assertEquals(expected, ParallelRecordReader.readRecords(fileName, null, TOKENS, chunkSize), fileName);
+			}
+		}
+	}
+
+	/**
+	 * Tests that chunks start at the start of a line, skipping lines longer than a chunk, and that
+	 *     invalid records, blank lines, and line endings are handled as by one reader.
+	 * @throws IOException if the temporary file cannot be written
+	 */
+	@Test
+	void testChunks() throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		try {
+			Files.write(file, "a,1\nbad,2\n\nlong,line,of,many,tokens\r\nb,3\nc".getBytes(StandardCharsets.UTF_8));
+			try (FileInputStream input = new FileInputStream(file.toFile())) {
+				FileChannel channel = input.getChannel();
+				assertArrayEquals(new long[] {0, 4, 10, 37, 41, 42}, ParallelRecordReader.chunkStarts(channel, channel.size(), 2));
+				assertArrayEquals(new long[] {0, 37, 42}, ParallelRecordReader.chunkStarts(channel, channel.size(), 20));
+				assertArrayEquals(new long[] {0, 42}, ParallelRecordReader.chunkStarts(channel, channel.size(), 100));
+			}
+			List<String> expected = Arrays.asList("[a, 1]", "[]", "[long, line, of, many, tokens]", "[b, 3]", "[c]");
+			assertEquals(expected, ParallelRecordReader.readRecords(file.toString(), null, TOKENS));
+			assertEquals(expected, ParallelRecordReader.readRecords(file.toString(), null, TOKENS, 2));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that progress is reported to the end of the file, and that a cancelled load stops.
+	 * @throws IOException if the temporary file cannot be written
+	 */
+	@Test
+	void testProgress() throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		try {
+			List<String> lines = new ArrayList<String>();
+			for (int i = 0; i < 3 * RecordReader.PROGRESS_INTERVAL; i++) {
+				lines.add("record," + i);
+			}
+			Files.write(file, lines);
+			long length = Files.size(file);
+
+			List<long[]> reports = new ArrayList<long[]>();
+			LoadProgress progress = new LoadProgress() {
+				@Override
+				public void recordsRead(int records, long bytesRead, long totalBytes) {
+					reports.add(new long[] {records, bytesRead, totalBytes});
+				}
+
+				@Override
+				public boolean isCancelled() {
+					return false;
+				}
+			};
+			assertEquals(lines.size(), ParallelRecordReader.readRecords(file.toString(), progress, TOKENS, 1000).size());
+			assertArrayEquals(new long[] {lines.size(), length, length}, reports.get(reports.size() - 1));
+
+			LoadProgress cancelled = new LoadProgress() {
+				@Override
+				public void recordsRead(int records, long bytesRead, long totalBytes) {
+					fail("A cancelled load should not report");
+				}
+
+				@Override
+				public boolean isCancelled() {
+					return true;
+				}
+			};
+			assertThrows(CancellationException.class, () -> ParallelRecordReader.readRecords(file.toString(), cancelled, TOKENS, 1000));
+			assertThrows(FileNotFoundException.class, () -> ParallelRecordReader.readRecords("test-files/no_such_file", null, TOKENS, 1000));
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the RecordReader class.
+ *
+ * @author David Mond
+ */
+class RecordReaderTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Invalid course records */
+	private final String invalidTestFile = "test-files/invalid_course_records.txt";
+
+	/**
+	 * Tests reading the tokens of a valid record.
+	 * @throws FileNotFoundException if the test file cannot be found
+	 */
+	@Test
+	void testReadRecord() throws FileNotFoundException {
+		RecordReader reader = new RecordReader(validTestFile);
+		assertTrue(reader.nextRecord());
+		assertEquals("CSC116", reader.next());
+		assertEquals("Intro to Programming - Java", reader.next());
+		assertEquals("001", reader.next());
+		assertEquals(3, reader.nextInt());
+		assertEquals("jdyoung2", reader.next());
+		assertEquals(10, reader.nextInt());
+		assertEquals("MW", reader.next());
+		assertEquals(910, reader.nextInt());
+		assertTrue(reader.hasNext());
+		assertEquals(1100, reader.nextInt());
+		assertFalse(reader.hasNext());
+		assertThrows(NoSuchElementException.class, () -> reader.next());
+		assertThrows(NoSuchElementException.class, () -> reader.nextInt());
+
+		//The next record starts from its first token
+		assertTrue(reader.nextRecord());
+		assertEquals("CSC116", reader.next());
+		assertEquals("Intro to Programming - Java", reader.next());
+		assertEquals("002", reader.next());
+		reader.close();
+	}
+
+	/**
+	 * Tests reading records with missing, empty, and non-integer tokens.
+	 * @throws FileNotFoundException if the test file cannot be found
+	 */
+	@Test
+	void testReadInvalidRecords() throws FileNotFoundException {
+		RecordReader reader = new RecordReader(invalidTestFile);
+		//The first record has a name that is a number
+		assertTrue(reader.nextRecord());
+		assertEquals(1, reader.nextInt());
+
+		//The second record has a name with a space, which is not an int
+		assertTrue(reader.nextRecord());
+		assertThrows(InputMismatchException.class, () -> reader.nextInt());
+
+		//Skip ahead to the record with an empty instructor id
+		for (int i = 0; i < 16; i++) {
+			assertTrue(reader.nextRecord());
+		}
+		for (int i = 0; i < 4; i++) {
+			reader.next();
+		}
+		assertEquals("", reader.next());
+		assertEquals("MW", reader.next());
+
+		//Read until the end of the file
+		int records = 18;
+		while (reader.nextRecord()) {
+			records++;
+		}
+		assertEquals(25, records);
+		assertFalse(reader.hasNext());
+		reader.close();
+	}
+
+	/**
+	 * Tests that a missing file cannot be read.
+	 */
+	@Test
+	void testMissingFile() {
+		assertThrows(FileNotFoundException.class, () -> new RecordReader("test-files/no_such_file.txt"));
+	}
+
+	/**
+	 * Tests that progress is reported every PROGRESS_INTERVAL records and at the end of the
+	 * file, and that a cancelled read stops at the next report.
+	 * @throws IOException if the temporary file cannot be written
+	 */
+	@Test
+	void testProgress() throws IOException {
+		int records = RecordReader.PROGRESS_INTERVAL * 2 + 10;
+		Path file = Files.createTempFile("records", ".txt");
+		try {
+			Files.write(file, Collections.nCopies(records, "CSC216,Title,001,3,sesmith5,10,A"));
+			long length = new File(file.toString()).length();
+			
+			Progress progress = new Progress(Integer.MAX_VALUE);
+			RecordReader reader = new RecordReader(file.toString(), progress);
+			int read = 0;
+			while (reader.nextRecord()) {
+				read++;
+			}
+			reader.close();
+			assertEquals(records, read);
+			assertEquals(records, reader.getRecords());
+			assertEquals(List.of(RecordReader.PROGRESS_INTERVAL, RecordReader.PROGRESS_INTERVAL * 2, records), progress.reports);
+			assertEquals(length, progress.lastBytesRead);
+			assertEquals(length, progress.totalBytes);
+			
+			//Cancelled after the first report, the read stops at the second
+			Progress cancelled = new Progress(1);
+			RecordReader cancelledReader = new RecordReader(file.toString(), cancelled);
+			for (int i = 0; i < RecordReader.PROGRESS_INTERVAL * 2 - 1; i++) {
+				assertTrue(cancelledReader.nextRecord());
+			}
+			assertThrows(CancellationException.class, () -> cancelledReader.nextRecord());
+			assertEquals(List.of(RecordReader.PROGRESS_INTERVAL), cancelled.reports);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Records the progress a RecordReader reports, and cancels after a number of reports.
+	 */
+	private static class Progress implements LoadProgress {
+		/** Number of reports after which the read is cancelled */
+		private int reportsBeforeCancel;
+		/** Number of records read at each report */
+		private List<Integer> reports = new ArrayList<Integer>();
+		/** Bytes read at the last report */
+		private long lastBytesRead;
+		/** Size of the file */
+		private long totalBytes;
+
+		/**
+		 * Constructs a Progress that cancels after the given number of reports.
+		 * @param reportsBeforeCancel number of reports before cancelling
+		 */
+		Progress(int reportsBeforeCancel) {
+			this.reportsBeforeCancel = reportsBeforeCancel;
+		}
+
+		@Override
+		public void recordsRead(int records, long bytesRead, long totalBytes) {
+			reports.add(records);
+			lastBytesRead = bytesRead;
+			this.totalBytes = totalBytes;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return reports.size() >= reportsBeforeCancel;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the RecordWriter class.
+ *
+ * @author David Mond
+ */
+class RecordWriterTest {
+
+	/**
+	 * Tests writing records of string and int fields.
+	 * @throws IOException if the temporary file cannot be written
+	 */
+	@Test
+	void testWriteRecords() throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		try {
+			try (RecordWriter writer = new RecordWriter(file.toString())) {
+				writer.field("CSC116");
+				writer.field("Intro to Programming - Java");
+				writer.field(3);
+				writer.field((String) null);
+				writer.endRecord();
+				writer.field(0);
+				writer.field(-45);
+				writer.field(Integer.MIN_VALUE);
+				writer.field(Integer.MAX_VALUE);
+				writer.endRecord();
+				writer.commit();
+			}
+			assertEquals(Arrays.asList("CSC116,Intro to Programming - Java,3,null", "0,-45,-2147483648,2147483647"),
+					Files.readAllLines(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that any characters are written as their UTF-8 bytes, across many fills of the buffer.
+	 * @throws IOException if the temporary file cannot be written
+	 */
+	@Test
+	void testEncoding() throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		String field = "a\u00e9\u4e2d\ud83d\ude00\ud83d,";
+		StringBuilder expected = new StringBuilder();
+		try {
+			try (RecordWriter writer = new RecordWriter(file.toString())) {
+				for (int i = 0; i < 20000; i++) {
+					writer.field(field);
+					writer.field(i);
+					writer.endRecord();
+					expected.append(field).append(',').append(i).append('\n');
+				}
+				writer.commit();
+			}
+			assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that the target keeps its records until commit(), and that a writer closed without
+	 *     commit() leaves the target as it was and no temporary file.
+	 * @throws IOException if the temporary file cannot be written
+	 */
+	@Test
+	void testCommit() throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			Files.write(file, Arrays.asList("old"));
+			try (RecordWriter writer = new RecordWriter(file.toString())) {
+				writer.field("new");
+				writer.endRecord();
+			}
+			assertEquals(Arrays.asList("old"), Files.readAllLines(file));
+			assertFalse(Files.exists(temp));
+
+			try (RecordWriter writer = new RecordWriter(file.toString())) {
+				writer.field("new");
+				writer.endRecord();
+				assertEquals(Arrays.asList("old"), Files.readAllLines(file));
+				writer.commit();
+			}
+			assertEquals(Arrays.asList("new"), Files.readAllLines(file));
+			assertFalse(Files.exists(temp));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that a file in a directory that does not exist cannot be written, with the message
+	 *     of opening the file itself.
+	 */
+	@Test
+	void testMissingDirectory() {
+		Exception e = assertThrows(FileNotFoundException.class, () -> new RecordWriter("no_such_directory/records.txt"));
+		assertTrue(e.getMessage().startsWith("no_such_directory/records.txt (")
+				|| e.getMessage().startsWith("no_such_directory\\records.txt ("), e.getMessage());
+	}
+}
@@ -0,0 +1,195 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc217.collections.list.SortedList;
+
+/**
+ * Tests SnapshotIO.
+ *
+ * @author David Mond
+ */
+public class SnapshotIOTest {
+
+	/**
+	 * Tests that courses read from the text records are read back the same from a snapshot, and
+	 *     that instructors in the FacultyDirectory are assigned.
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	public void testCourseSnapshot() throws IOException {
+		FacultyDirectory faculty = RegistrationManager.getInstance().getFacultyDirectory();
+		Path file = Files.createTempFile("courses", ".snapshot");
+		try {
+			SortedList<Course> courses = CourseRecordIO.readCourseRecords("test-files/course_records.txt");
+			courses.add(new Course("CSC316", "Data Structures and Algorithms", "002", 3, "awitt", 10, "HTF", 0, 2359));
+			SnapshotIO.writeCourseSnapshot(file.toString(), courses);
+
+			faculty.loadFacultyFromFile("test-files/faculty_records.txt");
+			SortedList<Course> read = SnapshotIO.readCourseSnapshot(file.toString());
+			assertEquals(courses.size(), read.size());
+			for (int i = 0; i < courses.size(); i++) {
+				assertEquals(courses.get(i).toString(), read.get(i).toString());
+			}
+			Faculty awitt = faculty.getFacultyById("awitt");
+			assertEquals(1, awitt.getSchedule().getNumScheduledCourses());
+			assertEquals("awitt", read.get(read.size() - 1).getInstructorId());
+
+			//The instructor already has the course, so a second read skips it, as reading the text records does
+			read = SnapshotIO.readCourseSnapshot(file.toString());
+			assertEquals(courses.size() - 1, read.size());
+			for (int i = 0; i < read.size(); i++) {
+				assertNotEquals("CSC316,002", read.get(i).getName() + "," + read.get(i).getSection());
+			}
+			assertEquals(1, awitt.getSchedule().getNumScheduledCourses());
+		} finally {
+			Files.delete(file);
+			faculty.newFacultyDirectory();
+		}
+	}
+
+	/**
+	 * Tests that students are read back the same from a snapshot.
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	public void testStudentSnapshot() throws IOException {
+		Path file = Files.createTempFile("students", ".snapshot");
+		try {
+			SortedList<Student> students = StudentRecordIO.readStudentRecords("test-files/student_records.txt");
+			SnapshotIO.writeStudentSnapshot(file.toString(), students);
+			SortedList<Student> read = SnapshotIO.readStudentSnapshot(file.toString());
+			assertEquals(students.size(), read.size());
+			for (int i = 0; i < students.size(); i++) {
+				assertEquals(students.get(i).toString(), read.get(i).toString());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that faculty are read back the same from a snapshot.
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	public void testFacultySnapshot() throws IOException {
+		Path file = Files.createTempFile("faculty", ".snapshot");
+		try {
+			LinkedList<Faculty> faculty = FacultyRecordIO.readFacultyRecords("test-files/faculty_records.txt");
+			SnapshotIO.writeFacultySnapshot(file.toString(), faculty);
+			LinkedList<Faculty> read = SnapshotIO.readFacultySnapshot(file.toString());
+			assertEquals(faculty.size(), read.size());
+			for (int i = 0; i < faculty.size(); i++) {
+				assertEquals(faculty.get(i).toString(), read.get(i).toString());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that a snapshot of faculty with the same id is not read.
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	public void testRepeatedFacultySnapshot() throws IOException {
+		Path file = Files.createTempFile("faculty", ".snapshot");
+		try {
+			LinkedList<Faculty> faculty = new LinkedList<Faculty>();
+			faculty.add(new Faculty("Ashely", "Witt", "awitt", "awitt@ncsu.edu", "pw", 2));
+			faculty.add(new Faculty("Amy", "Witt", "awitt", "amywitt@ncsu.edu", "pw", 3));
+			SnapshotIO.writeFacultySnapshot(file.toString(), faculty);
+			assertThrows(IOException.class, () -> SnapshotIO.readFacultySnapshot(file.toString()));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that a snapshot that fails part way through being written leaves the last snapshot
+	 *     in place, and no temporary file behind.
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	public void testFailedWriteKeepsSnapshot() throws IOException {
+		Path file = Files.createTempFile("students", ".snapshot");
+		Path temp = Paths.get(file + ".tmp");
+		try {
+			SortedList<Student> students = StudentRecordIO.readStudentRecords("test-files/student_records.txt");
+			SnapshotIO.writeStudentSnapshot(file.toString(), students);
+			byte[] bytes = Files.readAllBytes(file);
+
+			//A name too long for a snapshot fails the write after the other students are written
+			char[] longName = new char[70000];
+			Arrays.fill(longName, 'a');
+			students.add(new Student(new String(longName), "Long", "zzlong", "zzlong@ncsu.edu", "pw", 12));
+			assertThrows(IOException.class, () -> SnapshotIO.writeStudentSnapshot(file.toString(), students));
+			assertArrayEquals(bytes, Files.readAllBytes(file));
+			assertFalse(Files.exists(temp));
+			assertEquals(students.size() - 1, SnapshotIO.readStudentSnapshot(file.toString()).size());
+		} finally {
+			Files.deleteIfExists(temp);
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that missing, text, truncated, and wrong kinds of snapshots are not read.
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	public void testInvalidSnapshot() throws IOException {
+		assertThrows(FileNotFoundException.class, () -> SnapshotIO.readStudentSnapshot("test-files/no_such_file"));
+		assertThrows(IOException.class, () -> SnapshotIO.readStudentSnapshot("test-files/student_records.txt"));
+
+		Path file = Files.createTempFile("students", ".snapshot");
+		try {
+			SnapshotIO.writeStudentSnapshot(file.toString(), StudentRecordIO.readStudentRecords("test-files/student_records.txt"));
+			assertThrows(IOException.class, () -> SnapshotIO.readFacultySnapshot(file.toString()));
+
+			byte[] bytes = Files.readAllBytes(file);
+			Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+			assertThrows(IOException.class, () -> SnapshotIO.readStudentSnapshot(file.toString()));
+
+			Files.write(file, Arrays.copyOf(bytes, bytes.length + 1));
+			assertThrows(IOException.class, () -> SnapshotIO.readStudentSnapshot(file.toString()));
+
+			bytes[5] = SnapshotIO.VERSION + 1;
+			Files.write(file, bytes);
+			Exception e = assertThrows(IOException.class, () -> SnapshotIO.readStudentSnapshot(file.toString()));
+			assertEquals("Unsupported snapshot version " + (SnapshotIO.VERSION + 1), e.getMessage());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests packing meeting days and times.
+	 */
+	@Test
+	public void testPackMeeting() {
+		for (String days : new String[] {"A", "M", "MW", "WM", "MTWHF", "FHWTM", "TH"}) {
+			long meeting = SnapshotIO.packMeeting(days, 830, 2359);
+			assertEquals(days, SnapshotIO.unpackDays(meeting));
+			assertEquals(830, SnapshotIO.unpackTime(meeting, 1));
+			assertEquals(2359, SnapshotIO.unpackTime(meeting, 0));
+		}
+		assertThrows(IllegalArgumentException.class, () -> SnapshotIO.packMeeting("MS", 0, 0));
+	}
+}
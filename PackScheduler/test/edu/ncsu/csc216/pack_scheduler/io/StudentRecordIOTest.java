@@ -171,6 +171,28 @@ class StudentRecordIOTest {
 		checkFiles("test-files/expected_full_student_records.txt", "test-files/actual_student_records.txt");
 	}
 	
+	/**
+	 * Tests that names outside ASCII are written and read back unchanged, whatever the
+	 * platform's default charset.
+	 */
+	@Test
+	void testWriteAndReadNonAsciiStudentRecords() {
+		SortedList<Student> students = new SortedList<Student>();
+		students.add(new Student("Jos\u00e9", "Mu\u00f1oz", "jmunoz", "jmunoz@ncsu.edu", hashPW, 15));
+		students.add(new Student("Zo\u00eb", "\u674e", "zli", "zli@ncsu.edu", hashPW, 12));
+		try {
+			StudentRecordIO.writeStudentRecords("test-files/actual_student_records.txt", students);
+			SortedList<Student> read = StudentRecordIO.readStudentRecords("test-files/actual_student_records.txt");
+			assertEquals(2, read.size());
+			assertEquals(students.get(0).toString(), read.get(0).toString());
+			assertEquals("Jos\u00e9", read.get(0).getFirstName());
+			assertEquals(students.get(1).toString(), read.get(1).toString());
+			assertEquals("\u674e", read.get(1).getLastName());
+		} catch (IOException e) {
+			fail("Cannot write or read student records file");
+		}
+	}
+	
 	/**
 	 * Test method for  edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO#writeStudentRecords(java.lang.String, ).
 	 */
@@ -0,0 +1,187 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests RegistrationJournal.
+ *
+ * @author David Mond
+ */
+public class RegistrationJournalTest {
+
+	/** Directory of the journal */
+	private Path dir;
+	/** Courses restored and changes made by the journal, in order */
+	private List<String> made;
+	/** Records what the journal restores and replays into made */
+	private RegistrationJournal.Target target;
+
+	/**
+	 * Creates an empty directory for the journal.
+	 * @throws IOException if the directory cannot be created
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("journal");
+		made = new ArrayList<String>();
+		target = new RegistrationJournal.Target() {
+			@Override
+			public void restore(RegistrationJournal.CourseState course) {
+				made.add("C " + course.name + " " + course.section + " " + course.instructorId + " " + course.enrolled + " " + course.waitlisted);
+			}
+
+			@Override
+			public boolean apply(RegistrationJournal.Action action, String userId, String name, String section) {
+				made.add(action + " " + userId + " " + name + " " + section);
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Deletes the journal's directory.
+	 * @throws IOException if the directory cannot be deleted
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(dir);
+	}
+
+	/**
+	 * Tests that changes are written in order, and replayed in order when the journal is opened again.
+	 * @throws IOException if the journal cannot be used
+	 */
+	@Test
+	public void testAppendAndReplay() throws IOException {
+		RegistrationJournal journal = RegistrationJournal.open(dir.toString(), target, () -> { });
+		assertEquals(0, journal.getReplayed());
+		journal.append(RegistrationJournal.Action.ENROLL, "efrost", "CSC216", "001");
+		journal.append(RegistrationJournal.Action.RESET, "ahicks", null, null);
+		journal.flush();
+		assertEquals(Arrays.asList("1,ENROLL,efrost,CSC216,001", "2,RESET,ahicks,,"),
+				Files.readAllLines(dir.resolve(RegistrationJournal.JOURNAL_FILE)));
+		journal.close();
+		journal.append(RegistrationJournal.Action.DROP, "efrost", "CSC216", "001");
+
+		journal = RegistrationJournal.open(dir.toString(), target, () -> { });
+		assertEquals(2, journal.getReplayed());
+		assertEquals(Arrays.asList("ENROLL efrost CSC216 001", "RESET ahicks null null"), made);
+		journal.append(RegistrationJournal.Action.ASSIGN, "awitt", "CSC116", "002");
+		journal.close();
+		assertEquals("3,ASSIGN,awitt,CSC116,002", Files.readAllLines(dir.resolve(RegistrationJournal.JOURNAL_FILE)).get(2));
+	}
+
+	/**
+	 * Tests that a change cut off by a crash is not replayed, and is removed from the journal.
+	 * @throws IOException if the journal cannot be used
+	 */
+	@Test
+	public void testTornChange() throws IOException {
+		Path file = dir.resolve(RegistrationJournal.JOURNAL_FILE);
+		Files.write(file, "1,ENROLL,efrost,CSC216,001\n2,DROP,efr".getBytes(StandardCharsets.UTF_8));
+		RegistrationJournal journal = RegistrationJournal.open(dir.toString(), target, () -> { });
+		assertEquals(1, journal.getReplayed());
+		journal.append(RegistrationJournal.Action.DROP, "efrost", "CSC216", "001");
+		journal.close();
+		assertEquals(Arrays.asList("1,ENROLL,efrost,CSC216,001", "2,DROP,efrost,CSC216,001"), Files.readAllLines(file));
+
+		Files.write(file, "3,NOT_AN_ACTION,efrost,,\n4,RESET,efrost,,\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		made.clear();
+		journal = RegistrationJournal.open(dir.toString(), target, () -> { });
+		assertEquals(2, journal.getReplayed());
+		journal.close();
+		assertEquals(2, Files.readAllLines(file).size());
+	}
+
+	/**
+	 * Tests that a snapshot replaces the journal before it, and only later changes are replayed.
+	 * @throws IOException if the journal cannot be used
+	 */
+	@Test
+	public void testSnapshot() throws IOException {
+		RegistrationJournal journal = RegistrationJournal.open(dir.toString(), target, () -> { });
+		journal.append(RegistrationJournal.Action.ENROLL, "efrost", "CSC216", "001");
+		journal.append(RegistrationJournal.Action.WAITLIST, "ahicks", "CSC216", "001");
+		long sequence = journal.rotate();
+		assertEquals(2, sequence);
+		assertTrue(Files.exists(dir.resolve("registration-2.journal")));
+		journal.append(RegistrationJournal.Action.DROP, "efrost", "CSC216", "001");
+		journal.flush();
+
+		// A crash before the snapshot is written replays both journals
+		RegistrationJournal crashed = RegistrationJournal.open(dir.toString(), target, () -> { });
+		assertEquals(3, crashed.getReplayed());
+		crashed.close();
+		made.clear();
+
+		journal.writeSnapshot(sequence, Arrays.asList(
+				new RegistrationJournal.CourseState("CSC216", "001", null, Arrays.asList("efrost"), Arrays.asList("ahicks")),
+				new RegistrationJournal.CourseState("CSC116", "002", "awitt", new ArrayList<String>(), new ArrayList<String>())));
+		journal.close();
+		assertFalse(Files.exists(dir.resolve("registration-2.journal")));
+
+		journal = RegistrationJournal.open(dir.toString(), target, () -> { });
+		assertEquals(1, journal.getReplayed());
+		assertEquals(Arrays.asList("C CSC216 001 null [efrost] [ahicks]", "C CSC116 002 awitt [] []", "DROP efrost CSC216 001"), made);
+		journal.close();
+
+		// An incomplete snapshot is not used
+		Path snapshot = dir.resolve(RegistrationJournal.SNAPSHOT_FILE);
+		List<String> lines = Files.readAllLines(snapshot);
+		Files.write(snapshot, lines.subList(0, lines.size() - 1));
+		assertThrows(IOException.class, () -> RegistrationJournal.open(dir.toString(), target, () -> { }));
+	}
+
+	/**
+	 * Tests that each rotated journal holds exactly the changes up to its sequence number, in
+	 *     order, when rotated while the writer is still writing earlier changes.
+	 * @throws IOException if the journal cannot be used
+	 */
+	@Test
+	public void testRotateWhileWriting() throws IOException {
+		RegistrationJournal journal = RegistrationJournal.open(dir.toString(), target, () -> { });
+		List<Long> rotations = new ArrayList<Long>();
+		for (int i = 1; i <= 2000; i++) {
+			journal.append(RegistrationJournal.Action.ENROLL, "s" + i, "CSC216", "001");
+			if (i % 7 == 0) {
+				rotations.add(journal.rotate());
+			}
+		}
+		journal.close();
+		long next = 1;
+		for (long sequence : rotations) {
+			Path rotated = dir.resolve("registration-" + sequence + ".journal");
+			if (Files.exists(rotated)) {
+				for (String line : Files.readAllLines(rotated)) {
+					assertEquals(next + ",ENROLL,s" + next + ",CSC216,001", line);
+					next++;
+				}
+			}
+			assertEquals(sequence + 1, next);
+		}
+		for (String line : Files.readAllLines(dir.resolve(RegistrationJournal.JOURNAL_FILE))) {
+			assertEquals(next + ",ENROLL,s" + next + ",CSC216,001", line);
+			next++;
+		}
+		assertEquals(2001, next);
+	}
+}
@@ -5,19 +5,34 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
 
 /**
  * Test class for RegistrationManager.
@@ -224,6 +239,46 @@ public class RegistrationManagerTest {
 		manager.logout();
 	}
 	
+	/**
+	 * Tests RegistrationManager.getCoursesStudentCanAdd()
+	 */
+	@Test
+	public void testGetCoursesStudentCanAdd() {
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		
+		assertThrows(IllegalArgumentException.class, () -> manager.getCoursesStudentCanAdd());
+		manager.login(registrarUsername, registrarPassword);
+		assertThrows(IllegalArgumentException.class, () -> manager.getCoursesStudentCanAdd());
+		manager.logout();
+		
+		// ahicks has 11 max credits
+		manager.login("ahicks", "pw");
+		assertEquals(13, manager.getCoursesStudentCanAdd().length);
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC216", "001")));
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC226", "001")));
+		Course[] courses = manager.getCoursesStudentCanAdd();
+		List<String> names = new ArrayList<String>();
+		for (Course c : courses) {
+			names.add(c.getName() + "-" + c.getSection());
+			// Every course found can be enrolled in
+			assertTrue(manager.getStudentDirectory().getStudentById("ahicks").canAdd(c));
+		}
+		assertEquals(Arrays.asList("CSC116-002", "CSC116-003", "CSC217-202", "CSC217-211", "CSC217-223", "CSC217-601", "CSC230-001"), names);
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC116", "003")));
+		assertEquals(4, manager.getCoursesStudentCanAdd().length);
+		manager.logout();
+		
+		// efrost has 3 max credits, and a session sees the same courses
+		Session efrost = manager.openSession("efrost", "pw");
+		assertEquals(13, manager.getCoursesStudentCanAdd(efrost).length);
+		assertTrue(manager.enrollStudentInCourse(efrost, catalog.getCourseFromCatalog("CSC216", "001")));
+		assertEquals(0, manager.getCoursesStudentCanAdd(efrost).length);
+		manager.closeSession(efrost);
+		assertThrows(IllegalArgumentException.class, () -> manager.getCoursesStudentCanAdd(efrost));
+	}
+	
 	/**
 	 * Tests RegistrationManager.dropStudentFromCourse()
 	 */
@@ -496,4 +551,414 @@ public class RegistrationManagerTest {
 		assertEquals(0, f.getSchedule().getNumScheduledCourses());
 		
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * Tests opening, finding, and closing sessions.
+	 */
+	@Test
+	public void testSessions() {
+		manager.getStudentDirectory().addStudent("Sam", "McD", "smcd", "smcd@ncsu.edu", "pw", "pw", 18);
+		manager.getStudentDirectory().addStudent("Winston", "Cheaz", "wcheaz", "wcjeaz@ncsu.edu", "pw2", "pw2", 17);
+		
+		Session sam = manager.openSession("smcd", "pw");
+		Session winston = manager.openSession("wcheaz", "pw2");
+		Session registrar = manager.openSession(registrarUsername, registrarPassword);
+		assertEquals("smcd", sam.getUser().getId());
+		assertEquals("wcheaz", winston.getUser().getId());
+		assertEquals(registrarUsername, registrar.getUser().getId());
+		assertNotEquals(sam.getToken(), winston.getToken());
+		
+		// Sessions don't change the current user
+		assertNull(manager.getCurrentUser());
+		
+		assertNull(manager.openSession("smcd", "a"));
+		assertNull(manager.openSession(registrarUsername, "a"));
+		assertThrows(IllegalArgumentException.class, () -> manager.openSession("nobody", "pw"));
+		
+		assertSame(sam, manager.getSession(sam.getToken()));
+		assertNull(manager.getSession("not a token"));
+		assertNull(manager.getSession(null));
+		
+		manager.closeSession(sam);
+		assertNull(manager.getSession(sam.getToken()));
+		assertSame(winston, manager.getSession(winston.getToken()));
+		
+		manager.clearData();
+		assertNull(manager.getSession(winston.getToken()));
+		assertNull(manager.getSession(registrar.getToken()));
+	}
+	
+	/**
+	 * Tests that students logged in through their own sessions can enroll, drop, and reset at the same time,
+	 * and that closed sessions and the wrong kind of user cannot.
+	 */
+	@Test
+	public void testSessionEnrollAndDrop() {
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		Course csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+		
+		Session efrost = manager.openSession("efrost", "pw");
+		Session ahicks = manager.openSession("ahicks", "pw");
+		assertTrue(manager.enrollStudentInCourse(efrost, csc216));
+		assertTrue(manager.enrollStudentInCourse(ahicks, csc216));
+		assertTrue(manager.enrollStudentInCourse(ahicks, csc226));
+		assertFalse(manager.enrollStudentInCourse(ahicks, csc216));
+		assertEquals(8, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(1, directory.getStudentById("efrost").getSchedule().getScheduledCourses().length);
+		assertEquals(2, directory.getStudentById("ahicks").getSchedule().getScheduledCourses().length);
+		
+		assertTrue(manager.dropStudentFromCourse(efrost, csc216));
+		assertFalse(manager.dropStudentFromCourse(efrost, csc216));
+		assertEquals(9, csc216.getCourseRoll().getOpenSeats());
+		
+		manager.resetSchedule(ahicks);
+		assertEquals(0, directory.getStudentById("ahicks").getSchedule().getScheduledCourses().length);
+		assertEquals(10, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(10, csc226.getCourseRoll().getOpenSeats());
+		
+		// The registrar can't enroll, and a closed session can't do anything
+		Session registrar = manager.openSession(registrarUsername, registrarPassword);
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(registrar, csc216));
+		manager.closeSession(efrost);
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(efrost, csc216));
+		assertThrows(IllegalArgumentException.class, () -> manager.dropStudentFromCourse(efrost, csc216));
+		assertThrows(IllegalArgumentException.class, () -> manager.resetSchedule(efrost));
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse((Session) null, csc216));
+	}
+	
+	/**
+	 * Tests that enrolling in and dropping a course updates its row of the catalog.
+	 */
+	@Test
+	public void testCatalogRowUpdates() {
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		
+		List<String> updates = new ArrayList<String>();
+		RowListener listener = new RowListener() {
+			@Override
+			public void rowInserted(int index, String[] row) {
+				fail("No course was added");
+			}
+			@Override
+			public void rowRemoved(int index) {
+				fail("No course was removed");
+			}
+			@Override
+			public void rowUpdated(int index, String[] row) {
+				updates.add(index + " " + row[0] + " " + row[1] + " " + row[4]);
+			}
+			@Override
+			public void rowsReplaced() {
+				fail("The catalog was not replaced");
+			}
+		};
+		catalog.addRowListener(listener);
+		try {
+			Session efrost = manager.openSession("efrost", "pw");
+			assertTrue(manager.enrollStudentInCourse(efrost, csc216));
+			assertFalse(manager.enrollStudentInCourse(efrost, csc216));
+			assertTrue(manager.dropStudentFromCourse(efrost, csc216));
+			assertFalse(manager.dropStudentFromCourse(efrost, csc216));
+			assertTrue(manager.enrollStudentInCourse(efrost, csc216));
+			manager.resetSchedule(efrost);
+			assertEquals(List.of("3 CSC216 001 9", "3 CSC216 001 10", "3 CSC216 001 9", "3 CSC216 001 10"), updates);
+		} finally {
+			catalog.removeRowListener(listener);
+		}
+	}
+	
+	/**
+	 * Tests that only the registrar's session can add and remove faculty from courses.
+	 */
+	@Test
+	public void testSessionFacultySchedule() {
+		FacultyDirectory facultyDirectory = manager.getFacultyDirectory();
+		facultyDirectory.loadFacultyFromFile("test-files/faculty_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		
+		Course c = catalog.getCourseFromCatalog("CSC116", "002");
+		Faculty f = facultyDirectory.getFacultyById("awitt");
+		
+		Session awitt = manager.openSession("awitt", "pw");
+		assertThrows(IllegalArgumentException.class, () -> manager.addFacultyToCourse(awitt, c, f));
+		assertThrows(IllegalArgumentException.class, () -> manager.removeFacultyFromCourse(awitt, c, f));
+		assertThrows(IllegalArgumentException.class, () -> manager.resetFacultySchedule(awitt, f));
+		
+		Session registrar = manager.openSession(registrarUsername, registrarPassword);
+		assertTrue(manager.addFacultyToCourse(registrar, c, f));
+		assertEquals("awitt", c.getInstructorId());
+		assertTrue(manager.removeFacultyFromCourse(registrar, c, f));
+		assertNull(c.getInstructorId());
+		assertTrue(manager.addFacultyToCourse(registrar, c, f));
+		manager.resetFacultySchedule(registrar, f);
+		assertNull(c.getInstructorId());
+		
+		manager.closeSession(registrar);
+		assertThrows(IllegalArgumentException.class, () -> manager.addFacultyToCourse(registrar, c, f));
+	}
+	
+	/**
+	 * Tests that resetting a faculty's schedule waits for the rolls of their courses, as a snapshot
+	 * holds them, and then unassigns every course at once.
+	 * @throws Exception if the resetting thread does not finish
+	 */
+	@Test
+	public void testResetFacultyScheduleLocksRolls() throws Exception {
+		FacultyDirectory facultyDirectory = manager.getFacultyDirectory();
+		facultyDirectory.loadFacultyFromFile("test-files/faculty_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course csc116 = catalog.getCourseFromCatalog("CSC116", "002");
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		Faculty f = facultyDirectory.getFacultyById("awitt");
+		Session registrar = manager.openSession(registrarUsername, registrarPassword);
+		assertTrue(manager.addFacultyToCourse(registrar, csc116, f));
+		assertTrue(manager.addFacultyToCourse(registrar, csc216, f));
+
+		Thread reset = new Thread(() -> manager.resetFacultySchedule(registrar, f));
+		csc216.getCourseRoll().getLock().lock();
+		try {
+			reset.start();
+			reset.join(200);
+			assertTrue(reset.isAlive());
+			assertEquals("awitt", csc116.getInstructorId());
+			assertEquals("awitt", csc216.getInstructorId());
+		} finally {
+			csc216.getCourseRoll().getLock().unlock();
+		}
+		reset.join(10000);
+		assertFalse(reset.isAlive());
+		assertNull(csc116.getInstructorId());
+		assertNull(csc216.getInstructorId());
+		assertEquals(0, f.getSchedule().getNumScheduledCourses());
+		manager.closeSession(registrar);
+	}
+	
+	/**
+	 * Tests many threads enrolling students in and dropping them from one full section at the same
+	 * time, then checks that the roll, waitlist, and students' schedules all agree.
+	 * @throws Exception if a thread fails or does not finish
+	 */
+	@Test
+	public void testConcurrentEnrollAndDrop() throws Exception {
+		StudentDirectory directory = manager.getStudentDirectory();
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MW", 1330, 1445);
+		Course hot = catalog.getCourseFromCatalog("CSC216", "001");
+		
+		int numStudents = 40;
+		Session[] sessions = new Session[numStudents];
+		for (int i = 0; i < numStudents; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+			sessions[i] = manager.openSession("student" + i, "pw");
+		}
+		
+		int numThreads = 16;
+		int actionsPerThread = 2000;
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<Future<?>>();
+		for (int t = 0; t < numThreads; t++) {
+			final Random random = new Random(t);
+			results.add(pool.submit(() -> {
+				start.await();
+				for (int i = 0; i < actionsPerThread; i++) {
+					Session session = sessions[random.nextInt(numStudents)];
+					if (random.nextBoolean()) {
+						manager.enrollStudentInCourse(session, hot);
+					} else {
+						manager.dropStudentFromCourse(session, hot);
+					}
+					int open = hot.getCourseRoll().getOpenSeats();
+					assertTrue(open >= 0 && open <= 10);
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "Enrolling deadlocked or took too long");
+		for (Future<?> result : results) {
+			result.get();
+		}
+		
+		CourseRoll roll = hot.getCourseRoll();
+		int enrolled = roll.getEnrollmentCap() - roll.getOpenSeats();
+		int scheduled = 0;
+		for (int i = 0; i < numStudents; i++) {
+			scheduled += directory.getStudentById("student" + i).getSchedule().getScheduledCourses().length;
+		}
+		assertTrue(enrolled <= roll.getEnrollmentCap());
+		assertTrue(roll.getNumberOnWaitlist() <= 10);
+		assertTrue(roll.getNumberOnWaitlist() == 0 || roll.getOpenSeats() == 0, "Students waiting while seats are open");
+		assertEquals(enrolled + roll.getNumberOnWaitlist(), scheduled);
+		
+		// Every student can still drop, leaving the section empty
+		for (int i = 0; i < numStudents; i++) {
+			manager.dropStudentFromCourse(sessions[i], hot);
+		}
+		assertEquals(10, roll.getOpenSeats());
+		assertEquals(0, roll.getNumberOnWaitlist());
+	}
+	
+	/**
+	 * Tests that students enrolling in and resetting schedules of several courses at once, including
+	 * the same students in different courses, do not deadlock and leave every course consistent.
+	 * @throws Exception if a thread fails or does not finish
+	 */
+	@Test
+	public void testConcurrentCourses() throws Exception {
+		StudentDirectory directory = manager.getStudentDirectory();
+		CourseCatalog catalog = manager.getCourseCatalog();
+		int numCourses = 4;
+		Course[] courses = new Course[numCourses];
+		for (int c = 0; c < numCourses; c++) {
+			catalog.addCourseToCatalog("CSC" + (216 + c), "Course " + c, "001", 3, "sesmith5", 10, "MW", 800 + c * 200, 900 + c * 200);
+			courses[c] = catalog.getCourseFromCatalog("CSC" + (216 + c), "001");
+		}
+		int numStudents = 30;
+		Session[] sessions = new Session[numStudents];
+		for (int i = 0; i < numStudents; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+			sessions[i] = manager.openSession("student" + i, "pw");
+		}
+		
+		int numThreads = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		List<Future<?>> results = new ArrayList<Future<?>>();
+		for (int t = 0; t < numThreads; t++) {
+			final Random random = new Random(t);
+			results.add(pool.submit(() -> {
+				for (int i = 0; i < 1000; i++) {
+					Session session = sessions[random.nextInt(numStudents)];
+					int action = random.nextInt(10);
+					if (action == 0) {
+						manager.resetSchedule(session);
+					} else if (action < 6) {
+						manager.enrollStudentInCourse(session, courses[random.nextInt(numCourses)]);
+					} else {
+						manager.dropStudentFromCourse(session, courses[random.nextInt(numCourses)]);
+					}
+				}
+				return null;
+			}));
+		}
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "Enrolling deadlocked or took too long");
+		for (Future<?> result : results) {
+			result.get();
+		}
+		
+		int inRolls = 0;
+		for (Course c : courses) {
+			CourseRoll roll = c.getCourseRoll();
+			inRolls += roll.getEnrollmentCap() - roll.getOpenSeats() + roll.getNumberOnWaitlist();
+		}
+		int scheduled = 0;
+		for (int i = 0; i < numStudents; i++) {
+			scheduled += directory.getStudentById("student" + i).getSchedule().getScheduledCourses().length;
+		}
+		assertEquals(inRolls, scheduled);
+	}
+	
+	/**
+	 * Tests that registrations recorded in the journal are rebuilt after a crash, from the journal
+	 *     alone, and after the journal is closed, from its snapshot.
+	 * @throws IOException if the journal's directory cannot be used
+	 */
+	@Test
+	public void testJournal() throws IOException {
+		Path dir = Files.createTempDirectory("journal");
+		Path crashed = Files.createTempDirectory("crashed");
+		try {
+			loadJournalData();
+			assertEquals(0, manager.openJournal(dir.toString()));
+			assertThrows(IllegalArgumentException.class, () -> manager.openJournal(dir.toString()));
+			CourseCatalog catalog = manager.getCourseCatalog();
+			Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+			Course csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+			Course csc116 = catalog.getCourseFromCatalog("CSC116", "002");
+			
+			// Fill CSC216, waitlist two more, and drop one from the roll and one from the waitlist
+			StudentDirectory directory = manager.getStudentDirectory();
+			String[][] students = directory.getStudentDirectory();
+			for (int i = 0; i < 12; i++) {
+				Session session = manager.openSession(students[i][2], "pw");
+				assertTrue(manager.enrollStudentInCourse(session, csc216));
+			}
+			Session first = manager.openSession(students[0][2], "pw");
+			assertTrue(manager.enrollStudentInCourse(first, csc226));
+			assertTrue(manager.dropStudentFromCourse(first, csc216));
+			assertTrue(manager.dropStudentFromCourse(manager.openSession(students[11][2], "pw"), csc216));
+			manager.resetSchedule(manager.openSession(students[1][2], "pw"));
+			Session registrar = manager.openSession(registrarUsername, registrarPassword);
+			assertTrue(manager.addFacultyToCourse(registrar, csc116, manager.getFacultyDirectory().getFacultyById("awitt")));
+			String expected = registrations();
+			
+			// A crash loses everything but the journal
+			manager.flushJournal();
+			Files.copy(dir.resolve(RegistrationJournal.JOURNAL_FILE), crashed.resolve(RegistrationJournal.JOURNAL_FILE));
+			manager.clearData();
+			loadJournalData();
+			assertEquals(18, manager.openJournal(crashed.toString()));
+			assertEquals(expected, registrations());
+			
+			// Closing the journal snapshots it, so nothing is replayed
+			manager.clearData();
+			loadJournalData();
+			assertEquals(0, manager.openJournal(dir.toString()));
+			assertEquals(expected, registrations());
+			assertEquals(0, Files.size(dir.resolve(RegistrationJournal.JOURNAL_FILE)));
+			manager.clearData();
+		} finally {
+			for (Path d : new Path[] {dir, crashed}) {
+				try (Stream<Path> files = Files.list(d)) {
+					for (Path file : (Iterable<Path>) files::iterator) {
+						Files.delete(file);
+					}
+				}
+				Files.delete(d);
+			}
+		}
+	}
+	
+	/**
+	 * Loads the students, with two more to fill the waitlist, and the faculty and courses the journal
+	 *     test registers.
+	 */
+	private void loadJournalData() {
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getStudentDirectory().addStudent("Extra", "One", "extra1", "extra1@ncsu.edu", "pw", "pw", 18);
+		manager.getStudentDirectory().addStudent("Extra", "Two", "extra2", "extra2@ncsu.edu", "pw", "pw", 18);
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+	}
+	
+	/**
+	 * Returns every course's instructor, roll, and waitlist, and every Student's Schedule.
+	 * @return the registrations, as a string
+	 */
+	private String registrations() {
+		StringBuilder registrations = new StringBuilder();
+		CourseCatalog catalog = manager.getCourseCatalog();
+		for (String[] row : catalog.getCourseCatalog()) {
+			Course c = catalog.getCourseFromCatalog(row[0], row[1]);
+			registrations.append(c).append(Arrays.toString(c.getCourseRoll().getEnrolledStudents()))
+					.append(Arrays.toString(c.getCourseRoll().getWaitlistedStudents())).append('\n');
+		}
+		StudentDirectory directory = manager.getStudentDirectory();
+		for (String[] row : directory.getStudentDirectory()) {
+			registrations.append(row[2]).append(Arrays.deepToString(directory.getStudentById(row[2]).getSchedule().getScheduledCourses())).append('\n');
+		}
+		return registrations.toString();
+	}
+}
@@ -0,0 +1,76 @@
+package edu.ncsu.csc216.pack_scheduler.user;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests PasswordHasher
+ *
+ * @author David Mond
+ */
+public class PasswordHasherTest {
+
+	/** Base64 SHA-256 digest of "pw", as stored in the records in test-files */
+	private static final String HASHED_PW = "MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=";
+
+	/**
+	 * Tests that hashing gives the digest the records store, the same every time.
+	 */
+	@Test
+	public void testHash() {
+		assertEquals(HASHED_PW, PasswordHasher.hash("pw"));
+		assertEquals(HASHED_PW, PasswordHasher.hash("pw"));
+		assertNotEquals(HASHED_PW, PasswordHasher.hash("pW"));
+		assertEquals(44, PasswordHasher.hash("").length());
+	}
+
+	/**
+	 * Tests checking passwords against stored hashes.
+	 */
+	@Test
+	public void testMatches() {
+		assertTrue(PasswordHasher.matches("pw", HASHED_PW));
+		assertFalse(PasswordHasher.matches("pw2", HASHED_PW));
+		assertFalse(PasswordHasher.matches("", HASHED_PW));
+		assertFalse(PasswordHasher.matches("pw", HASHED_PW.substring(0, 43)));
+		assertFalse(PasswordHasher.matches("pw", HASHED_PW + "="));
+		assertFalse(PasswordHasher.matches("pw", ""));
+		assertFalse(PasswordHasher.matches(null, HASHED_PW));
+		assertFalse(PasswordHasher.matches("pw", null));
+	}
+
+	/**
+	 * Tests that many threads hashing at once each get the right digests.
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testConcurrentHash() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < 8; t++) {
+				results.add(pool.submit(() -> {
+					for (int i = 0; i < 2000; i++) {
+						if (!HASHED_PW.equals(PasswordHasher.hash("pw"))
+								|| !PasswordHasher.matches("password" + i, PasswordHasher.hash("password" + i))) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -43,6 +43,23 @@ class ScheduleTest {
 		assertEquals("The course cannot be added due to a conflict.", e1.getMessage(), "Incorrect message for course conflict");
 	}
 
+	/**
+	 * Test method for {@link edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule#getCourses()}.
+	 */
+	@Test
+	void testGetCourses() {
+		Schedule s = new Schedule();
+		assertEquals(0, s.getCourses().length);
+		Course first = new Course("AAA111", "title", "001", 4, "instructorId", 10, "MWF");
+		Course second = new Course("AAA112", "title", "001", 4, "instructorId", 10, "TH");
+		s.addCourseToSchedule(first);
+		s.addCourseToSchedule(second);
+		Course[] courses = s.getCourses();
+		assertArrayEquals(new Course[] {first, second}, courses);
+		courses[0] = null;
+		assertSame(first, s.getCourses()[0]);
+	}
+
 	/**
 	 * Test method for {@link edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule#removeCourseFromSchedule(edu.ncsu.csc216.pack_scheduler.course.Course)}.
 	 */
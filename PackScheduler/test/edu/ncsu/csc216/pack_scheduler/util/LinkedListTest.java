@@ -2,7 +2,9 @@ package edu.ncsu.csc216.pack_scheduler.util;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.Test;
 
@@ -176,4 +178,135 @@ class LinkedListTest {
 		assertEquals(2, intList.size());
 	}
 
+	/**
+	 * Tests that addAllUnchecked() appends every element in order, and rejects null
+	 */
+	@Test
+	void testAddAllUnchecked() {
+		LinkedList<Integer> intList = new LinkedList<Integer>();
+		intList.add(0, 1);
+		intList.addAllUnchecked(Arrays.asList(2, 3, 4));
+		assertEquals(Arrays.asList(1, 2, 3, 4), intList);
+		assertEquals(4, intList.size());
+		intList.add(4, 5);
+		assertEquals(5, intList.get(4));
+		assertThrows(IllegalArgumentException.class, () -> intList.add(0, 3));
+		assertThrows(NullPointerException.class, () -> intList.addAllUnchecked(Arrays.asList(6, null)));
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), intList);
+	}
+
+	/**
+	 * Tests iterators that start in the back half of the list, which walk from its back
+	 */
+	@Test
+	void testListIteratorBackHalf() {
+		LinkedList<Integer> intList = listOf(10, 20, 30, 40, 50);
+		ListIterator<Integer> it = intList.listIterator(4);
+		assertEquals(3, it.previousIndex());
+		assertEquals(4, it.nextIndex());
+		assertEquals(40, it.previous());
+		assertEquals(40, it.next());
+		assertEquals(50, it.next());
+		assertFalse(it.hasNext());
+		assertThrows(NoSuchElementException.class, () -> it.next());
+
+		ListIterator<Integer> end = intList.listIterator(5);
+		assertEquals(4, end.previousIndex());
+		assertEquals(5, end.nextIndex());
+		assertFalse(end.hasNext());
+		assertEquals(50, end.previous());
+
+		ListIterator<Integer> middle = intList.listIterator(3);
+		assertEquals(40, middle.next());
+		assertEquals(40, middle.previous());
+		assertEquals(30, middle.previous());
+		assertThrows(IndexOutOfBoundsException.class, () -> intList.listIterator(6));
+		assertThrows(IndexOutOfBoundsException.class, () -> intList.listIterator(-1));
+	}
+
+	/**
+	 * Tests removing with an iterator after next(), and after previous()
+	 */
+	@Test
+	void testListIteratorRemove() {
+		LinkedList<Integer> intList = listOf(10, 20, 30, 40, 50);
+		ListIterator<Integer> it = intList.listIterator(1);
+		assertEquals(20, it.next());
+		it.remove();
+		assertEquals(Arrays.asList(10, 30, 40, 50), intList);
+		assertEquals(0, it.previousIndex());
+		assertEquals(1, it.nextIndex());
+		assertEquals(30, it.next());
+
+		ListIterator<Integer> back = intList.listIterator(3);
+		assertEquals(40, back.previous());
+		back.remove();
+		assertEquals(Arrays.asList(10, 30, 50), intList);
+		assertEquals(1, back.previousIndex());
+		assertEquals(2, back.nextIndex());
+		assertEquals(50, back.next());
+		assertEquals(50, back.previous());
+		assertEquals(30, back.previous());
+		assertEquals(3, intList.size());
+	}
+
+	/**
+	 * Tests removing the head and the tail with an iterator
+	 */
+	@Test
+	void testListIteratorRemoveEnds() {
+		LinkedList<Integer> intList = listOf(10, 20, 30);
+		ListIterator<Integer> head = intList.listIterator(0);
+		assertEquals(10, head.next());
+		head.remove();
+		assertEquals(Arrays.asList(20, 30), intList);
+		assertFalse(head.hasPrevious());
+		assertEquals(0, head.nextIndex());
+
+		ListIterator<Integer> tail = intList.listIterator(2);
+		assertEquals(30, tail.previous());
+		tail.remove();
+		assertEquals(Arrays.asList(20), intList);
+		assertFalse(tail.hasNext());
+		assertEquals(1, tail.nextIndex());
+
+		ListIterator<Integer> last = intList.listIterator(1);
+		assertEquals(20, last.previous());
+		last.remove();
+		assertEquals(0, intList.size());
+		assertFalse(last.hasNext());
+		assertFalse(last.hasPrevious());
+		intList.add(0, 5);
+		assertEquals(Arrays.asList(5), intList);
+	}
+
+	/**
+	 * Tests that remove() throws IllegalStateException without an element to remove
+	 */
+	@Test
+	void testListIteratorRemoveTwice() {
+		LinkedList<Integer> intList = listOf(10, 20, 30);
+		ListIterator<Integer> it = intList.listIterator(0);
+		assertThrows(IllegalStateException.class, () -> it.remove());
+		assertEquals(10, it.next());
+		it.remove();
+		assertThrows(IllegalStateException.class, () -> it.remove());
+		assertEquals(20, it.next());
+		it.add(25);
+		assertThrows(IllegalStateException.class, () -> it.remove());
+		assertEquals(Arrays.asList(20, 25, 30), intList);
+	}
+
+	/**
+	 * Returns a list of the given elements, added one at a time
+	 * @param elements the elements
+	 * @return the list
+	 */
+	private static LinkedList<Integer> listOf(Integer... elements) {
+		LinkedList<Integer> list = new LinkedList<Integer>();
+		for (Integer element : elements) {
+			list.add(list.size(), element);
+		}
+		return list;
+	}
 }
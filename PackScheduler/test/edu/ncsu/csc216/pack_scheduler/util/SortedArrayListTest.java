@@ -0,0 +1,105 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests SortedArrayList
+ *
+ * @author David Mond
+ */
+class SortedArrayListTest {
+
+	/**
+	 * Tests that adding keeps the list sorted, growing it past its initial capacity,
+	 * and that null and duplicate elements are rejected.
+	 */
+	@Test
+	void testAdd() {
+		SortedArrayList<String> list = new SortedArrayList<String>();
+		assertTrue(list.isEmpty());
+		String[] words = {"kiwi", "apple", "pear", "banana", "fig", "cherry", "date", "grape",
+				"lemon", "mango", "orange", "plum"};
+		for (String word : words) {
+			assertTrue(list.add(word));
+		}
+		assertEquals(words.length, list.size());
+		String[] sorted = words.clone();
+		Arrays.sort(sorted);
+		for (int i = 0; i < sorted.length; i++) {
+			assertEquals(sorted[i], list.get(i));
+		}
+		assertThrows(NullPointerException.class, () -> list.add(null));
+		Exception e = assertThrows(IllegalArgumentException.class, () -> list.add("fig"));
+		assertEquals("Element already in list.", e.getMessage());
+		assertEquals(words.length, list.size());
+	}
+
+	/**
+	 * Tests getting, finding, and removing elements.
+	 */
+	@Test
+	void testGetIndexOfRemove() {
+		SortedArrayList<Integer> list = SortedArrayList.fromUnsorted(Arrays.asList(30, 10, 50, 20, 40));
+		assertEquals(5, list.size());
+		assertEquals(10, list.get(0));
+		assertEquals(50, list.get(4));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(5));
+
+		assertEquals(2, list.indexOf(30));
+		assertEquals(-1, list.indexOf(35));
+		assertThrows(NullPointerException.class, () -> list.indexOf(null));
+		assertTrue(list.contains(40));
+		assertFalse(list.contains(45));
+		assertFalse(list.contains(null));
+
+		assertEquals(30, list.remove(2));
+		assertEquals(4, list.size());
+		assertEquals(40, list.get(2));
+		assertEquals(-1, list.indexOf(30));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.remove(4));
+
+		list.clear();
+		assertTrue(list.isEmpty());
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+	}
+
+	/**
+	 * Tests building a list from unsorted elements.
+	 */
+	@Test
+	void testFromUnsorted() {
+		SortedArrayList<String> list = SortedArrayList.fromUnsorted(Arrays.asList("c", "a", "b"));
+		assertEquals("a", list.get(0));
+		assertEquals("b", list.get(1));
+		assertEquals("c", list.get(2));
+		assertTrue(list.add("d"));
+		assertEquals("d", list.get(3));
+
+		assertTrue(SortedArrayList.fromUnsorted(Arrays.<String>asList()).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> SortedArrayList.fromUnsorted(Arrays.asList("a", "b", "a")));
+		assertThrows(NullPointerException.class, () -> SortedArrayList.fromUnsorted(Arrays.asList("a", null)));
+	}
+
+	/**
+	 * Tests equals and hashCode.
+	 */
+	@Test
+	void testEqualsHashCode() {
+		SortedArrayList<String> list1 = SortedArrayList.fromUnsorted(Arrays.asList("b", "a"));
+		SortedArrayList<String> list2 = new SortedArrayList<String>();
+		list2.add("a");
+		list2.add("b");
+		SortedArrayList<String> list3 = new SortedArrayList<String>();
+		list3.add("a");
+
+		assertEquals(list1, list2);
+		assertEquals(list1.hashCode(), list2.hashCode());
+		assertNotEquals(list1, list3);
+		assertNotEquals(list1.hashCode(), list3.hashCode());
+	}
+}